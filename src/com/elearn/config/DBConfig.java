@@ -4,12 +4,37 @@ public final class DBConfig {
     private DBConfig() {}
 
     // Try different common MySQL configurations
-    public static final String JDBC_URL = "jdbc:mysql://localhost:3306/cms?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true";
+    public static final String JDBC_URL = "jdbc:mysql://localhost:3306/cms?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
     public static final String JDBC_USER = "root";
     public static final String JDBC_PASSWORD = ""; // Try empty password first, then "root", then "password"
-    
+
     // Alternative configurations if the default fails
     public static final String[] POSSIBLE_PASSWORDS = {"", "root", "password", "admin", "123456"};
+
+    // Connection pool sizing (override with -Delearn.pool.* system properties per deployment)
+    public static final int POOL_MAX_SIZE = Integer.getInteger("elearn.pool.maxSize", 10);
+    public static final int POOL_MIN_IDLE = Integer.getInteger("elearn.pool.minIdle", 2);
+    public static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("elearn.pool.borrowTimeoutMs", 5_000L);
+    public static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("elearn.pool.idleTimeoutMs", 300_000L);
+    public static final long POOL_MAX_LIFETIME_MS = Long.getLong("elearn.pool.maxLifetimeMs", 1_800_000L);
+    public static final int POOL_VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("elearn.pool.validationTimeoutSec", 2);
+    public static final long POOL_HOUSEKEEPING_INTERVAL_MS = Long.getLong("elearn.pool.housekeepingMs", 30_000L);
+
+    // Rows per executeBatch() for bulk writes; rewriteBatchedStatements above turns each batch
+    // into multi-row INSERTs instead of one round trip per row
+    public static final int BATCH_SIZE = Integer.getInteger("elearn.batch.size", 500);
+
+    // Write-behind queue for quiz results: pending rows held in memory, how long a submit waits
+    // for room before saving directly, how long shutdown waits for the queue to drain, and
+    // whether submits wait for their row to be committed (otherwise only passing scores do)
+    public static final int RESULT_QUEUE_CAPACITY = Integer.getInteger("elearn.resultQueue.capacity", 10_000);
+    public static final long RESULT_QUEUE_OFFER_TIMEOUT_MS = Long.getLong("elearn.resultQueue.offerTimeoutMs", 2_000L);
+    public static final long RESULT_QUEUE_SHUTDOWN_TIMEOUT_MS = Long.getLong("elearn.resultQueue.shutdownTimeoutMs", 10_000L);
+    public static final boolean RESULT_QUEUE_SYNC_ACK = Boolean.getBoolean("elearn.resultQueue.syncAck");
+
+    // Material completions are buffered and written together at least this often, or as soon
+    // as BATCH_SIZE marks are pending
+    public static final long COMPLETION_FLUSH_INTERVAL_MS = Long.getLong("elearn.completions.flushMs", 2_000L);
 }
 
 
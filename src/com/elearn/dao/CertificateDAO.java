@@ -1,11 +1,26 @@
 package com.elearn.dao;
 
 import com.elearn.model.Certificate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface CertificateDAO {
     boolean issueCertificate(int studentId, int courseId);
     List<Certificate> findByStudentId(int studentId);
+    /**
+     * Students enrolled in the course who have completed all of its materials and scored at least
+     * passingScore on its quiz, in one query. Student id -> name, ordered by id.
+     */
+    Map<Integer, String> findEligibleStudents(int courseId, int passingScore);
+    /** Ids of students holding an Issued certificate for the course. */
+    Set<Integer> findIssuedStudentIds(int courseId);
+    /**
+     * Issue certificates to studentIds and mark completedStudentIds' enrollments Completed, in one
+     * batched transaction; returns how many certificates were issued.
+     */
+    int issueAll(int courseId, Collection<Integer> studentIds, Collection<Integer> completedStudentIds);
 }
 
 
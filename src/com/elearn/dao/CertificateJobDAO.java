@@ -0,0 +1,30 @@
+package com.elearn.dao;
+
+import com.elearn.model.CertificateJob;
+import java.util.List;
+import java.util.Map;
+
+public interface CertificateJobDAO {
+    /** Insert a Pending job and set its generated id. */
+    boolean create(CertificateJob job);
+    /**
+     * Record jobs rendered outside the queue (e.g. batch issuance) as Done, in one transaction.
+     * Each overwrites its student and course's latest Done or Failed job, and is inserted only
+     * when there is none, so re-running a batch does not grow the table.
+     */
+    boolean recordDone(List<CertificateJob> jobs);
+    CertificateJob findById(int jobId);
+    /** The most recent job per course for the student, keyed by course id. */
+    Map<Integer, CertificateJob> findLatestByStudentId(int studentId);
+    List<CertificateJob> findPending();
+    /**
+     * Move a Pending job to Rendering and count the attempt. Returns false if the job is not
+     * Pending, e.g. another worker or process already claimed it.
+     */
+    boolean claim(int jobId);
+    boolean markDone(int jobId, String filePath);
+    /** Record a failed attempt; the job goes back to Pending if retry, otherwise to Failed. */
+    boolean markFailed(int jobId, String error, boolean retry);
+    /** Return jobs left Rendering for longer than olderThanMs (their process died) to Pending. */
+    int resetStale(long olderThanMs);
+}
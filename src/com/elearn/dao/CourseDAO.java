@@ -4,7 +4,16 @@ import com.elearn.model.Course;
 import java.util.List;
 
 public interface CourseDAO {
+    enum SortField { ID, TITLE, INSTRUCTOR }
+
     List<Course> findAll();
+    /** All courses, or null if they could not be read (where findAll returns an empty list). */
+    List<Course> findAllOrNull();
+    /**
+     * Up to limit courses ordered by sort then id, starting after the course with id afterId
+     * (0 for the first page). filter, if not empty, matches title or instructor as a substring.
+     */
+    List<Course> findPage(int afterId, int limit, SortField sort, String filter);
     Course findById(int courseId);
     boolean create(Course course);
     boolean update(Course course);
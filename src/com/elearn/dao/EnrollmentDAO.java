@@ -1,14 +1,39 @@
 package com.elearn.dao;
 
 import com.elearn.model.Enrollment;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface EnrollmentDAO {
+    enum SortField { ID, ENROLL_DATE, STATUS }
+
+    /** Per-student result of a bulk enroll or unenroll. */
+    enum Outcome { ENROLLED, ALREADY_ENROLLED, UNENROLLED, NOT_ENROLLED, FAILED }
+
     boolean enroll(int studentId, int courseId);
+    /**
+     * Enroll every student in the course in one transaction with batched INSERT IGNOREs, so
+     * students who are already enrolled are left as they are. Returns the outcome per student id
+     * in the order given; FAILED for ids that could not be enrolled (e.g. no such student), or
+     * for all of them if the transaction was rolled back.
+     */
+    Map<Integer, Outcome> enrollAll(int courseId, Collection<Integer> studentIds);
+    /** Remove the students' enrollments in the course in one transaction; UNENROLLED or NOT_ENROLLED per id. */
+    Map<Integer, Outcome> unenrollAll(int courseId, Collection<Integer> studentIds);
     boolean updateStatus(int studentId, int courseId, String status);
     List<Enrollment> findByStudentId(int studentId);
+    /** Number of enrollments per student id, in a single grouped query; students with none are absent. */
+    Map<Integer, Integer> countByStudent();
+    /** Number of enrollments for each of the given students, in one grouped query; students with none are absent. */
+    Map<Integer, Integer> countByStudentIds(Collection<Integer> studentIds);
     boolean isEnrolled(int studentId, int courseId);
     List<Enrollment> findAll();
+    /**
+     * Up to limit enrollments ordered by sort then enroll id, starting after the enrollment with
+     * id afterId (0 for the first page). status, if not empty, keeps only that status.
+     */
+    List<Enrollment> findPage(int afterId, int limit, SortField sort, String status);
     List<Enrollment> findByCourseId(int courseId);
     String getEnrollmentStatus(int studentId, int courseId);
     double getMaterialCompletionPercentage(int studentId, int courseId);
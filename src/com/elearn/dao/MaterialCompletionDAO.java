@@ -1,11 +1,27 @@
 package com.elearn.dao;
 
 import com.elearn.model.MaterialCompletion;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MaterialCompletionDAO {
+    /** Told about each completion after it has been recorded. */
+    interface Listener {
+        void onCompleted(int studentId, int materialId);
+    }
+
     boolean markAsCompleted(int studentId, int materialId);
+    /**
+     * Record all the completions in one batched transaction. Existing completions keep their
+     * original completed_date; a completion without a date is stamped now.
+     */
+    boolean markAllCompleted(List<MaterialCompletion> completions);
     boolean isCompleted(int studentId, int materialId);
+    /** Ids of the course's materials the student has completed. */
+    List<Integer> findCompletedMaterialIds(int studentId, int courseId);
     List<MaterialCompletion> findByStudentId(int studentId);
     List<MaterialCompletion> findByMaterialId(int materialId);
+    Map<Integer, Integer> countCompletedByCourse(int studentId, Collection<Integer> courseIds);
+    Map<Integer, Integer> countCompletedByStudent(int courseId);
 }
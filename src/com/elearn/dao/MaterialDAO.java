@@ -1,13 +1,26 @@
 package com.elearn.dao;
 
 import com.elearn.model.Material;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MaterialDAO {
+    /** Told about materials created or deleted, after the write has succeeded. */
+    interface Listener {
+        void onMaterialAdded(int courseId);
+        void onMaterialDeleted(int materialId);
+    }
+
     List<Material> findByCourseId(int courseId);
+    /** Ids of the course's materials in ascending order, without loading their content. */
+    List<Integer> findIdsByCourseId(int courseId);
     Material findById(int materialId);
     boolean create(Material material);
     boolean delete(int materialId);
+    /** Number of materials whose file_path is exactly filePath; a stored blob's reference count. */
+    int countByFilePath(String filePath);
+    Map<Integer, Integer> countByCourseIds(Collection<Integer> courseIds);
 }
 
 
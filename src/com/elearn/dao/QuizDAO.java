@@ -6,6 +6,8 @@ import java.util.List;
 public interface QuizDAO {
     List<QuizQuestion> findByCourseId(int courseId);
     boolean create(QuizQuestion question);
+    /** Insert all questions in one transaction using batched statements; all or none are saved. */
+    boolean createAll(List<QuizQuestion> questions);
     boolean update(QuizQuestion question);
     boolean delete(int quizId);
 }
@@ -1,11 +1,20 @@
 package com.elearn.dao;
 
 import com.elearn.model.QuizResult;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface QuizResultDAO {
     boolean saveResult(QuizResult result);
+    /**
+     * Insert the results in one transaction using batched statements and assign their generated
+     * ids; all or none are saved. A result's attemptDate, if set, is stored instead of now.
+     */
+    boolean saveAll(List<QuizResult> results);
     List<QuizResult> findByStudentAndCourse(int studentId, int courseId);
+    Map<Integer, Integer> findBestScoresByCourse(int studentId, Collection<Integer> courseIds);
+    Map<Integer, Integer> findBestScoresByStudent(int courseId);
 }
 
 
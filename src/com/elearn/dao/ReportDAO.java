@@ -0,0 +1,39 @@
+package com.elearn.dao;
+
+import com.elearn.model.EnrollmentReportRow;
+import com.elearn.model.QuizResultReportRow;
+import java.io.IOException;
+import java.util.List;
+
+public interface ReportDAO {
+    /** Receives streamed report rows one at a time; rows are not retained by the DAO. */
+    interface RowHandler<T> {
+        void handle(T row) throws IOException;
+    }
+
+    /** Enrollment report orders; COURSE is by course title then student name, the others by one column. */
+    enum SortField { COURSE, STUDENT_ID, STUDENT_NAME, ENROLL_DATE }
+
+    /**
+     * Up to limit report rows ordered by sort then enrollment id, starting after the row for
+     * enrollment afterEnrollId (0 for the first page).
+     * @param courseId course to report on, or a value <= 0 for all courses
+     * @param status "Completed", "In Progress", or null/"All" for both
+     */
+    List<EnrollmentReportRow> findEnrollmentReportPage(int courseId, String status, SortField sort, int afterEnrollId, int limit);
+
+    /**
+     * Same rows as findEnrollmentReportPage in COURSE order, unpaged, optionally for one student (studentId > 0), read through
+     * a database cursor and handed to the handler as they arrive.
+     * @return number of rows streamed
+     * @throws IOException if the query fails or the handler throws
+     */
+    int streamEnrollmentReport(int courseId, int studentId, String status, RowHandler<EnrollmentReportRow> handler) throws IOException;
+
+    /**
+     * Quiz attempts, newest first, optionally for one student and/or course (ids > 0).
+     * @return number of rows streamed
+     * @throws IOException if the query fails or the handler throws
+     */
+    int streamQuizResults(int courseId, int studentId, RowHandler<QuizResultReportRow> handler) throws IOException;
+}
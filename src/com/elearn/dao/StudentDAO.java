@@ -4,11 +4,25 @@ import com.elearn.model.Student;
 import java.util.List;
 
 public interface StudentDAO {
+    enum SortField { ID, NAME, EMAIL }
+
     Student findById(int studentId);
     Student findByEmailAndPassword(String email, String password);
+    Student findByEmail(String email);
     boolean updateLastLogin(int studentId);
     boolean create(Student student);
+    /**
+     * Insert the students with batched statements over one connection, committing every
+     * DBConfig.BATCH_SIZE rows. Inserted students get their generated id; any that could not be
+     * inserted (e.g. a duplicate email) keep id 0. Returns the number inserted.
+     */
+    int createAll(List<Student> students);
     List<Student> findAll();
+    /**
+     * Up to limit students ordered by sort then id, starting after the student with id afterId
+     * (0 for the first page). filter, if not empty, matches name or email as a substring.
+     */
+    List<Student> findPage(int afterId, int limit, SortField sort, String filter);
 }
 
 
@@ -0,0 +1,120 @@
+package com.elearn.dao.impl;
+
+import com.elearn.dao.MaterialDAO;
+import com.elearn.model.Material;
+import com.elearn.util.MaterialBlobStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * MaterialDAO that keeps uploaded files in a MaterialBlobStore.
+ *
+ * create(material, file) stores the file (deduplicated by content) and points the material at the
+ * blob; delete() releases the blob once no material points at it any more. A blob's reference
+ * count is the number of material rows with its path, so it cannot drift from the table. Storing
+ * plus inserting, and deleting plus releasing, run under one lock so a blob is never released
+ * between another upload finding it and referencing it. Successful creates and deletes are passed
+ * on to the listeners.
+ */
+public class BlobStoreMaterialDAO implements MaterialDAO {
+    private static final BlobStoreMaterialDAO SHARED =
+            new BlobStoreMaterialDAO(new MaterialDAOImpl(), MaterialBlobStore.getInstance());
+
+    private final MaterialDAO delegate;
+    private final MaterialBlobStore store;
+    private final Object lock = new Object();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public BlobStoreMaterialDAO(MaterialDAO delegate, MaterialBlobStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    public static BlobStoreMaterialDAO getInstance() {
+        return SHARED;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Store the file and create the material pointing at it.
+     * @return the stored blob, or null if the material row could not be created
+     */
+    public MaterialBlobStore.Blob create(Material material, File file) throws IOException {
+        synchronized (lock) {
+            MaterialBlobStore.Blob blob = store.store(file);
+            material.setFilePath(blob.getPath());
+            if (delegate.create(material)) {
+                for (Listener listener : listeners) listener.onMaterialAdded(material.getCourseId());
+                return blob;
+            }
+            if (!blob.isExisting()) store.release(blob.getPath());
+            material.setFilePath(null);
+            return null;
+        }
+    }
+
+    @Override
+    public boolean create(Material material) {
+        if (!delegate.create(material)) return false;
+        for (Listener listener : listeners) listener.onMaterialAdded(material.getCourseId());
+        return true;
+    }
+
+    /** Delete the material and its file: the blob if this was its last reference, or a pre-store upload. */
+    @Override
+    public boolean delete(int materialId) {
+        synchronized (lock) {
+            Material material = delegate.findById(materialId);
+            if (!delegate.delete(materialId)) return false;
+            for (Listener listener : listeners) listener.onMaterialDeleted(materialId);
+            String path = material != null ? material.getFilePath() : null;
+            if (path == null || path.isEmpty()) return true;
+            if (store.contains(path)) {
+                if (delegate.countByFilePath(path) == 0) store.release(path);
+            } else {
+                try {
+                    // Uploaded before the blob store; owned by this material alone
+                    Files.deleteIfExists(Paths.get(path));
+                } catch (IOException e) {
+                    System.err.println("Could not delete material file " + path + ": " + e.getMessage());
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public List<Material> findByCourseId(int courseId) {
+        return delegate.findByCourseId(courseId);
+    }
+
+    @Override
+    public List<Integer> findIdsByCourseId(int courseId) {
+        return delegate.findIdsByCourseId(courseId);
+    }
+
+    @Override
+    public Material findById(int materialId) {
+        return delegate.findById(materialId);
+    }
+
+    @Override
+    public int countByFilePath(String filePath) {
+        return delegate.countByFilePath(filePath);
+    }
+
+    @Override
+    public Map<Integer, Integer> countByCourseIds(Collection<Integer> courseIds) {
+        return delegate.countByCourseIds(courseIds);
+    }
+}
@@ -0,0 +1,237 @@
+package com.elearn.dao.impl;
+
+import com.elearn.dao.CourseDAO;
+import com.elearn.model.Course;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache over a CourseDAO.
+ *
+ * Reads are served from an immutable snapshot of the whole catalog, indexed by id. Writes go
+ * straight to the delegate and then invalidate the snapshot; the next read reloads it. A TTL
+ * bounds staleness from changes made outside this process. A load that fails is never
+ * published: reads fall back to the last good snapshot (or an empty catalog if there has never
+ * been one) and the next read tries again. Callers always receive copies, so editing a returned
+ * Course never leaks into the cache.
+ */
+public class CachingCourseDAO implements CourseDAO {
+    private static final long DEFAULT_TTL_MS = Long.getLong("elearn.courseCache.ttlMs", 60_000L);
+    private static final CachingCourseDAO SHARED = new CachingCourseDAO(new CourseDAOImpl(), DEFAULT_TTL_MS);
+    // Read when a load fails before any has succeeded
+    private static final Snapshot NONE = new Snapshot(Collections.emptyList());
+
+    private final CourseDAO delegate;
+    private final long ttlMs;
+    private final Object lock = new Object();
+    private volatile Snapshot snapshot;
+    // Last snapshot read successfully, kept through invalidation as the fallback for a failed load
+    private volatile Snapshot lastGood;
+    private long version;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong failedLoads = new AtomicLong();
+
+    public CachingCourseDAO(CourseDAO delegate, long ttlMs) {
+        this.delegate = delegate;
+        this.ttlMs = ttlMs;
+    }
+
+    /** Process-wide instance, so a write from any screen invalidates what every other screen reads. */
+    public static CachingCourseDAO getInstance() {
+        return SHARED;
+    }
+
+    @Override
+    public List<Course> findAll() {
+        List<Course> list = findAllOrNull();
+        return list != null ? list : new ArrayList<>();
+    }
+
+    /** Null only if the catalog has never been read successfully and cannot be read now. */
+    @Override
+    public List<Course> findAllOrNull() {
+        Snapshot s = cached();
+        if (s != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            s = load();
+            if (s == NONE) return null;
+        }
+        List<Course> list = new ArrayList<>(s.courses.size());
+        for (Course c : s.courses) list.add(copy(c));
+        return list;
+    }
+
+    /**
+     * Served from the snapshot: the catalog is small and already in memory, so filtering and
+     * sorting it here is cheaper than a round trip. Ordering is case-insensitive like MySQL's.
+     */
+    @Override
+    public List<Course> findPage(int afterId, int limit, SortField sort, String filter) {
+        Snapshot s = cached();
+        if (s != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            s = load();
+        }
+        Comparator<Course> order = order(sort);
+        Course cursor = null;
+        if (afterId > 0) {
+            cursor = s.byId.get(afterId);
+            // Cursor row not in the snapshot; only the database can position after it
+            if (cursor == null) return delegate.findPage(afterId, limit, sort, filter);
+        }
+        String needle = filter == null ? "" : filter.trim().toLowerCase(Locale.ROOT);
+
+        List<Course> matches = new ArrayList<>();
+        for (Course c : s.courses) {
+            if (!needle.isEmpty() && !containsIgnoreCase(c.getTitle(), needle)
+                    && !containsIgnoreCase(c.getInstructor(), needle)) continue;
+            if (cursor != null && order.compare(c, cursor) <= 0) continue;
+            matches.add(c);
+        }
+        matches.sort(order);
+
+        List<Course> page = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) page.add(copy(matches.get(i)));
+        return page;
+    }
+
+    @Override
+    public Course findById(int courseId) {
+        Snapshot s = cached();
+        Course c = s != null ? s.byId.get(courseId) : null;
+        if (c != null) {
+            hits.incrementAndGet();
+            return copy(c);
+        }
+        misses.incrementAndGet();
+        if (s == null) {
+            c = load().byId.get(courseId);
+            return c != null ? copy(c) : null;
+        }
+        // Not in the snapshot: may have been added by another process since it was loaded
+        return delegate.findById(courseId);
+    }
+
+    @Override
+    public boolean create(Course course) {
+        boolean ok = delegate.create(course);
+        if (ok) invalidate();
+        return ok;
+    }
+
+    @Override
+    public boolean update(Course course) {
+        boolean ok = delegate.update(course);
+        if (ok) invalidate();
+        return ok;
+    }
+
+    @Override
+    public boolean delete(int courseId) {
+        boolean ok = delegate.delete(courseId);
+        if (ok) invalidate();
+        return ok;
+    }
+
+    /** Drop the snapshot; the next read reloads the catalog. */
+    public void invalidate() {
+        synchronized (lock) {
+            version++;
+            snapshot = null;
+        }
+        invalidations.incrementAndGet();
+    }
+
+    private Snapshot cached() {
+        Snapshot s = snapshot;
+        return s != null && System.currentTimeMillis() - s.loadedAt < ttlMs ? s : null;
+    }
+
+    private Snapshot load() {
+        long expectedVersion;
+        synchronized (lock) {
+            expectedVersion = version;
+        }
+        loads.incrementAndGet();
+        List<Course> courses = delegate.findAllOrNull();
+        if (courses == null) {
+            failedLoads.incrementAndGet();
+            Snapshot last = lastGood;
+            return last != null ? last : NONE;
+        }
+        Snapshot fresh = new Snapshot(courses);
+        synchronized (lock) {
+            lastGood = fresh;
+            // A write that raced with this load may not be reflected in it; don't publish it
+            if (version == expectedVersion) snapshot = fresh;
+        }
+        return fresh;
+    }
+
+    private static Comparator<Course> order(SortField sort) {
+        Comparator<Course> byId = Comparator.comparingInt(Course::getCourseId);
+        if (sort == SortField.TITLE) {
+            return Comparator.comparing(Course::getTitle, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)).thenComparing(byId);
+        }
+        if (sort == SortField.INSTRUCTOR) {
+            return Comparator.comparing(Course::getInstructor, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)).thenComparing(byId);
+        }
+        return byId;
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerNeedle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+    }
+
+    private static Course copy(Course c) {
+        Course copy = new Course(c.getCourseId(), c.getTitle(), c.getDescription(), c.getInstructor());
+        copy.setImagePath(c.getImagePath());
+        return copy;
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getLoads() { return loads.get(); }
+    public long getInvalidations() { return invalidations.get(); }
+    public long getFailedLoads() { return failedLoads.get(); }
+
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CourseCache[hits=%d, misses=%d, loads=%d, failedLoads=%d, invalidations=%d, hitRate=%.1f%%]",
+                getHits(), getMisses(), getLoads(), getFailedLoads(), getInvalidations(), getHitRate() * 100);
+    }
+
+    private static final class Snapshot {
+        private final List<Course> courses;
+        private final Map<Integer, Course> byId;
+        private final long loadedAt = System.currentTimeMillis();
+
+        Snapshot(List<Course> loaded) {
+            Map<Integer, Course> index = new HashMap<>();
+            for (Course c : loaded) index.put(c.getCourseId(), c);
+            this.courses = Collections.unmodifiableList(new ArrayList<>(loaded));
+            this.byId = Collections.unmodifiableMap(index);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.elearn.dao.impl;
+
+import com.elearn.dao.QuizDAO;
+import com.elearn.model.AnswerKey;
+import com.elearn.model.QuizQuestion;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QuizDAO that keeps a compiled AnswerKey per course for grading.
+ *
+ * Question reads still go to the delegate. Every write through this DAO drops the keys of the
+ * courses it touches, and a TTL bounds staleness from edits made by other processes. Keys are
+ * only cached if no write happened while they were being compiled.
+ */
+public class CachingQuizDAO implements QuizDAO {
+    private static final long DEFAULT_TTL_MS = Long.getLong("elearn.answerKeyCache.ttlMs", 60_000L);
+    private static final CachingQuizDAO SHARED = new CachingQuizDAO(new QuizDAOImpl(), DEFAULT_TTL_MS);
+
+    private final QuizDAO delegate;
+    private final long ttlMs;
+    private final Map<Integer, Cached> keys = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private long version;
+
+    public CachingQuizDAO(QuizDAO delegate, long ttlMs) {
+        this.delegate = delegate;
+        this.ttlMs = ttlMs;
+    }
+
+    /** Process-wide instance, so question edits from any screen invalidate the keys used for grading. */
+    public static CachingQuizDAO getInstance() {
+        return SHARED;
+    }
+
+    /** The course's answer key, compiled from findByCourseId on first use and then cached. */
+    public AnswerKey findAnswerKey(int courseId) {
+        Cached cached = keys.get(courseId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMs) {
+            return cached.key;
+        }
+        long seen;
+        synchronized (lock) {
+            seen = version;
+        }
+        AnswerKey key = AnswerKey.compile(courseId, delegate.findByCourseId(courseId));
+        synchronized (lock) {
+            if (version == seen) keys.put(courseId, new Cached(key, System.currentTimeMillis()));
+        }
+        return key;
+    }
+
+    @Override
+    public List<QuizQuestion> findByCourseId(int courseId) {
+        return delegate.findByCourseId(courseId);
+    }
+
+    @Override
+    public boolean create(QuizQuestion question) {
+        try {
+            return delegate.create(question);
+        } finally {
+            invalidate(question.getCourseId());
+        }
+    }
+
+    @Override
+    public boolean createAll(List<QuizQuestion> questions) {
+        try {
+            return delegate.createAll(questions);
+        } finally {
+            Set<Integer> courseIds = new HashSet<>();
+            for (QuizQuestion q : questions) courseIds.add(q.getCourseId());
+            for (Integer courseId : courseIds) invalidate(courseId);
+        }
+    }
+
+    @Override
+    public boolean update(QuizQuestion question) {
+        try {
+            return delegate.update(question);
+        } finally {
+            // The question may have been moved from another course
+            invalidateQuestion(question.getQuizId());
+            invalidate(question.getCourseId());
+        }
+    }
+
+    @Override
+    public boolean delete(int quizId) {
+        try {
+            return delegate.delete(quizId);
+        } finally {
+            invalidateQuestion(quizId);
+        }
+    }
+
+    /** Drop the course's key; the next grading recompiles it. */
+    public void invalidate(int courseId) {
+        synchronized (lock) {
+            version++;
+            keys.remove(courseId);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            version++;
+            keys.clear();
+        }
+    }
+
+    private void invalidateQuestion(int quizId) {
+        synchronized (lock) {
+            version++;
+            keys.values().removeIf(c -> c.key.containsQuestion(quizId));
+        }
+    }
+
+    private static final class Cached {
+        final AnswerKey key;
+        final long loadedAt;
+
+        Cached(AnswerKey key, long loadedAt) {
+            this.key = key;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
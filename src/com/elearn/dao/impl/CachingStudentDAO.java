@@ -0,0 +1,200 @@
+package com.elearn.dao.impl;
+
+import com.elearn.dao.StudentDAO;
+import com.elearn.model.Student;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory student directory over a StudentDAO.
+ *
+ * The whole students table is loaded once into an id index and a normalized-email index and
+ * kept current by create() and updateLastLogin(). Logins still go to the database so password
+ * checks are never answered from memory. Callers always receive copies.
+ */
+public class CachingStudentDAO implements StudentDAO {
+    private static final CachingStudentDAO SHARED = new CachingStudentDAO(new StudentDAOImpl());
+
+    private final StudentDAO delegate;
+    // Sorted by id so findAll() keeps the table's natural order
+    private final ConcurrentSkipListMap<Integer, Student> byId = new ConcurrentSkipListMap<>();
+    private final Map<String, Integer> byEmail = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public CachingStudentDAO(StudentDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    /** Process-wide directory shared by every screen and service. */
+    public static CachingStudentDAO getInstance() {
+        return SHARED;
+    }
+
+    @Override
+    public Student findById(int studentId) {
+        ensureLoaded();
+        Student s = byId.get(studentId);
+        if (s == null) {
+            // Registered by another process since the directory was loaded
+            s = delegate.findById(studentId);
+            if (s == null) return null;
+            put(copy(s));
+            return s;
+        }
+        return copy(s);
+    }
+
+    @Override
+    public Student findByEmail(String email) {
+        ensureLoaded();
+        Integer id = email != null ? byEmail.get(normalizeEmail(email)) : null;
+        if (id != null) {
+            Student s = byId.get(id);
+            if (s != null) return copy(s);
+        }
+        Student s = delegate.findByEmail(email);
+        if (s == null) return null;
+        put(copy(s));
+        return s;
+    }
+
+    /** O(1) check against the email index, e.g. to dedupe a roster before inserting. */
+    public boolean containsEmail(String email) {
+        ensureLoaded();
+        return email != null && byEmail.containsKey(normalizeEmail(email));
+    }
+
+    @Override
+    public Student findByEmailAndPassword(String email, String password) {
+        Student s = delegate.findByEmailAndPassword(email, password);
+        if (s != null && loaded) {
+            Student cached = byId.get(s.getStudentId());
+            if (cached != null) s.setLastLogin(cached.getLastLogin());
+            put(copy(s));
+        }
+        return s;
+    }
+
+    @Override
+    public boolean updateLastLogin(int studentId) {
+        boolean ok = delegate.updateLastLogin(studentId);
+        if (ok) {
+            Student s = byId.get(studentId);
+            if (s != null) {
+                Student updated = copy(s);
+                updated.setLastLogin(LocalDateTime.now());
+                put(updated);
+            }
+        }
+        return ok;
+    }
+
+    @Override
+    public boolean create(Student student) {
+        boolean ok = delegate.create(student);
+        if (ok && loaded) {
+            Student s = copy(student);
+            if (s.getDateJoined() == null) s.setDateJoined(LocalDateTime.now());
+            put(s);
+        }
+        return ok;
+    }
+
+    @Override
+    public int createAll(List<Student> students) {
+        int inserted = delegate.createAll(students);
+        if (inserted > 0 && loaded) {
+            for (Student student : students) {
+                if (student.getStudentId() <= 0) continue;
+                Student s = copy(student);
+                if (s.getDateJoined() == null) s.setDateJoined(LocalDateTime.now());
+                put(s);
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<Student> findAll() {
+        ensureLoaded();
+        List<Student> list = new ArrayList<>(byId.size());
+        for (Student s : byId.values()) list.add(copy(s));
+        return list;
+    }
+
+    /**
+     * Id order is served from the in-memory directory by seeking into the id index; other sorts
+     * go to the database, which has indexes for them.
+     */
+    @Override
+    public List<Student> findPage(int afterId, int limit, SortField sort, String filter) {
+        if (sort != null && sort != SortField.ID) {
+            return delegate.findPage(afterId, limit, sort, filter);
+        }
+        ensureLoaded();
+        String needle = filter == null ? "" : filter.trim().toLowerCase(Locale.ROOT);
+        List<Student> page = new ArrayList<>();
+        for (Student s : byId.tailMap(afterId, false).values()) {
+            if (page.size() >= limit) break;
+            if (!needle.isEmpty() && !containsIgnoreCase(s.getName(), needle)
+                    && !containsIgnoreCase(s.getEmail(), needle)) continue;
+            page.add(copy(s));
+        }
+        return page;
+    }
+
+    /** Reload the directory from the database on next access. */
+    public synchronized void invalidate() {
+        loaded = false;
+    }
+
+    public int size() {
+        ensureLoaded();
+        return byId.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            byId.clear();
+            byEmail.clear();
+            for (Student s : delegate.findAll()) put(s);
+            loaded = true;
+        }
+    }
+
+    private void put(Student s) {
+        Student previous = byId.put(s.getStudentId(), s);
+        if (previous != null && previous.getEmail() != null) {
+            byEmail.remove(normalizeEmail(previous.getEmail()), previous.getStudentId());
+        }
+        if (s.getEmail() != null) byEmail.put(normalizeEmail(s.getEmail()), s.getStudentId());
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerNeedle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerNeedle);
+    }
+
+    public static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Student copy(Student s) {
+        Student c = new Student();
+        c.setStudentId(s.getStudentId());
+        c.setName(s.getName());
+        c.setEmail(s.getEmail());
+        c.setPassword(s.getPassword());
+        c.setDateJoined(s.getDateJoined());
+        c.setLastLogin(s.getLastLogin());
+        c.setActive(s.isActive());
+        return c;
+    }
+}
@@ -1,12 +1,18 @@
 package com.elearn.dao.impl;
 
+import com.elearn.config.DBConfig;
 import com.elearn.dao.CertificateDAO;
 import com.elearn.db.DBConnection;
 import com.elearn.model.Certificate;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class CertificateDAOImpl implements CertificateDAO {
     @Override
@@ -48,6 +54,90 @@ public class CertificateDAOImpl implements CertificateDAO {
         }
         return list;
     }
+
+
+    @Override
+    public Map<Integer, String> findEligibleStudents(int courseId, int passingScore) {
+        Map<Integer, String> students = new LinkedHashMap<>();
+        String sql = "SELECT s.student_id, s.name FROM enrollments e " +
+                    "JOIN students s ON s.student_id = e.student_id " +
+                    "WHERE e.course_id = ? " +
+                    "AND (SELECT COUNT(*) FROM material_completions mc JOIN materials m ON mc.material_id = m.material_id " +
+                    "     WHERE mc.student_id = e.student_id AND m.course_id = e.course_id) = " +
+                    "    (SELECT COUNT(*) FROM materials m WHERE m.course_id = e.course_id) " +
+                    "AND EXISTS (SELECT 1 FROM quiz_results r WHERE r.student_id = e.student_id " +
+                    "     AND r.course_id = e.course_id AND r.score >= ?) " +
+                    "ORDER BY s.student_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, courseId);
+            ps.setInt(2, passingScore);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.put(rs.getInt("student_id"), rs.getString("name"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return students;
+    }
+
+    @Override
+    public Set<Integer> findIssuedStudentIds(int courseId) {
+        Set<Integer> ids = new HashSet<>();
+        String sql = "SELECT DISTINCT student_id FROM certificates WHERE course_id=? AND status='Issued'";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getInt(1));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
+    @Override
+    public int issueAll(int courseId, Collection<Integer> studentIds, Collection<Integer> completedStudentIds) {
+        if (studentIds.isEmpty() && completedStudentIds.isEmpty()) return 0;
+        String sql = "INSERT INTO certificates(student_id, course_id, status) VALUES(?,?, 'Issued')";
+        String completeSql = "UPDATE enrollments SET status='Completed' WHERE student_id=? AND course_id=?";
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql);
+                 PreparedStatement complete = conn.prepareStatement(completeSql)) {
+                batch(ps, courseId, studentIds);
+                batch(complete, courseId, completedStudentIds);
+                conn.commit();
+                return studentIds.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    /** Run ps once per student with (studentId, courseId), BATCH_SIZE rows per batch. */
+    private static void batch(PreparedStatement ps, int courseId, Collection<Integer> studentIds) throws SQLException {
+        int pending = 0;
+        for (Integer studentId : studentIds) {
+            ps.setInt(1, studentId);
+            ps.setInt(2, courseId);
+            ps.addBatch();
+            if (++pending == DBConfig.BATCH_SIZE) {
+                ps.executeBatch();
+                pending = 0;
+            }
+        }
+        if (pending > 0) ps.executeBatch();
+    }
 }
 
 
@@ -0,0 +1,245 @@
+package com.elearn.dao.impl;
+
+import com.elearn.dao.CertificateJobDAO;
+import com.elearn.db.DBConnection;
+import com.elearn.model.CertificateJob;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CertificateJobDAOImpl implements CertificateJobDAO {
+    // The job table is newer than the rest of the schema, so it is created on first use
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS certificate_jobs (" +
+            "job_id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "student_id INT NOT NULL, " +
+            "course_id INT NOT NULL, " +
+            "status VARCHAR(16) NOT NULL DEFAULT 'Pending', " +
+            "attempts INT NOT NULL DEFAULT 0, " +
+            "file_path VARCHAR(512), " +
+            "last_error VARCHAR(1000), " +
+            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, " +
+            "KEY idx_certificate_jobs_student (student_id, course_id), " +
+            "KEY idx_certificate_jobs_status (status))";
+    private static final String COLUMNS =
+            "job_id, student_id, course_id, status, attempts, file_path, last_error, created_at, updated_at";
+    private static final String JOINED_COLUMNS =
+            "j.job_id, j.student_id, j.course_id, j.status, j.attempts, j.file_path, j.last_error, j.created_at, j.updated_at";
+    private static volatile boolean tableReady;
+
+    @Override
+    public boolean create(CertificateJob job) {
+        String sql = "INSERT INTO certificate_jobs(student_id, course_id, status) VALUES(?,?,?)";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            ps.setInt(1, job.getStudentId());
+            ps.setInt(2, job.getCourseId());
+            ps.setString(3, CertificateJob.PENDING);
+            ps.executeUpdate();
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                if (rs.next()) job.setJobId(rs.getInt(1));
+            }
+            job.setStatus(CertificateJob.PENDING);
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean recordDone(List<CertificateJob> jobs) {
+        if (jobs.isEmpty()) return true;
+        // Overwrite the pair's latest finished job so repeated batch runs do not add a row each.
+        // A latest job still Pending or Rendering belongs to a worker and is left alone.
+        String update = "UPDATE certificate_jobs j JOIN (SELECT MAX(job_id) AS job_id FROM certificate_jobs " +
+                "WHERE student_id=? AND course_id=?) latest ON j.job_id = latest.job_id " +
+                "SET j.status=?, j.attempts=1, j.file_path=?, j.last_error=NULL WHERE j.status IN (?, ?)";
+        String insert = "INSERT INTO certificate_jobs(student_id, course_id, status, attempts, file_path) VALUES(?,?,?,1,?)";
+        try (Connection conn = connection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement up = conn.prepareStatement(update);
+                 PreparedStatement ins = conn.prepareStatement(insert)) {
+                for (CertificateJob job : jobs) {
+                    up.setInt(1, job.getStudentId());
+                    up.setInt(2, job.getCourseId());
+                    up.setString(3, CertificateJob.DONE);
+                    up.setString(4, job.getFilePath());
+                    up.setString(5, CertificateJob.DONE);
+                    up.setString(6, CertificateJob.FAILED);
+                    up.addBatch();
+                }
+                int[] updated = up.executeBatch();
+                boolean inserts = false;
+                for (int i = 0; i < jobs.size(); i++) {
+                    if (updated[i] > 0) continue;
+                    CertificateJob job = jobs.get(i);
+                    ins.setInt(1, job.getStudentId());
+                    ins.setInt(2, job.getCourseId());
+                    ins.setString(3, CertificateJob.DONE);
+                    ins.setString(4, job.getFilePath());
+                    ins.addBatch();
+                    inserts = true;
+                }
+                if (inserts) ins.executeBatch();
+                conn.commit();
+                for (CertificateJob job : jobs) job.setStatus(CertificateJob.DONE);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public CertificateJob findById(int jobId) {
+        String sql = "SELECT " + COLUMNS + " FROM certificate_jobs WHERE job_id=?";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, jobId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return map(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public Map<Integer, CertificateJob> findLatestByStudentId(int studentId) {
+        Map<Integer, CertificateJob> latest = new HashMap<>();
+        // Only the newest row per course is read, found on the (student_id, course_id) index
+        String sql = "SELECT " + JOINED_COLUMNS + " FROM certificate_jobs j JOIN (SELECT MAX(job_id) AS job_id " +
+                "FROM certificate_jobs WHERE student_id=? GROUP BY course_id) latest ON j.job_id = latest.job_id";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    CertificateJob job = map(rs);
+                    latest.put(job.getCourseId(), job);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return latest;
+    }
+
+    @Override
+    public List<CertificateJob> findPending() {
+        List<CertificateJob> list = new ArrayList<>();
+        String sql = "SELECT " + COLUMNS + " FROM certificate_jobs WHERE status=? ORDER BY job_id";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, CertificateJob.PENDING);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) list.add(map(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    @Override
+    public boolean claim(int jobId) {
+        String sql = "UPDATE certificate_jobs SET status=?, attempts=attempts+1 WHERE job_id=? AND status=?";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, CertificateJob.RENDERING);
+            ps.setInt(2, jobId);
+            ps.setString(3, CertificateJob.PENDING);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean markDone(int jobId, String filePath) {
+        String sql = "UPDATE certificate_jobs SET status=?, file_path=?, last_error=NULL WHERE job_id=?";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, CertificateJob.DONE);
+            ps.setString(2, filePath);
+            ps.setInt(3, jobId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean markFailed(int jobId, String error, boolean retry) {
+        String sql = "UPDATE certificate_jobs SET status=?, last_error=? WHERE job_id=?";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, retry ? CertificateJob.PENDING : CertificateJob.FAILED);
+            ps.setString(2, error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+            ps.setInt(3, jobId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    @Override
+    public int resetStale(long olderThanMs) {
+        // Compared on the server's clock, which also stamps updated_at
+        String sql = "UPDATE certificate_jobs SET status=? WHERE status=? AND updated_at < NOW() - INTERVAL ? SECOND";
+        try (Connection conn = connection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, CertificateJob.PENDING);
+            ps.setString(2, CertificateJob.RENDERING);
+            ps.setLong(3, Math.max(1, olderThanMs / 1000));
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    private static Connection connection() throws SQLException {
+        Connection conn = DBConnection.getConnection();
+        if (!tableReady) {
+            try (Statement st = conn.createStatement()) {
+                st.execute(CREATE_TABLE);
+                tableReady = true;
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+        return conn;
+    }
+
+    private CertificateJob map(ResultSet rs) throws SQLException {
+        CertificateJob job = new CertificateJob();
+        job.setJobId(rs.getInt("job_id"));
+        job.setStudentId(rs.getInt("student_id"));
+        job.setCourseId(rs.getInt("course_id"));
+        job.setStatus(rs.getString("status"));
+        job.setAttempts(rs.getInt("attempts"));
+        job.setFilePath(rs.getString("file_path"));
+        job.setLastError(rs.getString("last_error"));
+        Timestamp created = rs.getTimestamp("created_at");
+        if (created != null) job.setCreatedAt(created.toLocalDateTime());
+        Timestamp updated = rs.getTimestamp("updated_at");
+        if (updated != null) job.setUpdatedAt(updated.toLocalDateTime());
+        return job;
+    }
+}
@@ -0,0 +1,149 @@
+package com.elearn.dao.impl;
+
+import com.elearn.config.DBConfig;
+import com.elearn.dao.MaterialCompletionDAO;
+import com.elearn.model.MaterialCompletion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MaterialCompletionDAO that buffers "mark as completed" writes.
+ *
+ * Marks are held in memory keyed by (student, material), so repeated marks of the same material
+ * collapse into one row that keeps the time of the first mark. Pending marks are written with
+ * one markAllCompleted batch every COMPLETION_FLUSH_INTERVAL_MS, as soon as BATCH_SIZE are
+ * pending, and at JVM shutdown. Reads see pending marks: isCompleted checks the buffer first and
+ * the other queries flush before going to the database. Listeners hear of each mark as soon as
+ * it is buffered.
+ */
+public class CoalescingCompletionDAO implements MaterialCompletionDAO {
+    private static final CoalescingCompletionDAO SHARED = new CoalescingCompletionDAO(new MaterialCompletionDAOImpl());
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SHARED::flush, "elearn-completion-flush-on-exit"));
+    }
+
+    private final MaterialCompletionDAO delegate;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public CoalescingCompletionDAO(MaterialCompletionDAO delegate) {
+        this.delegate = delegate;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "elearn-completion-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, DBConfig.COMPLETION_FLUSH_INTERVAL_MS,
+                DBConfig.COMPLETION_FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Process-wide instance, so every screen sees the same pending marks. */
+    public static CoalescingCompletionDAO getInstance() {
+        return SHARED;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Buffers the mark; it is visible to isCompleted and listeners immediately and written with the
+     * next flush.
+     */
+    @Override
+    public boolean markAsCompleted(int studentId, int materialId) {
+        pending.putIfAbsent(key(studentId, materialId), LocalDateTime.now());
+        for (Listener listener : listeners) listener.onCompleted(studentId, materialId);
+        if (pending.size() >= DBConfig.BATCH_SIZE) flusher.execute(this::flush);
+        return true;
+    }
+
+    @Override
+    public boolean markAllCompleted(List<MaterialCompletion> completions) {
+        flush();
+        if (!delegate.markAllCompleted(completions)) return false;
+        for (MaterialCompletion completion : completions) {
+            for (Listener listener : listeners) listener.onCompleted(completion.getStudentId(), completion.getMaterialId());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCompleted(int studentId, int materialId) {
+        return pending.containsKey(key(studentId, materialId)) || delegate.isCompleted(studentId, materialId);
+    }
+
+    @Override
+    public List<Integer> findCompletedMaterialIds(int studentId, int courseId) {
+        flush();
+        return delegate.findCompletedMaterialIds(studentId, courseId);
+    }
+
+    @Override
+    public List<MaterialCompletion> findByStudentId(int studentId) {
+        flush();
+        return delegate.findByStudentId(studentId);
+    }
+
+    @Override
+    public List<MaterialCompletion> findByMaterialId(int materialId) {
+        flush();
+        return delegate.findByMaterialId(materialId);
+    }
+
+    @Override
+    public Map<Integer, Integer> countCompletedByCourse(int studentId, Collection<Integer> courseIds) {
+        flush();
+        return delegate.countCompletedByCourse(studentId, courseIds);
+    }
+
+    @Override
+    public Map<Integer, Integer> countCompletedByStudent(int courseId) {
+        flush();
+        return delegate.countCompletedByStudent(courseId);
+    }
+
+    /**
+     * Write every pending mark in one batch. Marks stay buffered (and are retried on the next
+     * flush) if the write fails.
+     * @return true if nothing is left pending from before the call
+     */
+    public boolean flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty()) return true;
+            List<Map.Entry<Long, LocalDateTime>> entries = new ArrayList<>(pending.entrySet());
+            List<MaterialCompletion> batch = new ArrayList<>(entries.size());
+            for (Map.Entry<Long, LocalDateTime> entry : entries) {
+                MaterialCompletion completion = new MaterialCompletion();
+                completion.setStudentId((int) (entry.getKey() >>> 32));
+                completion.setMaterialId((int) (long) entry.getKey());
+                completion.setCompletedDate(entry.getValue());
+                batch.add(completion);
+            }
+            if (!delegate.markAllCompleted(batch)) return false;
+            for (Map.Entry<Long, LocalDateTime> entry : entries) {
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+            return true;
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private static long key(int studentId, int materialId) {
+        return ((long) studentId << 32) | (materialId & 0xFFFFFFFFL);
+    }
+}
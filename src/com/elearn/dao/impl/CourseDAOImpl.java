@@ -11,6 +11,12 @@ import java.util.List;
 public class CourseDAOImpl implements CourseDAO {
     @Override
     public List<Course> findAll() {
+        List<Course> list = findAllOrNull();
+        return list != null ? list : new ArrayList<>();
+    }
+
+    @Override
+    public List<Course> findAllOrNull() {
         List<Course> list = new ArrayList<>();
         String sql = "SELECT course_id, title, description, instructor, image_path FROM courses";
         try (Connection conn = DBConnection.getConnection();
@@ -19,6 +25,40 @@ public class CourseDAOImpl implements CourseDAO {
             while (rs.next()) {
                 list.add(map(rs));
             }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return list;
+    }
+
+    @Override
+    public List<Course> findPage(int afterId, int limit, SortField sort, String filter) {
+        if (sort == null) sort = SortField.ID;
+        String sortColumn = sort == SortField.TITLE ? "title" : sort == SortField.INSTRUCTOR ? "instructor" : "course_id";
+        boolean hasFilter = filter != null && !filter.trim().isEmpty();
+        boolean hasCursor = afterId > 0;
+        String sql = KeysetPage.sql("courses", "course_id",
+                new String[]{"course_id", "title", "description", "instructor", "image_path"}, sortColumn,
+                hasFilter ? "t.title LIKE ? OR t.instructor LIKE ?" : null, hasCursor);
+
+        List<Course> list = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            if (hasCursor && sort != SortField.ID) ps.setInt(i++, afterId);
+            if (hasFilter) {
+                String pattern = KeysetPage.contains(filter.trim());
+                ps.setString(i++, pattern);
+                ps.setString(i++, pattern);
+            }
+            if (hasCursor) ps.setInt(i++, afterId);
+            ps.setInt(i, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(map(rs));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
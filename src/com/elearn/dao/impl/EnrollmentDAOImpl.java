@@ -1,12 +1,21 @@
 package com.elearn.dao.impl;
 
+import com.elearn.config.DBConfig;
 import com.elearn.dao.EnrollmentDAO;
 import com.elearn.db.DBConnection;
 import com.elearn.model.Enrollment;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class EnrollmentDAOImpl implements EnrollmentDAO {
     @Override
@@ -24,6 +33,109 @@ public class EnrollmentDAOImpl implements EnrollmentDAO {
         }
     }
 
+    @Override
+    public Map<Integer, Outcome> enrollAll(int courseId, Collection<Integer> studentIds) {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        Map<Integer, Outcome> outcomes = new LinkedHashMap<>();
+        if (ids.isEmpty()) return outcomes;
+        String sql = "INSERT IGNORE INTO enrollments(student_id, course_id) VALUES(?, ?)";
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                // Batched inserts don't say which rows were ignored, so compare enrollments before and after
+                Set<Integer> before = enrolledAmong(conn, courseId, ids);
+                int pending = 0;
+                for (Integer id : ids) {
+                    if (before.contains(id)) continue;
+                    ps.setInt(1, id);
+                    ps.setInt(2, courseId);
+                    ps.addBatch();
+                    if (++pending == DBConfig.BATCH_SIZE) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) ps.executeBatch();
+                Set<Integer> after = before.size() == ids.size() ? before : enrolledAmong(conn, courseId, ids);
+                conn.commit();
+                for (Integer id : ids) {
+                    outcomes.put(id, before.contains(id) ? Outcome.ALREADY_ENROLLED
+                            : after.contains(id) ? Outcome.ENROLLED : Outcome.FAILED);
+                }
+                return outcomes;
+            } catch (SQLException e) {
+                conn.rollback();
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        for (Integer id : ids) outcomes.put(id, Outcome.FAILED);
+        return outcomes;
+    }
+
+    @Override
+    public Map<Integer, Outcome> unenrollAll(int courseId, Collection<Integer> studentIds) {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        Map<Integer, Outcome> outcomes = new LinkedHashMap<>();
+        if (ids.isEmpty()) return outcomes;
+        String sql = "DELETE FROM enrollments WHERE student_id=? AND course_id=?";
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                Set<Integer> enrolled = enrolledAmong(conn, courseId, ids);
+                int pending = 0;
+                for (Integer id : ids) {
+                    if (!enrolled.contains(id)) continue;
+                    ps.setInt(1, id);
+                    ps.setInt(2, courseId);
+                    ps.addBatch();
+                    if (++pending == DBConfig.BATCH_SIZE) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) ps.executeBatch();
+                conn.commit();
+                for (Integer id : ids) {
+                    outcomes.put(id, enrolled.contains(id) ? Outcome.UNENROLLED : Outcome.NOT_ENROLLED);
+                }
+                return outcomes;
+            } catch (SQLException e) {
+                conn.rollback();
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        for (Integer id : ids) outcomes.put(id, Outcome.FAILED);
+        return outcomes;
+    }
+
+    /** Which of the ids are enrolled in the course, queried BATCH_SIZE ids at a time. */
+    private Set<Integer> enrolledAmong(Connection conn, int courseId, List<Integer> ids) throws SQLException {
+        Set<Integer> enrolled = new HashSet<>();
+        for (int start = 0; start < ids.size(); start += DBConfig.BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(start + DBConfig.BATCH_SIZE, ids.size()));
+            String sql = "SELECT student_id FROM enrollments WHERE course_id=? AND student_id IN ("
+                    + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setInt(1, courseId);
+                for (int i = 0; i < chunk.size(); i++) {
+                    ps.setInt(i + 2, chunk.get(i));
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) enrolled.add(rs.getInt(1));
+                }
+            }
+        }
+        return enrolled;
+    }
+
     @Override
     public List<Enrollment> findAll() {
             List<Enrollment> list = new ArrayList<>();
@@ -47,6 +159,42 @@ public class EnrollmentDAOImpl implements EnrollmentDAO {
             return list;
         }
 
+        @Override
+        public List<Enrollment> findPage(int afterId, int limit, SortField sort, String status) {
+            if (sort == null) sort = SortField.ID;
+            String sortColumn = sort == SortField.ENROLL_DATE ? "enroll_date" : sort == SortField.STATUS ? "status" : "enroll_id";
+            boolean hasStatus = status != null && !status.isEmpty();
+            boolean hasCursor = afterId > 0;
+            String sql = KeysetPage.sql("enrollments", "enroll_id",
+                    new String[]{"enroll_id", "student_id", "course_id", "enroll_date", "status"}, sortColumn,
+                    hasStatus ? "t.status = ?" : null, hasCursor);
+
+            List<Enrollment> list = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                int i = 1;
+                if (hasCursor && sort != SortField.ID) ps.setInt(i++, afterId);
+                if (hasStatus) ps.setString(i++, status);
+                if (hasCursor) ps.setInt(i++, afterId);
+                ps.setInt(i, limit);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Enrollment e = new Enrollment();
+                        e.setEnrollId(rs.getInt("enroll_id"));
+                        e.setStudentId(rs.getInt("student_id"));
+                        e.setCourseId(rs.getInt("course_id"));
+                        Timestamp ts = rs.getTimestamp("enroll_date");
+                        if (ts != null) e.setEnrollDate(ts.toLocalDateTime());
+                        e.setStatus(rs.getString("status"));
+                        list.add(e);
+                    }
+                }
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+            return list;
+        }
+
         @Override
         public List<Enrollment> findByCourseId(int courseId) {
             List<Enrollment> list = new ArrayList<>();
@@ -172,6 +320,43 @@ public class EnrollmentDAOImpl implements EnrollmentDAO {
         return list;
     }
 
+    @Override
+    public Map<Integer, Integer> countByStudent() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        String sql = "SELECT student_id, COUNT(*) AS cnt FROM enrollments GROUP BY student_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                counts.put(rs.getInt("student_id"), rs.getInt("cnt"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Integer, Integer> countByStudentIds(Collection<Integer> studentIds) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        if (studentIds.isEmpty()) return counts;
+        String sql = "SELECT student_id, COUNT(*) AS cnt FROM enrollments WHERE student_id IN (" +
+                String.join(",", Collections.nCopies(studentIds.size(), "?")) + ") GROUP BY student_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (Integer studentId : studentIds) ps.setInt(i++, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getInt("student_id"), rs.getInt("cnt"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
     @Override
     public boolean isEnrolled(int studentId, int courseId) {
         String sql = "SELECT 1 FROM enrollments WHERE student_id=? AND course_id=?";
@@ -0,0 +1,57 @@
+package com.elearn.dao.impl;
+
+/**
+ * Builds keyset ("seek") pagination queries shared by the DAO findPage() methods.
+ *
+ * Rows are ordered by (sort column, id) and a page starts strictly after the row whose id is
+ * passed as the cursor, so each page costs an index range scan instead of an OFFSET that
+ * re-reads every earlier row. For non-id sorts the cursor row's sort value is looked up in a
+ * one-row derived table; sort columns must be NOT NULL for the comparison to hold.
+ *
+ * Parameter order of the generated statement: cursor id (non-id sort with a cursor only),
+ * filter parameters, cursor id (when there is a cursor), limit.
+ */
+final class KeysetPage {
+    private KeysetPage() {}
+
+    /**
+     * @param columns     select list, unqualified; every column is read from the paged table
+     * @param filter      WHERE condition on alias t, or null for none
+     * @param hasCursor   true when paging after an existing row rather than from the start
+     */
+    static String sql(String table, String idColumn, String[] columns, String sortColumn,
+                      String filter, boolean hasCursor) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("t.").append(columns[i]);
+        }
+        sql.append(" FROM ").append(table).append(" t");
+
+        boolean byId = sortColumn.equals(idColumn);
+        if (hasCursor && !byId) {
+            sql.append(" JOIN (SELECT ").append(sortColumn).append(" AS k FROM ").append(table)
+               .append(" WHERE ").append(idColumn).append(" = ?) cur ON 1=1");
+        }
+
+        String where = filter;
+        if (hasCursor) {
+            String seek = byId
+                    ? "t." + idColumn + " > ?"
+                    : "(t." + sortColumn + " > cur.k OR (t." + sortColumn + " = cur.k AND t." + idColumn + " > ?))";
+            where = where == null ? seek : "(" + where + ") AND " + seek;
+        }
+        if (where != null) sql.append(" WHERE ").append(where);
+
+        sql.append(" ORDER BY ");
+        if (!byId) sql.append("t.").append(sortColumn).append(", ");
+        sql.append("t.").append(idColumn).append(" LIMIT ?");
+        return sql.toString();
+    }
+
+    /** LIKE pattern matching the text anywhere, with wildcards in the text itself escaped. */
+    static String contains(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -1,5 +1,6 @@
 package com.elearn.dao.impl;
 
+import com.elearn.config.DBConfig;
 import com.elearn.dao.MaterialCompletionDAO;
 import com.elearn.db.DBConnection;
 import com.elearn.model.MaterialCompletion;
@@ -7,7 +8,11 @@ import com.elearn.model.MaterialCompletion;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MaterialCompletionDAOImpl implements MaterialCompletionDAO {
     
@@ -28,6 +33,40 @@ public class MaterialCompletionDAOImpl implements MaterialCompletionDAO {
         return false;
     }
 
+    @Override
+    public boolean markAllCompleted(List<MaterialCompletion> completions) {
+        if (completions.isEmpty()) return true;
+        String sql = "INSERT IGNORE INTO material_completions (student_id, material_id, completed_date) VALUES (?, ?, ?)";
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                int pending = 0;
+                for (MaterialCompletion completion : completions) {
+                    LocalDateTime completed = completion.getCompletedDate() != null ? completion.getCompletedDate() : LocalDateTime.now();
+                    ps.setInt(1, completion.getStudentId());
+                    ps.setInt(2, completion.getMaterialId());
+                    ps.setTimestamp(3, Timestamp.valueOf(completed));
+                    ps.addBatch();
+                    if (++pending == DBConfig.BATCH_SIZE) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) ps.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     @Override
     public boolean isCompleted(int studentId, int materialId) {
         String sql = "SELECT completion_id FROM material_completions WHERE student_id = ? AND material_id = ?";
@@ -44,6 +83,27 @@ public class MaterialCompletionDAOImpl implements MaterialCompletionDAO {
         return false;
     }
 
+    @Override
+    public List<Integer> findCompletedMaterialIds(int studentId, int courseId) {
+        List<Integer> ids = new ArrayList<>();
+        String sql = "SELECT mc.material_id FROM material_completions mc " +
+                    "JOIN materials m ON mc.material_id = m.material_id " +
+                    "WHERE mc.student_id = ? AND m.course_id = ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            ps.setInt(2, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
     @Override
     public List<MaterialCompletion> findByStudentId(int studentId) {
         List<MaterialCompletion> completions = new ArrayList<>();
@@ -95,4 +155,48 @@ public class MaterialCompletionDAOImpl implements MaterialCompletionDAO {
         }
         return completions;
     }
+
+    @Override
+    public Map<Integer, Integer> countCompletedByCourse(int studentId, Collection<Integer> courseIds) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        if (courseIds.isEmpty()) return counts;
+        String sql = "SELECT m.course_id, COUNT(*) AS completed FROM material_completions mc " +
+                    "JOIN materials m ON mc.material_id = m.material_id " +
+                    "WHERE mc.student_id = ? AND m.course_id IN (" +
+                    String.join(",", Collections.nCopies(courseIds.size(), "?")) + ") GROUP BY m.course_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            int i = 2;
+            for (Integer courseId : courseIds) ps.setInt(i++, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getInt("course_id"), rs.getInt("completed"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Integer, Integer> countCompletedByStudent(int courseId) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        String sql = "SELECT mc.student_id, COUNT(*) AS completed FROM material_completions mc " +
+                    "JOIN materials m ON mc.material_id = m.material_id " +
+                    "WHERE m.course_id = ? GROUP BY mc.student_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getInt("student_id"), rs.getInt("completed"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
 }
@@ -6,7 +6,11 @@ import com.elearn.model.Material;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MaterialDAOImpl implements MaterialDAO {
     @Override
@@ -34,6 +38,24 @@ public class MaterialDAOImpl implements MaterialDAO {
         return list;
     }
 
+    @Override
+    public List<Integer> findIdsByCourseId(int courseId) {
+        List<Integer> ids = new ArrayList<>();
+        String sql = "SELECT material_id FROM materials WHERE course_id=? ORDER BY material_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ids;
+    }
+
     @Override
     public Material findById(int materialId) {
         String sql = "SELECT material_id, course_id, file_name, file_path, content, type FROM materials WHERE material_id=?";
@@ -93,6 +115,43 @@ public class MaterialDAOImpl implements MaterialDAO {
         }
         return false;
     }
+
+    @Override
+    public int countByFilePath(String filePath) {
+        String sql = "SELECT COUNT(*) FROM materials WHERE file_path=?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, filePath);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        // Unknown: report a reference so the caller keeps the file
+        return 1;
+    }
+
+    @Override
+    public Map<Integer, Integer> countByCourseIds(Collection<Integer> courseIds) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        if (courseIds.isEmpty()) return counts;
+        String sql = "SELECT course_id, COUNT(*) AS total FROM materials WHERE course_id IN (" +
+                String.join(",", Collections.nCopies(courseIds.size(), "?")) + ") GROUP BY course_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (Integer courseId : courseIds) ps.setInt(i++, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getInt("course_id"), rs.getInt("total"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
 }
 
 
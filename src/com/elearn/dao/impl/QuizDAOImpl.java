@@ -1,5 +1,6 @@
 package com.elearn.dao.impl;
 
+import com.elearn.config.DBConfig;
 import com.elearn.dao.QuizDAO;
 import com.elearn.db.DBConnection;
 import com.elearn.model.QuizQuestion;
@@ -12,7 +13,7 @@ public class QuizDAOImpl implements QuizDAO {
     @Override
     public List<QuizQuestion> findByCourseId(int courseId) {
         List<QuizQuestion> list = new ArrayList<>();
-        String sql = "SELECT quiz_id, course_id, question, optionA, optionB, optionC, optionD, correct_option FROM quiz WHERE course_id=?";
+        String sql = "SELECT quiz_id, course_id, question, optionA, optionB, optionC, optionD, correct_option FROM quiz WHERE course_id=? ORDER BY quiz_id";
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, courseId);
@@ -56,6 +57,49 @@ public class QuizDAOImpl implements QuizDAO {
         return false;
     }
 
+    @Override
+    public boolean createAll(List<QuizQuestion> questions) {
+        if (questions.isEmpty()) return true;
+        String sql = "INSERT INTO quiz(course_id, question, optionA, optionB, optionC, optionD, correct_option) VALUES(?,?,?,?,?,?,?)";
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int i = 0; i < questions.size(); i++) {
+                    QuizQuestion question = questions.get(i);
+                    ps.setInt(1, question.getCourseId());
+                    ps.setString(2, question.getQuestion());
+                    ps.setString(3, question.getOptionA());
+                    ps.setString(4, question.getOptionB());
+                    ps.setString(5, question.getOptionC());
+                    ps.setString(6, question.getOptionD());
+                    ps.setString(7, question.getCorrectOption());
+                    ps.addBatch();
+                    if (i - batchStart + 1 == DBConfig.BATCH_SIZE || i == questions.size() - 1) {
+                        ps.executeBatch();
+                        try (ResultSet rs = ps.getGeneratedKeys()) {
+                            for (int j = batchStart; j <= i && rs.next(); j++) {
+                                questions.get(j).setQuizId(rs.getInt(1));
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                for (QuizQuestion question : questions) question.setQuizId(0);
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     @Override
     public boolean update(QuizQuestion question) {
         String sql = "UPDATE quiz SET course_id=?, question=?, optionA=?, optionB=?, optionC=?, optionD=?, correct_option=? WHERE quiz_id=?";
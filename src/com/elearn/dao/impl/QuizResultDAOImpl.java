@@ -1,12 +1,18 @@
 package com.elearn.dao.impl;
 
+import com.elearn.config.DBConfig;
 import com.elearn.dao.QuizResultDAO;
 import com.elearn.db.DBConnection;
 import com.elearn.model.QuizResult;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class QuizResultDAOImpl implements QuizResultDAO {
     @Override
@@ -30,6 +36,47 @@ public class QuizResultDAOImpl implements QuizResultDAO {
         return false;
     }
 
+    @Override
+    public boolean saveAll(List<QuizResult> results) {
+        if (results.isEmpty()) return true;
+        String sql = "INSERT INTO quiz_results(student_id, course_id, score, attempt_date) VALUES(?,?,?,?)";
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int i = 0; i < results.size(); i++) {
+                    QuizResult result = results.get(i);
+                    ps.setInt(1, result.getStudentId());
+                    ps.setInt(2, result.getCourseId());
+                    ps.setInt(3, result.getScore());
+                    LocalDateTime attempted = result.getAttemptDate() != null ? result.getAttemptDate() : LocalDateTime.now();
+                    ps.setTimestamp(4, Timestamp.valueOf(attempted));
+                    ps.addBatch();
+                    if (i - batchStart + 1 == DBConfig.BATCH_SIZE || i == results.size() - 1) {
+                        ps.executeBatch();
+                        try (ResultSet rs = ps.getGeneratedKeys()) {
+                            for (int j = batchStart; j <= i && rs.next(); j++) {
+                                results.get(j).setResultId(rs.getInt(1));
+                            }
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                for (QuizResult result : results) result.setResultId(0);
+                e.printStackTrace();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     @Override
     public List<QuizResult> findByStudentAndCourse(int studentId, int courseId) {
         List<QuizResult> list = new ArrayList<>();
@@ -55,6 +102,46 @@ public class QuizResultDAOImpl implements QuizResultDAO {
         }
         return list;
     }
+
+    @Override
+    public Map<Integer, Integer> findBestScoresByCourse(int studentId, Collection<Integer> courseIds) {
+        Map<Integer, Integer> best = new HashMap<>();
+        if (courseIds.isEmpty()) return best;
+        String sql = "SELECT course_id, MAX(score) AS best_score FROM quiz_results WHERE student_id=? AND course_id IN (" +
+                String.join(",", Collections.nCopies(courseIds.size(), "?")) + ") GROUP BY course_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            int i = 2;
+            for (Integer courseId : courseIds) ps.setInt(i++, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    best.put(rs.getInt("course_id"), rs.getInt("best_score"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return best;
+    }
+
+    @Override
+    public Map<Integer, Integer> findBestScoresByStudent(int courseId) {
+        Map<Integer, Integer> best = new HashMap<>();
+        String sql = "SELECT student_id, MAX(score) AS best_score FROM quiz_results WHERE course_id=? GROUP BY student_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, courseId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    best.put(rs.getInt("student_id"), rs.getInt("best_score"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return best;
+    }
 }
 
 
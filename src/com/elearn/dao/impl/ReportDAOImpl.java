@@ -0,0 +1,254 @@
+package com.elearn.dao.impl;
+
+import com.elearn.dao.ReportDAO;
+import com.elearn.db.DBConnection;
+import com.elearn.model.EnrollmentReportRow;
+import com.elearn.model.QuizResultReportRow;
+
+import java.io.IOException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReportDAOImpl implements ReportDAO {
+    // Same weighting as CourseService.getCompletionPercentage: materials 70%, passed quiz (>= 70) 30%
+    private static final String COMPLETION_EXPR =
+            "CASE WHEN e.status = 'Completed' THEN 100.0 ELSE " +
+            "(CASE WHEN COALESCE(mt.total, 0) > 0 THEN COALESCE(mc.completed, 0) * 100.0 / mt.total ELSE 0 END) * 0.7 + " +
+            "(CASE WHEN qr.best_score >= 70 THEN 30.0 ELSE 0 END) END";
+
+    @Override
+    public List<EnrollmentReportRow> findEnrollmentReportPage(int courseId, String status, SortField sort,
+                                                              int afterEnrollId, int limit) {
+        List<EnrollmentReportRow> list = new ArrayList<>();
+        List<Integer> params = new ArrayList<>();
+        String sql = enrollmentReportSql(courseId, 0, status, sort, afterEnrollId, limit, params);
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(map(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    @Override
+    public int streamEnrollmentReport(int courseId, int studentId, String status,
+                                      RowHandler<EnrollmentReportRow> handler) throws IOException {
+        List<Integer> params = new ArrayList<>();
+        String sql = enrollmentReportSql(courseId, studentId, status, SortField.COURSE, 0, 0, params);
+        int count = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = prepareStreaming(conn, sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(map(rs));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Enrollment report query failed: " + e.getMessage(), e);
+        }
+        return count;
+    }
+
+    @Override
+    public int streamQuizResults(int courseId, int studentId, RowHandler<QuizResultReportRow> handler) throws IOException {
+        List<Integer> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT qr.result_id, qr.student_id, s.name AS student_name, qr.course_id, c.title AS course_title, " +
+                "qr.score, qr.attempt_date FROM quiz_results qr " +
+                "JOIN students s ON s.student_id = qr.student_id " +
+                "JOIN courses c ON c.course_id = qr.course_id WHERE 1=1");
+        if (courseId > 0) {
+            sql.append(" AND qr.course_id = ?");
+            params.add(courseId);
+        }
+        if (studentId > 0) {
+            sql.append(" AND qr.student_id = ?");
+            params.add(studentId);
+        }
+        sql.append(" ORDER BY qr.attempt_date DESC, qr.result_id DESC");
+
+        int count = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = prepareStreaming(conn, sql.toString())) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    QuizResultReportRow r = new QuizResultReportRow();
+                    r.setResultId(rs.getInt("result_id"));
+                    r.setStudentId(rs.getInt("student_id"));
+                    r.setStudentName(rs.getString("student_name"));
+                    r.setCourseId(rs.getInt("course_id"));
+                    r.setCourseTitle(rs.getString("course_title"));
+                    r.setScore(rs.getInt("score"));
+                    Timestamp ts = rs.getTimestamp("attempt_date");
+                    if (ts != null) r.setAttemptDate(ts.toLocalDateTime());
+                    handler.handle(r);
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Quiz result query failed: " + e.getMessage(), e);
+        }
+        return count;
+    }
+
+    /**
+     * Builds the joined enrollment report. Filters are pushed into each aggregate subquery so
+     * a single-course or single-student report doesn't aggregate the whole table first.
+     * Rows are ordered by the sort columns and enrollment id; with limit > 0 only that many rows
+     * after the enrollment afterEnrollId (0 for the first page) in that order are read, seeking
+     * past the cursor row's sort values rather than skipping with an OFFSET. The sort columns
+     * are NOT NULL, as the seek comparison needs.
+     * Parameters are appended to params in placeholder order.
+     */
+    private String enrollmentReportSql(int courseId, int studentId, String status, SortField sort,
+                                       int afterEnrollId, int limit, List<Integer> params) {
+        boolean byCourse = courseId > 0;
+        boolean byStudent = studentId > 0;
+
+        StringBuilder materials = new StringBuilder("SELECT course_id, COUNT(*) AS total FROM materials");
+        if (byCourse) {
+            materials.append(" WHERE course_id = ?");
+            params.add(courseId);
+        }
+        materials.append(" GROUP BY course_id");
+
+        StringBuilder completions = new StringBuilder("SELECT mcx.student_id, m.course_id, COUNT(*) AS completed " +
+                "FROM material_completions mcx JOIN materials m ON m.material_id = mcx.material_id WHERE 1=1");
+        if (byCourse) {
+            completions.append(" AND m.course_id = ?");
+            params.add(courseId);
+        }
+        if (byStudent) {
+            completions.append(" AND mcx.student_id = ?");
+            params.add(studentId);
+        }
+        completions.append(" GROUP BY mcx.student_id, m.course_id");
+
+        StringBuilder quizzes = new StringBuilder("SELECT student_id, course_id, MAX(score) AS best_score FROM quiz_results WHERE 1=1");
+        if (byCourse) {
+            quizzes.append(" AND course_id = ?");
+            params.add(courseId);
+        }
+        if (byStudent) {
+            quizzes.append(" AND student_id = ?");
+            params.add(studentId);
+        }
+        quizzes.append(" GROUP BY student_id, course_id");
+
+        StringBuilder certificates = new StringBuilder("SELECT student_id, COUNT(*) AS cert_count FROM certificates");
+        if (byStudent) {
+            certificates.append(" WHERE student_id = ?");
+            params.add(studentId);
+        }
+        certificates.append(" GROUP BY student_id");
+
+        String sql = "SELECT * FROM (" +
+                "SELECT e.enroll_id, e.student_id, s.name AS student_name, e.course_id, c.title AS course_title, e.enroll_date, " +
+                "COALESCE(mt.total, 0) AS total_materials, COALESCE(mc.completed, 0) AS completed_materials, " +
+                "qr.best_score, COALESCE(cc.cert_count, 0) AS cert_count, " + COMPLETION_EXPR + " AS completion_pct " +
+                "FROM enrollments e " +
+                "JOIN students s ON s.student_id = e.student_id " +
+                "JOIN courses c ON c.course_id = e.course_id " +
+                "LEFT JOIN (" + materials + ") mt ON mt.course_id = e.course_id " +
+                "LEFT JOIN (" + completions + ") mc ON mc.student_id = e.student_id AND mc.course_id = e.course_id " +
+                "LEFT JOIN (" + quizzes + ") qr ON qr.student_id = e.student_id AND qr.course_id = e.course_id " +
+                "LEFT JOIN (" + certificates + ") cc ON cc.student_id = e.student_id " +
+                "WHERE 1=1" + (byCourse ? " AND e.course_id = ?" : "") + (byStudent ? " AND e.student_id = ?" : "") +
+                ") r";
+        if (byCourse) params.add(courseId);
+        if (byStudent) params.add(studentId);
+        // Report column and the base-table expression it comes from, for the single-column sorts
+        String sortColumn = null;
+        String sortSource = null;
+        if (sort == SortField.STUDENT_ID) {
+            sortColumn = "student_id";
+            sortSource = "e.student_id";
+        } else if (sort == SortField.STUDENT_NAME) {
+            sortColumn = "student_name";
+            sortSource = "s.name";
+        } else if (sort == SortField.ENROLL_DATE) {
+            sortColumn = "enroll_date";
+            sortSource = "e.enroll_date";
+        }
+        boolean hasCursor = limit > 0 && afterEnrollId > 0;
+        if (hasCursor) {
+            String cursorColumns = sortColumn == null
+                    ? "c.title AS course_title, s.name AS student_name"
+                    : sortSource + " AS k";
+            sql += " JOIN (SELECT " + cursorColumns + " FROM enrollments e " +
+                    "JOIN courses c ON c.course_id = e.course_id JOIN students s ON s.student_id = e.student_id " +
+                    "WHERE e.enroll_id = ?) cur ON 1=1";
+            params.add(afterEnrollId);
+        }
+        sql += " WHERE 1=1";
+        if ("Completed".equals(status)) {
+            sql += " AND r.completion_pct >= 100";
+        } else if ("In Progress".equals(status)) {
+            sql += " AND r.completion_pct < 100";
+        }
+        if (hasCursor && sortColumn == null) {
+            sql += " AND (r.course_title > cur.course_title OR (r.course_title = cur.course_title AND " +
+                    "(r.student_name > cur.student_name OR (r.student_name = cur.student_name AND r.enroll_id > ?))))";
+            params.add(afterEnrollId);
+        } else if (hasCursor) {
+            sql += " AND (r." + sortColumn + " > cur.k OR (r." + sortColumn + " = cur.k AND r.enroll_id > ?))";
+            params.add(afterEnrollId);
+        }
+        sql += sortColumn == null
+                ? " ORDER BY r.course_title, r.student_name, r.enroll_id"
+                : " ORDER BY r." + sortColumn + ", r.enroll_id";
+        if (limit > 0) {
+            sql += " LIMIT ?";
+            params.add(limit);
+        }
+
+        return sql;
+    }
+
+    /**
+     * Forward-only, read-only statement whose rows Connector/J streams one at a time instead of
+     * buffering the whole result. The connection can run nothing else until the result set is
+     * closed, which the callers' try-with-resources does before handing it back to the pool.
+     */
+    private static PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(Integer.MIN_VALUE);
+        return ps;
+    }
+
+    private static void bind(PreparedStatement ps, List<Integer> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            ps.setInt(i + 1, params.get(i));
+        }
+    }
+
+    private EnrollmentReportRow map(ResultSet rs) throws SQLException {
+        EnrollmentReportRow r = new EnrollmentReportRow();
+        r.setEnrollId(rs.getInt("enroll_id"));
+        r.setStudentId(rs.getInt("student_id"));
+        r.setStudentName(rs.getString("student_name"));
+        r.setCourseId(rs.getInt("course_id"));
+        r.setCourseTitle(rs.getString("course_title"));
+        Timestamp ts = rs.getTimestamp("enroll_date");
+        if (ts != null) r.setEnrollDate(ts.toLocalDateTime());
+        r.setTotalMaterials(rs.getInt("total_materials"));
+        r.setCompletedMaterials(rs.getInt("completed_materials"));
+        int best = rs.getInt("best_score");
+        r.setBestQuizScore(rs.wasNull() ? null : best);
+        r.setCertificateCount(rs.getInt("cert_count"));
+        double pct = rs.getDouble("completion_pct");
+        r.setCompletionPercentage(pct);
+        r.setStatus(pct >= 100 ? "Completed" : "In Progress");
+        return r;
+    }
+}
@@ -1,10 +1,14 @@
 package com.elearn.dao.impl;
 
+import com.elearn.config.DBConfig;
 import com.elearn.dao.StudentDAO;
 import com.elearn.db.DBConnection;
 import com.elearn.model.Student;
 
 import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 public class StudentDAOImpl implements StudentDAO {
     @Override
@@ -56,6 +60,111 @@ public class StudentDAOImpl implements StudentDAO {
         return null;
     }
 
+    @Override
+    public Student findByEmail(String email) {
+        String sql = "SELECT student_id, name, email, password, date_joined FROM students WHERE email=?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, email);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Student s = new Student();
+                    s.setStudentId(rs.getInt("student_id"));
+                    s.setName(rs.getString("name"));
+                    s.setEmail(rs.getString("email"));
+                    s.setPassword(rs.getString("password"));
+                    Timestamp ts = rs.getTimestamp("date_joined");
+                    if (ts != null) s.setDateJoined(ts.toLocalDateTime());
+                    return s;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public List<Student> findAll() {
+        List<Student> list = new ArrayList<>();
+        String sql = "SELECT student_id, name, email, password, date_joined, last_login FROM students ORDER BY student_id";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Student s = new Student();
+                s.setStudentId(rs.getInt("student_id"));
+                s.setName(rs.getString("name"));
+                s.setEmail(rs.getString("email"));
+                s.setPassword(rs.getString("password"));
+                Timestamp ts = rs.getTimestamp("date_joined");
+                if (ts != null) s.setDateJoined(ts.toLocalDateTime());
+                Timestamp login = rs.getTimestamp("last_login");
+                if (login != null) s.setLastLogin(login.toLocalDateTime());
+                list.add(s);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    @Override
+    public List<Student> findPage(int afterId, int limit, SortField sort, String filter) {
+        if (sort == null) sort = SortField.ID;
+        String sortColumn = sort == SortField.NAME ? "name" : sort == SortField.EMAIL ? "email" : "student_id";
+        boolean hasFilter = filter != null && !filter.trim().isEmpty();
+        boolean hasCursor = afterId > 0;
+        String sql = KeysetPage.sql("students", "student_id",
+                new String[]{"student_id", "name", "email", "password", "date_joined", "last_login"}, sortColumn,
+                hasFilter ? "t.name LIKE ? OR t.email LIKE ?" : null, hasCursor);
+
+        List<Student> list = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            int i = 1;
+            if (hasCursor && sort != SortField.ID) ps.setInt(i++, afterId);
+            if (hasFilter) {
+                String pattern = KeysetPage.contains(filter.trim());
+                ps.setString(i++, pattern);
+                ps.setString(i++, pattern);
+            }
+            if (hasCursor) ps.setInt(i++, afterId);
+            ps.setInt(i, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Student s = new Student();
+                    s.setStudentId(rs.getInt("student_id"));
+                    s.setName(rs.getString("name"));
+                    s.setEmail(rs.getString("email"));
+                    s.setPassword(rs.getString("password"));
+                    Timestamp ts = rs.getTimestamp("date_joined");
+                    if (ts != null) s.setDateJoined(ts.toLocalDateTime());
+                    Timestamp login = rs.getTimestamp("last_login");
+                    if (login != null) s.setLastLogin(login.toLocalDateTime());
+                    list.add(s);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    @Override
+    public boolean updateLastLogin(int studentId) {
+        String sql = "UPDATE students SET last_login=? WHERE student_id=?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setInt(2, studentId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     @Override
     public boolean create(Student student) {
         String sql = "INSERT INTO students(name, email, password) VALUES(?,?,?)";
@@ -84,6 +193,71 @@ public class StudentDAOImpl implements StudentDAO {
         }
         return false;
     }
+
+
+    @Override
+    public int createAll(List<Student> students) {
+        if (students.isEmpty()) return 0;
+        String sql = "INSERT INTO students(name, email, password) VALUES(?,?,?)";
+        int inserted = 0;
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < students.size(); start += DBConfig.BATCH_SIZE) {
+                    List<Student> batch = students.subList(start, Math.min(start + DBConfig.BATCH_SIZE, students.size()));
+                    try {
+                        for (Student student : batch) {
+                            ps.setString(1, student.getName());
+                            ps.setString(2, student.getEmail());
+                            ps.setString(3, student.getPassword());
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                        try (ResultSet rs = ps.getGeneratedKeys()) {
+                            for (int j = 0; j < batch.size() && rs.next(); j++) {
+                                batch.get(j).setStudentId(rs.getInt(1));
+                            }
+                        }
+                        conn.commit();
+                        inserted += batch.size();
+                    } catch (SQLException e) {
+                        // Usually an email registered since the roster was checked; retry the
+                        // batch row by row so only the offending rows are lost
+                        conn.rollback();
+                        ps.clearBatch();
+                        inserted += insertEach(conn, ps, batch);
+                    }
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return inserted;
+    }
+
+    private int insertEach(Connection conn, PreparedStatement ps, List<Student> batch) throws SQLException {
+        int inserted = 0;
+        for (Student student : batch) {
+            student.setStudentId(0);
+            try {
+                ps.setString(1, student.getName());
+                ps.setString(2, student.getEmail());
+                ps.setString(3, student.getPassword());
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) student.setStudentId(rs.getInt(1));
+                }
+                conn.commit();
+                inserted++;
+            } catch (SQLException e) {
+                conn.rollback();
+                System.err.println("Could not create student " + student.getEmail() + ": " + e.getMessage());
+            }
+        }
+        return inserted;
+    }
 }
 
 
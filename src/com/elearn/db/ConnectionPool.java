@@ -0,0 +1,382 @@
+package com.elearn.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded JDBC connection pool.
+ *
+ * Connections handed out are proxies whose close() returns the physical connection
+ * to the pool. Idle connections are validated on borrow, evicted after the idle timeout
+ * (down to the minimum idle count) and retired once they exceed their max lifetime.
+ * The database password is resolved once and reused for every later connection.
+ */
+public class ConnectionPool {
+    // Connections returned within this window are trusted without a validation round trip
+    private static final long VALIDATION_BYPASS_MS = 500;
+
+    private final String url;
+    private final String user;
+    private final String[] candidatePasswords;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final int validationTimeoutSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private int total;
+    private int active;
+    private int waiting;
+    private boolean closed;
+
+    private volatile String resolvedPassword;
+    private final Object credentialLock = new Object();
+
+    private final LatencyHistogram borrowLatency = new LatencyHistogram();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsDiscarded = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(String url, String user, String[] candidatePasswords, int maxSize, int minIdle,
+                          long borrowTimeoutMs, long idleTimeoutMs, long maxLifetimeMs,
+                          int validationTimeoutSeconds, long housekeepingIntervalMs) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be at least 1");
+        this.url = url;
+        this.user = user;
+        this.candidatePasswords = candidatePasswords.clone();
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "elearn-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::evictIdle, housekeepingIntervalMs, housekeepingIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the borrow timeout when the pool is exhausted.
+     * Closing the returned connection hands it back to the pool.
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+        try {
+            while (true) {
+                PooledConnection candidate = null;
+                boolean create = false;
+
+                lock.lock();
+                try {
+                    while (true) {
+                        if (closed) throw new SQLException("Connection pool is closed");
+                        candidate = idle.pollFirst();
+                        if (candidate != null) break;
+                        if (total < maxSize) {
+                            total++;
+                            create = true;
+                            break;
+                        }
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            borrowTimeouts.incrementAndGet();
+                            throw new SQLTimeoutException("Timed out after " + borrowTimeoutMs
+                                    + " ms waiting for a database connection (pool size " + maxSize + ")");
+                        }
+                        waiting++;
+                        try {
+                            available.awaitNanos(remaining);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new SQLException("Interrupted while waiting for a database connection", e);
+                        } finally {
+                            waiting--;
+                        }
+                    }
+                    active++;
+                } finally {
+                    lock.unlock();
+                }
+
+                if (create) {
+                    try {
+                        return new PooledConnection(openPhysical()).lease();
+                    } catch (SQLException | RuntimeException e) {
+                        lock.lock();
+                        try {
+                            total--;
+                            active--;
+                            available.signal();
+                        } finally {
+                            lock.unlock();
+                        }
+                        throw e;
+                    }
+                }
+
+                if (!candidate.isExpired(System.currentTimeMillis()) && candidate.validate()) {
+                    return candidate.lease();
+                }
+                // Stale connection: drop it and try again with the remaining budget
+                lock.lock();
+                try {
+                    active--;
+                    total--;
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+                candidate.closePhysical();
+            }
+        } finally {
+            borrowLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        boolean keep = pc.reset() && !pc.isExpired(System.currentTimeMillis());
+        lock.lock();
+        try {
+            active--;
+            if (keep && !closed) {
+                pc.lastReturned = System.currentTimeMillis();
+                idle.addFirst(pc);
+            } else {
+                total--;
+                keep = false;
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (!keep) pc.closePhysical();
+    }
+
+    private Connection openPhysical() throws SQLException {
+        String password = resolvedPassword;
+        if (password != null) {
+            return DriverManager.getConnection(url, user, password);
+        }
+        synchronized (credentialLock) {
+            if (resolvedPassword != null) {
+                return DriverManager.getConnection(url, user, resolvedPassword);
+            }
+            SQLException first = null;
+            for (String candidate : candidatePasswords) {
+                try {
+                    Connection conn = DriverManager.getConnection(url, user, candidate);
+                    resolvedPassword = candidate;
+                    return conn;
+                } catch (SQLException e) {
+                    if (first == null) first = e;
+                }
+            }
+            throw first != null ? first : new SQLException("No database credentials configured");
+        }
+    }
+
+    private void evictIdle() {
+        List<PooledConnection> retired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            // Oldest idle connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledConnection pc = it.next();
+                boolean idleTooLong = now - pc.lastReturned > idleTimeoutMs && total > minIdle;
+                if (idleTooLong || pc.isExpired(now)) {
+                    it.remove();
+                    total--;
+                    retired.add(pc);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : retired) pc.closePhysical();
+    }
+
+    /**
+     * Close every idle connection and refuse further borrows. Leased connections are
+     * closed as they are returned.
+     */
+    public void shutdown() {
+        List<PooledConnection> retired;
+        lock.lock();
+        try {
+            closed = true;
+            retired = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        for (PooledConnection pc : retired) pc.closePhysical();
+    }
+
+    public PoolStats getStats() {
+        lock.lock();
+        try {
+            return new PoolStats(maxSize, total, active, idle.size(), waiting,
+                    connectionsCreated.get(), connectionsDiscarded.get(), borrowTimeouts.get(),
+                    borrowLatency.snapshot());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class PooledConnection implements InvocationHandler {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastReturned = createdAt;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            connectionsCreated.incrementAndGet();
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Lease(this));
+        }
+
+        boolean isExpired(long now) {
+            return maxLifetimeMs > 0 && now - createdAt > maxLifetimeMs;
+        }
+
+        boolean validate() {
+            if (System.currentTimeMillis() - lastReturned < VALIDATION_BYPASS_MS) return true;
+            try {
+                return physical.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /** Undo per-lease state so the next borrower sees a clean auto-commit connection. */
+        boolean reset() {
+            try {
+                if (physical.isClosed()) return false;
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) physical.setReadOnly(false);
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            connectionsDiscarded.incrementAndGet();
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+                // Already broken; nothing more to release
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /** One borrower's view of a pooled connection; becomes unusable once closed. */
+    private final class Lease implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (returned ? ", returned]" : "]");
+                default:
+                    if (returned) throw new SQLException("Connection has already been returned to the pool");
+                    return pooled.invoke(proxy, method, args);
+            }
+        }
+    }
+
+    /** Fixed-bucket borrow latency histogram; bucket upper bounds are in microseconds. */
+    static final class LatencyHistogram {
+        static final long[] BOUNDS_MICROS = {100, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000, Long.MAX_VALUE};
+        private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MICROS.length);
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            long micros = nanos / 1_000;
+            for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+                if (micros < BOUNDS_MICROS[i]) {
+                    counts.incrementAndGet(i);
+                    break;
+                }
+            }
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        long[] snapshot() {
+            long[] out = new long[BOUNDS_MICROS.length + 2];
+            for (int i = 0; i < BOUNDS_MICROS.length; i++) out[i] = counts.get(i);
+            out[BOUNDS_MICROS.length] = totalNanos.get();
+            out[BOUNDS_MICROS.length + 1] = maxNanos.get();
+            return out;
+        }
+    }
+}
@@ -1,55 +1,78 @@
-package com.elearn.db;
-
-import com.elearn.config.DBConfig;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-
-public final class DBConnection {
-    private static volatile boolean driverLoaded = false;
-
-    private DBConnection() {}
-
-    private static void ensureDriverLoaded() {
-        if (driverLoaded) return;
-        synchronized (DBConnection.class) {
-            if (driverLoaded) return;
-            try {
-                Class.forName("com.mysql.cj.jdbc.Driver");
-                driverLoaded = true;
-            } catch (ClassNotFoundException e) {
-                // Fallback for older artifact names
-                try {
-                    Class.forName("com.mysql.jdbc.Driver");
-                    driverLoaded = true;
-                } catch (ClassNotFoundException ex) {
-                    // leave as false; connection attempt will throw a clear error
-                }
-            }
-        }
-    }
-
-    public static Connection getConnection() throws SQLException {
-        ensureDriverLoaded();
-        
-        // Try the default password first
-        try {
-            return DriverManager.getConnection(DBConfig.JDBC_URL, DBConfig.JDBC_USER, DBConfig.JDBC_PASSWORD);
-        } catch (SQLException e) {
-            // If default fails, try other common passwords
-            for (String password : DBConfig.POSSIBLE_PASSWORDS) {
-                if (password.equals(DBConfig.JDBC_PASSWORD)) continue; // Skip the one we already tried
-                try {
-                    return DriverManager.getConnection(DBConfig.JDBC_URL, DBConfig.JDBC_USER, password);
-                } catch (SQLException ignored) {
-                    // Continue to next password
-                }
-            }
-            // If all passwords fail, throw the original exception
-            throw e;
-        }
-    }
-}
-
-
+package com.elearn.db;
+
+import com.elearn.config.DBConfig;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public final class DBConnection {
+    private static volatile boolean driverLoaded = false;
+    private static volatile ConnectionPool pool;
+
+    private DBConnection() {}
+
+    private static void ensureDriverLoaded() {
+        if (driverLoaded) return;
+        synchronized (DBConnection.class) {
+            if (driverLoaded) return;
+            try {
+                Class.forName("com.mysql.cj.jdbc.Driver");
+                driverLoaded = true;
+            } catch (ClassNotFoundException e) {
+                // Fallback for older artifact names
+                try {
+                    Class.forName("com.mysql.jdbc.Driver");
+                    driverLoaded = true;
+                } catch (ClassNotFoundException ex) {
+                    // leave as false; connection attempt will throw a clear error
+                }
+            }
+        }
+    }
+
+    private static ConnectionPool pool() {
+        ConnectionPool p = pool;
+        if (p != null) return p;
+        synchronized (DBConnection.class) {
+            if (pool == null) {
+                // Default password first, then the other common ones; the pool caches whichever works
+                Set<String> passwords = new LinkedHashSet<>();
+                passwords.add(DBConfig.JDBC_PASSWORD);
+                for (String password : DBConfig.POSSIBLE_PASSWORDS) passwords.add(password);
+
+                pool = new ConnectionPool(DBConfig.JDBC_URL, DBConfig.JDBC_USER, passwords.toArray(new String[0]),
+                        DBConfig.POOL_MAX_SIZE, DBConfig.POOL_MIN_IDLE, DBConfig.POOL_BORROW_TIMEOUT_MS,
+                        DBConfig.POOL_IDLE_TIMEOUT_MS, DBConfig.POOL_MAX_LIFETIME_MS,
+                        DBConfig.POOL_VALIDATION_TIMEOUT_SECONDS, DBConfig.POOL_HOUSEKEEPING_INTERVAL_MS);
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Borrow a pooled connection. Callers keep using try-with-resources; close() returns
+     * the connection to the pool instead of tearing down the socket.
+     */
+    public static Connection getConnection() throws SQLException {
+        ensureDriverLoaded();
+        return pool().getConnection();
+    }
+
+    public static PoolStats getPoolStats() {
+        return pool().getStats();
+    }
+
+    /**
+     * Close idle connections and stop the pool; a later getConnection() starts a fresh one.
+     */
+    public static void shutdown() {
+        synchronized (DBConnection.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.elearn.db;
+
+/**
+ * Point-in-time snapshot of connection pool usage, used to size the pool per deployment.
+ */
+public class PoolStats {
+    private final int maxSize;
+    private final int total;
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long created;
+    private final long discarded;
+    private final long timeouts;
+    private final long[] latencyBuckets;
+    private final long borrowCount;
+    private final long totalBorrowNanos;
+    private final long maxBorrowNanos;
+
+    PoolStats(int maxSize, int total, int active, int idle, int waiting,
+              long created, long discarded, long timeouts, long[] histogram) {
+        this.maxSize = maxSize;
+        this.total = total;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.created = created;
+        this.discarded = discarded;
+        this.timeouts = timeouts;
+
+        int buckets = ConnectionPool.LatencyHistogram.BOUNDS_MICROS.length;
+        this.latencyBuckets = new long[buckets];
+        long count = 0;
+        for (int i = 0; i < buckets; i++) {
+            latencyBuckets[i] = histogram[i];
+            count += histogram[i];
+        }
+        this.borrowCount = count;
+        this.totalBorrowNanos = histogram[buckets];
+        this.maxBorrowNanos = histogram[buckets + 1];
+    }
+
+    public int getMaxSize() { return maxSize; }
+    public int getTotal() { return total; }
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getWaiting() { return waiting; }
+    public long getConnectionsCreated() { return created; }
+    public long getConnectionsDiscarded() { return discarded; }
+    public long getBorrowTimeouts() { return timeouts; }
+    public long getBorrowCount() { return borrowCount; }
+
+    public double getAverageBorrowMillis() {
+        return borrowCount == 0 ? 0.0 : totalBorrowNanos / 1_000_000.0 / borrowCount;
+    }
+
+    public double getMaxBorrowMillis() { return maxBorrowNanos / 1_000_000.0; }
+
+    /** Bucket upper bounds in microseconds; the last bucket is unbounded. */
+    public long[] getLatencyBucketBoundsMicros() { return ConnectionPool.LatencyHistogram.BOUNDS_MICROS.clone(); }
+
+    /** Borrow counts per latency bucket, aligned with {@link #getLatencyBucketBoundsMicros()}. */
+    public long[] getLatencyBucketCounts() { return latencyBuckets.clone(); }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Pool[total=").append(total).append('/').append(maxSize)
+          .append(", active=").append(active)
+          .append(", idle=").append(idle)
+          .append(", waiting=").append(waiting)
+          .append(", created=").append(created)
+          .append(", discarded=").append(discarded)
+          .append(", timeouts=").append(timeouts)
+          .append(", borrows=").append(borrowCount)
+          .append(String.format(", avgBorrow=%.3fms, maxBorrow=%.3fms", getAverageBorrowMillis(), getMaxBorrowMillis()))
+          .append(", histogram={");
+        long[] bounds = ConnectionPool.LatencyHistogram.BOUNDS_MICROS;
+        for (int i = 0; i < bounds.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(bounds[i] == Long.MAX_VALUE ? ">=1s" : "<" + formatMicros(bounds[i])).append('=').append(latencyBuckets[i]);
+        }
+        return sb.append("}]").toString();
+    }
+
+    private static String formatMicros(long micros) {
+        if (micros >= 1_000_000) return (micros / 1_000_000) + "s";
+        if (micros >= 1_000) return (micros / 1_000) + "ms";
+        return micros + "us";
+    }
+}
@@ -0,0 +1,80 @@
+package com.elearn.model;
+
+import java.util.List;
+
+/**
+ * Compiled answer key for one course's quiz: the correct option of each question as an index
+ * (0-3 for A-D), in the order the questions are presented. Immutable, so one instance can grade
+ * any number of submissions concurrently, and grading allocates nothing.
+ */
+public final class AnswerKey {
+    private static final byte NO_ANSWER = -1;
+
+    private final int courseId;
+    private final int[] quizIds;
+    private final byte[] correct;
+
+    private AnswerKey(int courseId, int[] quizIds, byte[] correct) {
+        this.courseId = courseId;
+        this.quizIds = quizIds;
+        this.correct = correct;
+    }
+
+    /** Build the key from the course's questions, in the same order. */
+    public static AnswerKey compile(int courseId, List<QuizQuestion> questions) {
+        int[] ids = new int[questions.size()];
+        byte[] correct = new byte[questions.size()];
+        for (int i = 0; i < ids.length; i++) {
+            QuizQuestion q = questions.get(i);
+            ids[i] = q.getQuizId();
+            String option = q.getCorrectOption() != null ? q.getCorrectOption().trim() : "";
+            // A question with an unreadable key can never be answered correctly, as before
+            correct[i] = option.length() == 1 ? (byte) optionIndex(option.charAt(0)) : NO_ANSWER;
+        }
+        return new AnswerKey(courseId, ids, correct);
+    }
+
+    /** 0-3 for A-D in either case, -1 for anything else. */
+    public static int optionIndex(char c) {
+        if (c >= 'A' && c <= 'D') return c - 'A';
+        if (c >= 'a' && c <= 'd') return c - 'a';
+        return NO_ANSWER;
+    }
+
+    public int getCourseId() { return courseId; }
+
+    /** Number of questions. */
+    public int size() { return correct.length; }
+
+    public boolean containsQuestion(int quizId) {
+        for (int id : quizIds) {
+            if (id == quizId) return true;
+        }
+        return false;
+    }
+
+    /** Number of answers that match the key; answers beyond the last question are ignored. */
+    public int countCorrect(List<Character> answers) {
+        int n = Math.min(correct.length, answers.size());
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Character answer = answers.get(i);
+            if (answer != null && correct[i] != NO_ANSWER && optionIndex(answer) == correct[i]) count++;
+        }
+        return count;
+    }
+
+    public int countCorrect(char[] answers) {
+        int n = Math.min(correct.length, answers.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (correct[i] != NO_ANSWER && optionIndex(answers[i]) == correct[i]) count++;
+        }
+        return count;
+    }
+
+    /** Percentage score for a number of correct answers, rounded; 0 for an empty quiz. */
+    public int score(int correctCount) {
+        return correct.length == 0 ? 0 : (int) Math.round((correctCount * 100.0) / correct.length);
+    }
+}
@@ -0,0 +1,53 @@
+package com.elearn.model;
+
+import java.time.LocalDateTime;
+
+/** A certificate rendering job, persisted so queued work survives restarts. */
+public class CertificateJob {
+    public static final String PENDING = "Pending";
+    public static final String RENDERING = "Rendering";
+    public static final String DONE = "Done";
+    public static final String FAILED = "Failed";
+
+    private int jobId;
+    private int studentId;
+    private int courseId;
+    private String status;
+    private int attempts;
+    private String filePath;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public int getJobId() { return jobId; }
+    public void setJobId(int jobId) { this.jobId = jobId; }
+
+    public int getStudentId() { return studentId; }
+    public void setStudentId(int studentId) { this.studentId = studentId; }
+
+    public int getCourseId() { return courseId; }
+    public void setCourseId(int courseId) { this.courseId = courseId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public String getFilePath() { return filePath; }
+    public void setFilePath(String filePath) { this.filePath = filePath; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    /** Still queued or rendering. */
+    public boolean isActive() {
+        return PENDING.equals(status) || RENDERING.equals(status);
+    }
+}
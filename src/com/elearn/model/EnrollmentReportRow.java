@@ -0,0 +1,61 @@
+package com.elearn.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the enrollment report, already joined and aggregated by the database.
+ */
+public class EnrollmentReportRow {
+    private int enrollId;
+    private int studentId;
+    private String studentName;
+    private int courseId;
+    private String courseTitle;
+    private LocalDateTime enrollDate;
+    private int totalMaterials;
+    private int completedMaterials;
+    private Integer bestQuizScore; // null when the quiz has not been attempted
+    private int certificateCount;
+    private double completionPercentage; // Materials 70%, quiz 30%
+    private String status; // Completed / In Progress
+
+    public int getEnrollId() { return enrollId; }
+    public void setEnrollId(int enrollId) { this.enrollId = enrollId; }
+
+    public int getStudentId() { return studentId; }
+    public void setStudentId(int studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public int getCourseId() { return courseId; }
+    public void setCourseId(int courseId) { this.courseId = courseId; }
+
+    public String getCourseTitle() { return courseTitle; }
+    public void setCourseTitle(String courseTitle) { this.courseTitle = courseTitle; }
+
+    public LocalDateTime getEnrollDate() { return enrollDate; }
+    public void setEnrollDate(LocalDateTime enrollDate) { this.enrollDate = enrollDate; }
+
+    public int getTotalMaterials() { return totalMaterials; }
+    public void setTotalMaterials(int totalMaterials) { this.totalMaterials = totalMaterials; }
+
+    public int getCompletedMaterials() { return completedMaterials; }
+    public void setCompletedMaterials(int completedMaterials) { this.completedMaterials = completedMaterials; }
+
+    public Integer getBestQuizScore() { return bestQuizScore; }
+    public void setBestQuizScore(Integer bestQuizScore) { this.bestQuizScore = bestQuizScore; }
+
+    public int getCertificateCount() { return certificateCount; }
+    public void setCertificateCount(int certificateCount) { this.certificateCount = certificateCount; }
+
+    public double getCompletionPercentage() { return completionPercentage; }
+    public void setCompletionPercentage(double completionPercentage) { this.completionPercentage = completionPercentage; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public double getMaterialCompletionPercentage() {
+        return totalMaterials > 0 ? (completedMaterials * 100.0) / totalMaterials : 0.0;
+    }
+}
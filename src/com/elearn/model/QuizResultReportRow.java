@@ -0,0 +1,39 @@
+package com.elearn.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One quiz attempt with the student and course names resolved, for report exports.
+ */
+public class QuizResultReportRow {
+    private int resultId;
+    private int studentId;
+    private String studentName;
+    private int courseId;
+    private String courseTitle;
+    private int score;
+    private LocalDateTime attemptDate;
+
+    public int getResultId() { return resultId; }
+    public void setResultId(int resultId) { this.resultId = resultId; }
+
+    public int getStudentId() { return studentId; }
+    public void setStudentId(int studentId) { this.studentId = studentId; }
+
+    public String getStudentName() { return studentName; }
+    public void setStudentName(String studentName) { this.studentName = studentName; }
+
+    public int getCourseId() { return courseId; }
+    public void setCourseId(int courseId) { this.courseId = courseId; }
+
+    public String getCourseTitle() { return courseTitle; }
+    public void setCourseTitle(String courseTitle) { this.courseTitle = courseTitle; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public LocalDateTime getAttemptDate() { return attemptDate; }
+    public void setAttemptDate(LocalDateTime attemptDate) { this.attemptDate = attemptDate; }
+
+    public boolean isPassed() { return score >= 70; }
+}
@@ -3,12 +3,12 @@ package com.elearn.service;
 import com.elearn.dao.AdminDAO;
 import com.elearn.dao.StudentDAO;
 import com.elearn.dao.impl.AdminDAOImpl;
-import com.elearn.dao.impl.StudentDAOImpl;
+import com.elearn.dao.impl.CachingStudentDAO;
 import com.elearn.model.Admin;
 import com.elearn.model.Student;
 
 public class AuthService {
-    private final StudentDAO studentDAO = new StudentDAOImpl();
+    private final StudentDAO studentDAO = CachingStudentDAO.getInstance();
     private final AdminDAO adminDAO = new AdminDAOImpl();
 
     public Student loginStudent(String email, String password) {
@@ -20,7 +20,9 @@ public class AuthService {
         s.setName(name);
         s.setEmail(email);
         s.setPassword(password);
-        return studentDAO.create(s);
+        boolean ok = studentDAO.create(s);
+        if (ok) StudentSearchIndex.getInstance().onStudentRegistered(s);
+        return ok;
     }
 
     public Admin loginAdmin(String username, String password) {
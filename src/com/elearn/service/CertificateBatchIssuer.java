@@ -0,0 +1,225 @@
+package com.elearn.service;
+
+import com.elearn.config.DBConfig;
+import com.elearn.dao.CertificateDAO;
+import com.elearn.dao.CertificateJobDAO;
+import com.elearn.dao.CourseDAO;
+import com.elearn.dao.impl.CachingCourseDAO;
+import com.elearn.dao.impl.CertificateDAOImpl;
+import com.elearn.dao.impl.CertificateJobDAOImpl;
+import com.elearn.dao.impl.CoalescingCompletionDAO;
+import com.elearn.model.CertificateJob;
+import com.elearn.model.Course;
+import com.elearn.util.CertificateGenerator;
+import com.elearn.util.CertificatePdfWriter;
+import com.elearn.util.CertificateTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues and renders certificates for everyone who has completed a course.
+ *
+ * Eligible students (all materials completed and a passing quiz score) are found with one query;
+ * those without a certificate get one, and every eligible enrollment is marked Completed, in a
+ * single batched transaction, and then every eligible student's certificate is rendered on a
+ * ForkJoinPool, as PNG or PDF; a certificate whose name or title the PDF fonts cannot show is
+ * rendered as PNG instead. Each worker thread renders
+ * PNGs into its own reused image buffer, and at most maxInFlight certificates are queued or
+ * rendering at a time, so memory stays flat however large the course is. Finished files are
+ * recorded as Done render jobs in batches, which is what CertificateFrame downloads from.
+ */
+public class CertificateBatchIssuer {
+    /** PNG rasters, or vector PDFs that are far smaller and cheaper to produce. */
+    public enum Format { PNG, PDF }
+
+    /** Called from worker threads after each certificate. */
+    public interface ProgressListener {
+        void progress(int done, int total);
+    }
+
+    // Same bar as EnrollmentService.hasPassedQuiz
+    private static final int PASSING_SCORE = 60;
+    private static final int MAX_ERRORS = 100;
+
+    private final CertificateDAO certificateDAO = new CertificateDAOImpl();
+    private final CertificateJobDAO jobDAO = new CertificateJobDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
+    private final CertificateTemplate template;
+    private final int parallelism;
+    private final int maxInFlight;
+    private Format format = Format.PNG;
+    private ProgressListener progressListener;
+
+    public CertificateBatchIssuer() {
+        this(CertificateTemplate.DEFAULT, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CertificateBatchIssuer(CertificateTemplate template, int parallelism) {
+        this.template = template;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxInFlight = this.parallelism * 4;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /** Issue missing certificates for the course and (re)render all of them into outputDir. */
+    public Result issueForCourse(int courseId, String outputDir) {
+        long start = System.currentTimeMillis();
+        Result result = new Result(courseId);
+
+        // Pending completion marks and quiz results must be in the tables the query reads
+        CoalescingCompletionDAO.getInstance().flush();
+        QuizResultWriter.getInstance().flush(DBConfig.RESULT_QUEUE_SHUTDOWN_TIMEOUT_MS);
+
+        Map<Integer, String> eligible = certificateDAO.findEligibleStudents(courseId, PASSING_SCORE);
+        result.eligible = eligible.size();
+        Set<Integer> missing = new LinkedHashSet<>(eligible.keySet());
+        missing.removeAll(certificateDAO.findIssuedStudentIds(courseId));
+        // Eligible students' enrollments become Completed with their certificates, as in checkAndCompleteCourse
+        result.issued = certificateDAO.issueAll(courseId, missing, eligible.keySet());
+        if (result.issued == 0 && !missing.isEmpty()) {
+            // Issuing failed; only re-render certificates that exist
+            eligible.keySet().removeAll(missing);
+        }
+
+        Course course = courseDAO.findById(courseId);
+        String courseTitle = course != null ? course.getTitle() : "Course " + courseId;
+        File dir = new File(outputDir);
+        if (!dir.exists()) dir.mkdirs();
+
+        render(eligible, courseId, courseTitle, dir, result);
+        result.elapsedMillis = System.currentTimeMillis() - start;
+        return result;
+    }
+
+    private void render(Map<Integer, String> students, int courseId, String courseTitle, File dir, Result result) {
+        String date = LocalDate.now().toString();
+        int total = students.size();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        // One image buffer per worker thread, reused for every certificate it renders
+        ThreadLocal<BufferedImage> buffers = ThreadLocal.withInitial(() ->
+                new BufferedImage(template.getWidth(), template.getHeight(), BufferedImage.TYPE_INT_RGB));
+        LinkedBlockingQueue<CertificateJob> finished = new LinkedBlockingQueue<>();
+        AtomicInteger done = new AtomicInteger();
+
+        try {
+            for (Map.Entry<Integer, String> student : students.entrySet()) {
+                inFlight.acquire();
+                int studentId = student.getKey();
+                String studentName = student.getValue() != null ? student.getValue() : "Student " + studentId;
+                pool.execute(() -> {
+                    try {
+                        // The standard PDF fonts only cover Latin-1; anything else would print as '?'
+                        boolean pdf = format == Format.PDF;
+                        if (pdf && !(CertificatePdfWriter.canEncode(studentName) && CertificatePdfWriter.canEncode(courseTitle))) {
+                            pdf = false;
+                            result.pngFallbacks.incrementAndGet();
+                        }
+                        // The id keeps students who share a name from overwriting each other
+                        String extension = pdf ? "pdf" : "png";
+                        File out = new File(dir, studentId + "_" + CertificateGenerator.fileName(studentName, courseTitle, extension));
+                        if (pdf) {
+                            try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(out))) {
+                                CertificatePdfWriter.write(template, studentName, courseTitle, date, stream);
+                            }
+                        } else {
+                            BufferedImage image = CertificateGenerator.render(template, studentName, courseTitle, date, buffers.get());
+                            ImageIO.write(image, "png", out);
+                        }
+                        CertificateJob job = new CertificateJob();
+                        job.setStudentId(studentId);
+                        job.setCourseId(courseId);
+                        job.setFilePath(out.getAbsolutePath());
+                        finished.add(job);
+                        result.rendered.incrementAndGet();
+                    } catch (Exception e) {
+                        result.fail(studentId, e);
+                    } finally {
+                        inFlight.release();
+                        int n = done.incrementAndGet();
+                        if (progressListener != null) progressListener.progress(n, total);
+                    }
+                });
+                if (finished.size() >= DBConfig.BATCH_SIZE) record(finished);
+            }
+            pool.shutdown();
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                if (finished.size() >= DBConfig.BATCH_SIZE) record(finished);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+        record(finished);
+    }
+
+    private void record(LinkedBlockingQueue<CertificateJob> finished) {
+        List<CertificateJob> batch = new ArrayList<>(DBConfig.BATCH_SIZE);
+        while (finished.drainTo(batch, DBConfig.BATCH_SIZE) > 0) {
+            if (!jobDAO.recordDone(batch)) {
+                System.err.println("Certificate batch: could not record " + batch.size() + " rendered certificate(s)");
+            }
+            batch.clear();
+        }
+    }
+
+    public static class Result {
+        private final int courseId;
+        private int eligible;
+        private int issued;
+        private final AtomicInteger rendered = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger pngFallbacks = new AtomicInteger();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private long elapsedMillis;
+
+        Result(int courseId) {
+            this.courseId = courseId;
+        }
+
+        void fail(int studentId, Exception e) {
+            failed.incrementAndGet();
+            if (errors.size() < MAX_ERRORS) errors.add("Student " + studentId + ": " + e.getMessage());
+        }
+
+        public int getCourseId() { return courseId; }
+        public int getEligible() { return eligible; }
+        /** Certificates newly issued by this run; the rest were already held. */
+        public int getIssued() { return issued; }
+        public int getRendered() { return rendered.get(); }
+        public int getFailed() { return failed.get(); }
+        /** PDF certificates rendered as PNG because their text is outside the PDF fonts' Latin-1. */
+        public int getPngFallbacks() { return pngFallbacks.get(); }
+        /** The first MAX_ERRORS render failures. */
+        public List<String> getErrors() { return new ArrayList<>(errors); }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getCertificatesPerSecond() {
+            return elapsedMillis > 0 ? getRendered() * 1000.0 / elapsedMillis : getRendered();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.elearn.service;
+
+import com.elearn.dao.CertificateJobDAO;
+import com.elearn.dao.CourseDAO;
+import com.elearn.dao.StudentDAO;
+import com.elearn.dao.impl.CachingCourseDAO;
+import com.elearn.dao.impl.CachingStudentDAO;
+import com.elearn.dao.impl.CertificateJobDAOImpl;
+import com.elearn.model.CertificateJob;
+import com.elearn.model.Course;
+import com.elearn.model.Student;
+import com.elearn.util.CertificateGenerator;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders certificate images in the background.
+ *
+ * Issuing a certificate only records a job row in certificate_jobs and hands its id to a fixed
+ * pool of render threads (one per core), so the quiz submission that earned the certificate does
+ * not wait for image rendering. A worker claims the job (Pending -> Rendering), renders it, and
+ * marks it Done with the file path. A failed render goes back to Pending and is retried after a
+ * growing delay, up to MAX_ATTEMPTS, then is left Failed. The UI polls getLatestJobs() for status.
+ *
+ * On start and every RECOVER_INTERVAL_MS after, jobs left Rendering by a process that died are
+ * reset to Pending and every Pending job is resubmitted, so nothing waits for the next restart.
+ * A job whose row cannot be read after claiming, or whose result cannot be recorded, goes back
+ * to Pending like a failed render.
+ */
+public class CertificateRenderService {
+    public static final String OUTPUT_DIR = "certificates";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 2_000L;
+    private static final long STALE_AFTER_MS = 10 * 60_000L;
+    private static final long RECOVER_INTERVAL_MS = 60_000L;
+
+    private static volatile CertificateRenderService shared;
+
+    private final CertificateJobDAO jobDAO;
+    private final StudentDAO studentDAO;
+    private final CourseDAO courseDAO;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retries;
+    private final AtomicInteger rendered = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public CertificateRenderService(CertificateJobDAO jobDAO, StudentDAO studentDAO, CourseDAO courseDAO, int threads) {
+        this.jobDAO = jobDAO;
+        this.studentDAO = studentDAO;
+        this.courseDAO = courseDAO;
+        AtomicInteger n = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "elearn-cert-render-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.retries = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "elearn-cert-retry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Process-wide service; created and recovered on first use. */
+    public static CertificateRenderService getInstance() {
+        if (shared == null) {
+            synchronized (CertificateRenderService.class) {
+                if (shared == null) {
+                    CertificateRenderService service = new CertificateRenderService(new CertificateJobDAOImpl(),
+                            CachingStudentDAO.getInstance(), CachingCourseDAO.getInstance(),
+                            Runtime.getRuntime().availableProcessors());
+                    service.retries.scheduleWithFixedDelay(service::recover, 0, RECOVER_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    shared = service;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Record a render job for the certificate and queue it.
+     * @return the new job, or null if it could not be recorded
+     */
+    public CertificateJob enqueue(int studentId, int courseId) {
+        CertificateJob job = new CertificateJob();
+        job.setStudentId(studentId);
+        job.setCourseId(courseId);
+        if (!jobDAO.create(job)) return null;
+        submit(job.getJobId());
+        return job;
+    }
+
+    public CertificateJob getJob(int jobId) {
+        return jobDAO.findById(jobId);
+    }
+
+    /** The most recent job per course for the student, keyed by course id. */
+    public Map<Integer, CertificateJob> getLatestJobs(int studentId) {
+        Map<Integer, CertificateJob> jobs = jobDAO.findLatestByStudentId(studentId);
+        return jobs != null ? jobs : Collections.emptyMap();
+    }
+
+    public int getRendered() { return rendered.get(); }
+    public int getFailed() { return failed.get(); }
+
+    /** Reset jobs abandoned mid-render and resubmit everything pending. */
+    public void recover() {
+        try {
+            int reset = jobDAO.resetStale(STALE_AFTER_MS);
+            if (reset > 0) System.out.println("Certificate render: reset " + reset + " stale job(s)");
+            // Already-queued jobs are resubmitted too; claim() lets only one run
+            for (CertificateJob job : jobDAO.findPending()) submit(job.getJobId());
+        } catch (RuntimeException e) {
+            // Keep the periodic sweep scheduled
+            e.printStackTrace();
+        }
+    }
+
+    private void submit(int jobId) {
+        try {
+            workers.execute(() -> render(jobId));
+        } catch (RejectedExecutionException e) {
+            // Left Pending in the table; picked up by the next recover()
+            e.printStackTrace();
+        }
+    }
+
+    private void render(int jobId) {
+        // Another worker (or process) may already hold it
+        if (!jobDAO.claim(jobId)) return;
+        CertificateJob job = jobDAO.findById(jobId);
+        if (job == null) {
+            // Claimed but unreadable: release it rather than leave it Rendering
+            jobDAO.markFailed(jobId, "Could not read the job after claiming it", true);
+            retries.schedule(() -> submit(jobId), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        File file;
+        try {
+            Student student = studentDAO.findById(job.getStudentId());
+            Course course = courseDAO.findById(job.getCourseId());
+            String studentName = student != null ? student.getName() : "Student " + job.getStudentId();
+            String courseTitle = course != null ? course.getTitle() : "Course " + job.getCourseId();
+
+            file = CertificateGenerator.generatePng(studentName, courseTitle, OUTPUT_DIR);
+        } catch (Exception e) {
+            boolean retry = job.getAttempts() < MAX_ATTEMPTS;
+            jobDAO.markFailed(jobId, e.getClass().getSimpleName() + ": " + e.getMessage(), retry);
+            if (retry) {
+                retries.schedule(() -> submit(jobId), RETRY_DELAY_MS * job.getAttempts(), TimeUnit.MILLISECONDS);
+            } else {
+                failed.incrementAndGet();
+                System.err.println("Certificate render: job " + jobId + " failed after " + MAX_ATTEMPTS + " attempts: " + e.getMessage());
+            }
+            return;
+        }
+        if (!jobDAO.markDone(jobId, file.getAbsolutePath())) {
+            // The render worked; always go back to Pending rather than spend an attempt on it
+            jobDAO.markFailed(jobId, "Could not record " + file.getAbsolutePath(), true);
+            retries.schedule(() -> submit(jobId), RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+            return;
+        }
+        rendered.incrementAndGet();
+    }
+}
@@ -0,0 +1,71 @@
+package com.elearn.service;
+
+import com.elearn.dao.EnrollmentDAO;
+import com.elearn.dao.EnrollmentDAO.Outcome;
+import com.elearn.dao.impl.EnrollmentDAOImpl;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Enrolls or unenrolls a whole cohort of students in one or more courses.
+ *
+ * Each course is a single EnrollmentDAO.enrollAll/unenrollAll call: one transaction of batched
+ * statements instead of an isEnrolled check and an insert per student. Re-running an enrollment
+ * is harmless; students already in the course are reported as ALREADY_ENROLLED.
+ */
+public class CohortEnrollmentService {
+    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
+
+    public CohortResult enrollCohort(Collection<Integer> studentIds, Collection<Integer> courseIds) {
+        CohortResult result = new CohortResult();
+        StudentSearchIndex index = StudentSearchIndex.getInstance();
+        for (Integer courseId : new LinkedHashSet<>(courseIds)) {
+            Map<Integer, Outcome> outcomes = enrollmentDAO.enrollAll(courseId, studentIds);
+            for (Map.Entry<Integer, Outcome> entry : outcomes.entrySet()) {
+                if (entry.getValue() == Outcome.ENROLLED) index.onEnrolled(entry.getKey());
+            }
+            result.add(courseId, outcomes);
+        }
+        return result;
+    }
+
+    public CohortResult unenrollCohort(Collection<Integer> studentIds, Collection<Integer> courseIds) {
+        CohortResult result = new CohortResult();
+        StudentSearchIndex index = StudentSearchIndex.getInstance();
+        for (Integer courseId : new LinkedHashSet<>(courseIds)) {
+            Map<Integer, Outcome> outcomes = enrollmentDAO.unenrollAll(courseId, studentIds);
+            for (Map.Entry<Integer, Outcome> entry : outcomes.entrySet()) {
+                if (entry.getValue() == Outcome.UNENROLLED) index.onUnenrolled(entry.getKey());
+            }
+            result.add(courseId, outcomes);
+        }
+        return result;
+    }
+
+    /** Outcome for every (course, student) pair, plus totals per outcome. */
+    public static class CohortResult {
+        private final Map<Integer, Map<Integer, Outcome>> byCourse = new LinkedHashMap<>();
+        private final Map<Outcome, Integer> totals = new EnumMap<>(Outcome.class);
+
+        void add(int courseId, Map<Integer, Outcome> outcomes) {
+            byCourse.put(courseId, outcomes);
+            for (Outcome outcome : outcomes.values()) totals.merge(outcome, 1, Integer::sum);
+        }
+
+        /** Outcomes keyed by course id, then student id. */
+        public Map<Integer, Map<Integer, Outcome>> getOutcomes() { return byCourse; }
+
+        public Map<Integer, Outcome> getOutcomes(int courseId) {
+            Map<Integer, Outcome> outcomes = byCourse.get(courseId);
+            return outcomes != null ? outcomes : new LinkedHashMap<>();
+        }
+
+        public int count(Outcome outcome) {
+            return totals.getOrDefault(outcome, 0);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.elearn.service;
+
+import com.elearn.dao.MaterialCompletionDAO;
+import com.elearn.dao.MaterialDAO;
+import com.elearn.dao.impl.BlobStoreMaterialDAO;
+import com.elearn.dao.impl.CoalescingCompletionDAO;
+import com.elearn.dao.impl.MaterialDAOImpl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index of which materials each student has completed.
+ *
+ * Each course's materials are numbered 0..n-1 in id order, and each (student, course) pair keeps
+ * a bitset of the completed numbers, so "has the student finished the course" is a popcount
+ * instead of one isCompleted query per material. Course layouts are loaded on first use and
+ * refreshed after a TTL, which also picks up materials added by other processes. A student's
+ * bitsets are loaded the first time that student is checked; at most MAX_STUDENTS students are
+ * kept, least recently used first out.
+ *
+ * Kept current by onCompleted(), onMaterialAdded() and onMaterialDeleted(); the shared instance
+ * listens to the shared completion and material DAOs, which call them after each successful write. A bitset built against an older layout of
+ * its course is reloaded rather than remapped. Loads run outside the lock, so one slow query does
+ * not hold up other students; their results are installed under it.
+ */
+public class CompletionIndex implements MaterialCompletionDAO.Listener, MaterialDAO.Listener {
+    private static final int MAX_STUDENTS = Integer.getInteger("elearn.completionIndex.maxStudents", 10_000);
+    private static final long LAYOUT_TTL_MS = Long.getLong("elearn.completionIndex.layoutTtlMs", 60_000L);
+    private static final CompletionIndex SHARED = createShared();
+
+    private final MaterialDAO materialDAO;
+    private final MaterialCompletionDAO completionDAO;
+    private final Map<Integer, Layout> layouts = new HashMap<>();
+    // Material id -> course id for every loaded layout, to route onCompleted()
+    private final Map<Integer, Integer> courseOfMaterial = new HashMap<>();
+    private final LinkedHashMap<Integer, Map<Integer, Bits>> students;
+    private long layoutVersion;
+    // Loads in flight per course (layouts) and per student (bitsets), with the notifications for
+    // that key seen meanwhile; a load that overlapped one is used once but not kept
+    private final Map<Integer, InFlight> courseLoads = new HashMap<>();
+    private final Map<Integer, InFlight> studentLoads = new HashMap<>();
+
+    public CompletionIndex(MaterialDAO materialDAO, MaterialCompletionDAO completionDAO, int maxStudents) {
+        this.materialDAO = materialDAO;
+        this.completionDAO = completionDAO;
+        this.students = new LinkedHashMap<Integer, Map<Integer, Bits>>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Map<Integer, Bits>> eldest) {
+                return size() > maxStudents;
+            }
+        };
+    }
+
+    public static CompletionIndex getInstance() {
+        return SHARED;
+    }
+
+    private static CompletionIndex createShared() {
+        CompletionIndex index = new CompletionIndex(new MaterialDAOImpl(), CoalescingCompletionDAO.getInstance(), MAX_STUDENTS);
+        CoalescingCompletionDAO.getInstance().addListener(index);
+        BlobStoreMaterialDAO.getInstance().addListener(index);
+        return index;
+    }
+
+    /** True if the student has completed every material of the course (or it has none). */
+    public boolean hasCompletedAll(int studentId, int courseId) {
+        Layout layout = layout(courseId);
+        Bits bits = bits(studentId, courseId, layout);
+        synchronized (this) {
+            return bits.count == layout.size();
+        }
+    }
+
+    public int completedCount(int studentId, int courseId) {
+        Bits bits = bits(studentId, courseId, layout(courseId));
+        synchronized (this) {
+            return bits.count;
+        }
+    }
+
+    public int materialCount(int courseId) {
+        return layout(courseId).size();
+    }
+
+    public boolean isCompleted(int studentId, int courseId, int materialId) {
+        Layout layout = layout(courseId);
+        int ordinal = layout.ordinal(materialId);
+        if (ordinal < 0) return false;
+        Bits bits = bits(studentId, courseId, layout);
+        synchronized (this) {
+            return bits.get(ordinal);
+        }
+    }
+
+    /** Record a completion; a no-op for students or courses not loaded yet. */
+    @Override
+    public synchronized void onCompleted(int studentId, int materialId) {
+        changed(studentLoads, studentId);
+        Map<Integer, Bits> courses = students.get(studentId);
+        Integer courseId = courseOfMaterial.get(materialId);
+        if (courses == null || courseId == null) return;
+        Layout layout = layouts.get(courseId);
+        Bits bits = courses.get(courseId);
+        if (layout != null && bits != null && bits.layoutVersion == layout.version) {
+            int ordinal = layout.ordinal(materialId);
+            if (ordinal >= 0) bits.set(ordinal);
+        }
+    }
+
+    /** The course gained a material; its layout and bitsets are rebuilt on next use. */
+    @Override
+    public synchronized void onMaterialAdded(int courseId) {
+        changed(courseLoads, courseId);
+        dropLayout(courseId);
+    }
+
+    @Override
+    public synchronized void onMaterialDeleted(int materialId) {
+        Integer courseId = courseOfMaterial.get(materialId);
+        if (courseId != null) {
+            changed(courseLoads, courseId);
+            dropLayout(courseId);
+        } else {
+            // Course unknown, so any layout being loaded may hold the material
+            for (InFlight load : courseLoads.values()) load.changes++;
+        }
+    }
+
+    public synchronized void invalidate() {
+        for (InFlight load : courseLoads.values()) load.changes++;
+        for (InFlight load : studentLoads.values()) load.changes++;
+        layouts.clear();
+        courseOfMaterial.clear();
+        students.clear();
+    }
+
+    private void dropLayout(int courseId) {
+        Layout old = layouts.remove(courseId);
+        if (old != null) {
+            for (int id : old.materialIds) courseOfMaterial.remove(id);
+        }
+    }
+
+    private Layout layout(int courseId) {
+        Layout current;
+        long changesBefore;
+        synchronized (this) {
+            current = layouts.get(courseId);
+            if (current != null && System.currentTimeMillis() - current.loadedAt < LAYOUT_TTL_MS) return current;
+            changesBefore = begin(courseLoads, courseId);
+        }
+        int[] materialIds;
+        try {
+            List<Integer> ids = materialDAO.findIdsByCourseId(courseId);
+            materialIds = new int[ids.size()];
+            for (int i = 0; i < materialIds.length; i++) materialIds[i] = ids.get(i);
+            Arrays.sort(materialIds);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                end(courseLoads, courseId, changesBefore);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            boolean clean = end(courseLoads, courseId, changesBefore);
+            if (!clean || layouts.get(courseId) != current) {
+                // Changed while loading: answer this call from the load, but leave the index to the next one
+                return new Layout(materialIds, ++layoutVersion);
+            }
+            Layout layout;
+            if (current != null && Arrays.equals(current.materialIds, materialIds)) {
+                // Unchanged: keep the version so existing bitsets stay valid
+                layout = new Layout(materialIds, current.version);
+            } else {
+                dropLayout(courseId);
+                layout = new Layout(materialIds, ++layoutVersion);
+            }
+            layouts.put(courseId, layout);
+            for (int id : materialIds) courseOfMaterial.put(id, courseId);
+            return layout;
+        }
+    }
+
+    private Bits bits(int studentId, int courseId, Layout layout) {
+        long changesBefore;
+        synchronized (this) {
+            Map<Integer, Bits> courses = students.get(studentId);
+            Bits bits = courses != null ? courses.get(courseId) : null;
+            if (bits != null && bits.layoutVersion == layout.version) return bits;
+            changesBefore = begin(studentLoads, studentId);
+        }
+        Bits bits = new Bits(layout.size(), layout.version);
+        try {
+            for (Integer materialId : completionDAO.findCompletedMaterialIds(studentId, courseId)) {
+                int ordinal = layout.ordinal(materialId);
+                if (ordinal >= 0) bits.set(ordinal);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                end(studentLoads, studentId, changesBefore);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            // A completion that arrived during the load may be missing from it, so only keep a clean load
+            boolean clean = end(studentLoads, studentId, changesBefore);
+            Layout installed = layouts.get(courseId);
+            if (clean && installed != null && installed.version == layout.version) {
+                students.computeIfAbsent(studentId, id -> new HashMap<>()).put(courseId, bits);
+            }
+            return bits;
+        }
+    }
+
+    /** Register a load of key; returns the change count to hand back to end(). */
+    private static long begin(Map<Integer, InFlight> loads, int key) {
+        InFlight load = loads.computeIfAbsent(key, k -> new InFlight());
+        load.count++;
+        return load.changes;
+    }
+
+    /** Unregister a load of key; true if no notification for the key arrived since begin(). */
+    private static boolean end(Map<Integer, InFlight> loads, int key, long changesBefore) {
+        InFlight load = loads.get(key);
+        boolean clean = load.changes == changesBefore;
+        if (--load.count == 0) loads.remove(key);
+        return clean;
+    }
+
+    private static void changed(Map<Integer, InFlight> loads, int key) {
+        InFlight load = loads.get(key);
+        if (load != null) load.changes++;
+    }
+
+    /** Loads of one key in flight, and the notifications for it seen while any was. */
+    private static final class InFlight {
+        int count;
+        long changes;
+    }
+
+    /** A course's material ids, sorted; a material's ordinal is its position. */
+    private static final class Layout {
+        final int[] materialIds;
+        final long version;
+        final long loadedAt = System.currentTimeMillis();
+
+        Layout(int[] materialIds, long version) {
+            this.materialIds = materialIds;
+            this.version = version;
+        }
+
+        int size() { return materialIds.length; }
+
+        int ordinal(int materialId) {
+            int i = Arrays.binarySearch(materialIds, materialId);
+            return i >= 0 ? i : -1;
+        }
+    }
+
+    /** Fixed-size bitset over a layout's ordinals with a running popcount. */
+    private static final class Bits {
+        final long[] words;
+        final long layoutVersion;
+        int count;
+
+        Bits(int size, long layoutVersion) {
+            this.words = new long[(size + 63) >>> 6];
+            this.layoutVersion = layoutVersion;
+        }
+
+        boolean get(int i) {
+            return (words[i >>> 6] & (1L << i)) != 0;
+        }
+
+        void set(int i) {
+            long mask = 1L << i;
+            if ((words[i >>> 6] & mask) == 0) {
+                words[i >>> 6] |= mask;
+                count++;
+            }
+        }
+    }
+}
@@ -2,14 +2,14 @@ package com.elearn.service;
 
 import com.elearn.dao.CourseDAO;
 import com.elearn.dao.EnrollmentDAO;
-import com.elearn.dao.impl.CourseDAOImpl;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.dao.impl.EnrollmentDAOImpl;
 import com.elearn.model.Course;
 
 import java.util.List;
 
 public class CourseService {
-    private final CourseDAO courseDAO = new CourseDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
 
     public List<Course> getAllCourses() { return courseDAO.findAll(); }
@@ -17,7 +17,9 @@ public class CourseService {
 
     public boolean enroll(int studentId, int courseId) {
         if (enrollmentDAO.isEnrolled(studentId, courseId)) return true;
-        return enrollmentDAO.enroll(studentId, courseId);
+        boolean ok = enrollmentDAO.enroll(studentId, courseId);
+        if (ok) StudentSearchIndex.getInstance().onEnrolled(studentId);
+        return ok;
     }
     
     public boolean isEnrolled(int studentId, int courseId) {
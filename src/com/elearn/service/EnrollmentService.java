@@ -3,10 +3,13 @@ package com.elearn.service;
 import com.elearn.dao.*;
 import com.elearn.dao.impl.*;
 import com.elearn.model.*;
-import com.elearn.util.CertificateGenerator;
 
-import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing course enrollments and completion tracking
@@ -14,11 +17,9 @@ import java.util.List;
 public class EnrollmentService {
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
     private final MaterialDAO materialDAO = new MaterialDAOImpl();
-    private final MaterialCompletionDAO completionDAO = new MaterialCompletionDAOImpl();
+    private final MaterialCompletionDAO completionDAO = CoalescingCompletionDAO.getInstance();
     private final QuizResultDAO quizResultDAO = new QuizResultDAOImpl();
     private final CertificateDAO certificateDAO = new CertificateDAOImpl();
-    private final StudentDAO studentDAO = new StudentDAOImpl();
-    private final CourseDAO courseDAO = new CourseDAOImpl();
 
     /**
      * Enroll a student in a course
@@ -27,25 +28,17 @@ public class EnrollmentService {
         if (enrollmentDAO.isEnrolled(studentId, courseId)) {
             return true; // Already enrolled
         }
-        return enrollmentDAO.enroll(studentId, courseId);
+        boolean ok = enrollmentDAO.enroll(studentId, courseId);
+        if (ok) StudentSearchIndex.getInstance().onEnrolled(studentId);
+        return ok;
     }
 
     /**
      * Check if student has completed all materials for a course
      */
     public boolean hasCompletedAllMaterials(int studentId, int courseId) {
-        List<Material> materials = materialDAO.findByCourseId(courseId);
-        
-        if (materials.isEmpty()) {
-            return true; // No materials to complete
-        }
-        
-        for (Material material : materials) {
-            if (!completionDAO.isCompleted(studentId, material.getMaterialId())) {
-                return false;
-            }
-        }
-        return true;
+        // Bitset popcount against the course's material count; true when there are no materials
+        return CompletionIndex.getInstance().hasCompletedAll(studentId, courseId);
     }
 
     /**
@@ -112,20 +105,9 @@ public class EnrollmentService {
         }
         
         // Issue new certificate
-        certificateDAO.issueCertificate(studentId, courseId);
-        
-        // Generate certificate image
-        try {
-            Student student = studentDAO.findById(studentId);
-            Course course = courseDAO.findById(courseId);
-            
-            String studentName = student != null ? student.getName() : "Student " + studentId;
-            String courseTitle = course != null ? course.getTitle() : "Course " + courseId;
-            
-            File certificateFile = CertificateGenerator.generatePng(studentName, courseTitle, "certificates");
-            System.out.println("Certificate generated: " + certificateFile.getAbsolutePath());
-        } catch (Exception e) {
-            System.err.println("Error generating certificate image: " + e.getMessage());
+        if (certificateDAO.issueCertificate(studentId, courseId)) {
+            // The image is rendered in the background; the caller does not wait for it
+            CertificateRenderService.getInstance().enqueue(studentId, courseId);
         }
     }
 
@@ -133,39 +115,75 @@ public class EnrollmentService {
      * Get enrollment progress for a student in a course
      */
     public EnrollmentProgress getProgress(int studentId, int courseId) {
+        return getProgressBatch(studentId, Collections.singletonList(courseId)).get(courseId);
+    }
+
+    /**
+     * Get progress for one student across many courses using grouped count queries,
+     * so the number of queries does not grow with the number of courses or materials.
+     * @return progress keyed by course id, in the order the ids were given
+     */
+    public Map<Integer, EnrollmentProgress> getProgressBatch(int studentId, Collection<Integer> courseIds) {
+        Map<Integer, EnrollmentProgress> result = new LinkedHashMap<>();
+        if (courseIds.isEmpty()) return result;
+
+        Collection<Integer> ids = new LinkedHashSet<>(courseIds);
+        Map<Integer, Integer> totals = materialDAO.countByCourseIds(ids);
+        Map<Integer, Integer> completed = completionDAO.countCompletedByCourse(studentId, ids);
+        Map<Integer, Integer> bestScores = quizResultDAO.findBestScoresByCourse(studentId, ids);
+
+        for (Integer courseId : ids) {
+            result.put(courseId, buildProgress(studentId, courseId,
+                    totals.getOrDefault(courseId, 0),
+                    completed.getOrDefault(courseId, 0),
+                    bestScores.get(courseId)));
+        }
+        return result;
+    }
+
+    /**
+     * Get progress for every student enrolled in a course in a constant number of queries.
+     * @return progress keyed by student id
+     */
+    public Map<Integer, EnrollmentProgress> getProgressForCourse(int courseId) {
+        Map<Integer, EnrollmentProgress> result = new LinkedHashMap<>();
+        List<Enrollment> enrollments = enrollmentDAO.findByCourseId(courseId);
+        if (enrollments.isEmpty()) return result;
+
+        int totalMaterials = materialDAO.countByCourseIds(Collections.singletonList(courseId)).getOrDefault(courseId, 0);
+        Map<Integer, Integer> completed = completionDAO.countCompletedByStudent(courseId);
+        Map<Integer, Integer> bestScores = quizResultDAO.findBestScoresByStudent(courseId);
+
+        for (Enrollment e : enrollments) {
+            int studentId = e.getStudentId();
+            result.put(studentId, buildProgress(studentId, courseId, totalMaterials,
+                    completed.getOrDefault(studentId, 0), bestScores.get(studentId)));
+        }
+        return result;
+    }
+
+    private EnrollmentProgress buildProgress(int studentId, int courseId, int totalMaterials,
+                                             int completedMaterials, Integer bestScore) {
         EnrollmentProgress progress = new EnrollmentProgress();
         progress.setStudentId(studentId);
         progress.setCourseId(courseId);
-        
-        // Get total and completed materials
-        List<Material> materials = materialDAO.findByCourseId(courseId);
-        int totalMaterials = materials.size();
-        int completedMaterials = 0;
-        
-        for (Material material : materials) {
-            if (completionDAO.isCompleted(studentId, material.getMaterialId())) {
-                completedMaterials++;
-            }
-        }
-        
         progress.setTotalMaterials(totalMaterials);
-        progress.setCompletedMaterials(completedMaterials);
-        
-        // Get quiz status
-        boolean quizPassed = hasPassedQuiz(studentId, courseId);
+        progress.setCompletedMaterials(Math.min(completedMaterials, totalMaterials));
+
+        // Quiz counts once any attempt reaches the pass mark
+        boolean quizPassed = bestScore != null && bestScore >= 60;
         progress.setQuizPassed(quizPassed);
-        
+
         // Calculate overall progress percentage
         int progressPercentage = 0;
         if (totalMaterials > 0) {
-            progressPercentage = (completedMaterials * 70) / totalMaterials; // 70% for materials
+            progressPercentage = (progress.getCompletedMaterials() * 70) / totalMaterials; // 70% for materials
         }
         if (quizPassed) {
             progressPercentage += 30; // 30% for quiz
         }
-        
+
         progress.setProgressPercentage(progressPercentage);
-        
         return progress;
     }
 
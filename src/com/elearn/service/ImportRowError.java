@@ -0,0 +1,23 @@
+package com.elearn.service;
+
+/**
+ * A row rejected by an importer. Row is the CSV line or the 1-based JSON array position; 0 for
+ * file-level errors.
+ */
+public class ImportRowError {
+    private final int row;
+    private final String message;
+
+    ImportRowError(int row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public int getRow() { return row; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return row > 0 ? "Row " + row + ": " + message : message;
+    }
+}
@@ -0,0 +1,219 @@
+package com.elearn.service;
+
+import com.elearn.dao.QuizDAO;
+import com.elearn.dao.impl.CachingQuizDAO;
+import com.elearn.model.QuizQuestion;
+import com.elearn.util.CsvReader;
+import com.elearn.util.SimpleJson;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports a question bank for one course from CSV or JSON.
+ *
+ * Every row is validated first; rows with problems are reported with their row number and
+ * skipped. The valid rows are then saved together through QuizDAO.createAll, a single batched
+ * transaction, so an import either saves all valid questions or none of them.
+ *
+ * CSV needs a header row naming the columns question, optionA, optionB, optionC, optionD and
+ * correct (case, spaces and underscores are ignored; correct_option and answer also work).
+ * JSON is an array of objects with the same field names.
+ */
+public class QuestionBankImporter {
+    private static final String[] FIELDS = {"question", "optiona", "optionb", "optionc", "optiond", "correct"};
+    private static final Map<String, String> ALIASES = new HashMap<>();
+    static {
+        ALIASES.put("correctoption", "correct");
+        ALIASES.put("answer", "correct");
+        ALIASES.put("a", "optiona");
+        ALIASES.put("b", "optionb");
+        ALIASES.put("c", "optionc");
+        ALIASES.put("d", "optiond");
+    }
+
+    private final QuizDAO quizDAO = CachingQuizDAO.getInstance();
+
+    /** Import a .json file, or CSV for any other extension. Files are read as UTF-8. */
+    public Result importFile(int courseId, File file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (file.getName().toLowerCase(Locale.ROOT).endsWith(".json")) {
+                return importJson(courseId, reader);
+            }
+            return importCsv(courseId, reader);
+        }
+    }
+
+    public Result importCsv(int courseId, Reader reader) throws IOException {
+        Result result = new Result();
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            result.addError(0, "The file is empty");
+            return result;
+        }
+        int[] columns = new int[FIELDS.length];
+        Arrays.fill(columns, -1);
+        for (int i = 0; i < header.size(); i++) {
+            int field = fieldIndex(header.get(i));
+            if (field >= 0 && columns[field] < 0) columns[field] = i;
+        }
+        List<String> missing = new ArrayList<>();
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (columns[f] < 0) missing.add(FIELDS[f]);
+        }
+        if (!missing.isEmpty()) {
+            result.addError(csv.getRecordLine(), "Header is missing column(s): " + String.join(", ", missing));
+            return result;
+        }
+
+        Validator validator = new Validator(courseId, result);
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            String[] values = new String[FIELDS.length];
+            for (int f = 0; f < FIELDS.length; f++) {
+                values[f] = columns[f] < record.size() ? record.get(columns[f]) : null;
+            }
+            validator.accept(csv.getRecordLine(), values);
+        }
+        return save(validator, result);
+    }
+
+    public Result importJson(int courseId, Reader reader) throws IOException {
+        Result result = new Result();
+        Object root = SimpleJson.parse(reader);
+        if (!(root instanceof List)) {
+            result.addError(0, "Expected a JSON array of questions");
+            return result;
+        }
+        Validator validator = new Validator(courseId, result);
+        List<?> items = (List<?>) root;
+        for (int i = 0; i < items.size(); i++) {
+            int row = i + 1;
+            if (!(items.get(i) instanceof Map)) {
+                result.rowsRead++;
+                result.addError(row, "Expected an object");
+                continue;
+            }
+            String[] values = new String[FIELDS.length];
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) items.get(i)).entrySet()) {
+                int field = fieldIndex(String.valueOf(entry.getKey()));
+                if (field >= 0 && values[field] == null && entry.getValue() != null) {
+                    values[field] = String.valueOf(entry.getValue());
+                }
+            }
+            validator.accept(row, values);
+        }
+        return save(validator, result);
+    }
+
+    private Result save(Validator validator, Result result) {
+        if (validator.valid.isEmpty()) return result;
+        if (quizDAO.createAll(validator.valid)) {
+            result.imported = validator.valid.size();
+        } else {
+            result.addError(0, "Database error while saving; no questions were imported");
+        }
+        return result;
+    }
+
+    private static int fieldIndex(String name) {
+        String key = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        key = ALIASES.getOrDefault(key, key);
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (FIELDS[f].equals(key)) return f;
+        }
+        return -1;
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /** Validates rows and collects the ones that pass, rejecting duplicates of each other and of saved questions. */
+    private class Validator {
+        private final int courseId;
+        private final Result result;
+        private final Set<String> seen = new HashSet<>();
+        private final List<QuizQuestion> valid = new ArrayList<>();
+
+        Validator(int courseId, Result result) {
+            this.courseId = courseId;
+            this.result = result;
+            for (QuizQuestion existing : quizDAO.findByCourseId(courseId)) {
+                if (existing.getQuestion() != null) seen.add(normalize(existing.getQuestion()));
+            }
+        }
+
+        void accept(int row, String[] values) {
+            result.rowsRead++;
+            for (int f = 0; f < values.length; f++) {
+                values[f] = values[f] == null ? "" : values[f].trim();
+            }
+            String question = values[0];
+            String[] options = {values[1], values[2], values[3], values[4]};
+
+            List<String> problems = new ArrayList<>();
+            if (question.isEmpty()) problems.add("question is empty");
+            Set<String> distinct = new HashSet<>();
+            for (int i = 0; i < options.length; i++) {
+                if (options[i].isEmpty()) problems.add("option " + (char) ('A' + i) + " is empty");
+                else if (!distinct.add(normalize(options[i]))) problems.add("option " + (char) ('A' + i) + " repeats another option");
+            }
+            String correct = correctLetter(values[5], options);
+            if (correct == null) problems.add("correct answer must be A, B, C or D (got \"" + values[5] + "\")");
+            if (problems.isEmpty() && !seen.add(normalize(question))) problems.add("duplicate question");
+
+            if (!problems.isEmpty()) {
+                result.addError(row, String.join("; ", problems));
+                return;
+            }
+            QuizQuestion q = new QuizQuestion();
+            q.setCourseId(courseId);
+            q.setQuestion(question);
+            q.setOptionA(options[0]);
+            q.setOptionB(options[1]);
+            q.setOptionC(options[2]);
+            q.setOptionD(options[3]);
+            q.setCorrectOption(correct);
+            valid.add(q);
+        }
+
+        /** Accepts a letter A-D, a number 1-4, or the exact text of one of the options. */
+        private String correctLetter(String value, String[] options) {
+            String v = value.toUpperCase(Locale.ROOT);
+            if (v.length() == 1 && v.charAt(0) >= 'A' && v.charAt(0) <= 'D') return v;
+            if (v.length() == 1 && v.charAt(0) >= '1' && v.charAt(0) <= '4') return String.valueOf((char) ('A' + v.charAt(0) - '1'));
+            for (int i = 0; i < options.length; i++) {
+                if (!value.isEmpty() && options[i].equalsIgnoreCase(value)) return String.valueOf((char) ('A' + i));
+            }
+            return null;
+        }
+    }
+
+    /** Outcome of an import: how many questions were saved and which rows were rejected. */
+    public static class Result {
+        private int rowsRead;
+        private int imported;
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        void addError(int row, String message) {
+            errors.add(new ImportRowError(row, message));
+        }
+
+        public int getRowsRead() { return rowsRead; }
+        public int getImported() { return imported; }
+        public List<ImportRowError> getErrors() { return errors; }
+    }
+}
@@ -0,0 +1,212 @@
+package com.elearn.service;
+
+import com.elearn.config.DBConfig;
+import com.elearn.dao.QuizResultDAO;
+import com.elearn.dao.impl.QuizResultDAOImpl;
+import com.elearn.model.QuizResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence for quiz results.
+ *
+ * Submissions go into a bounded queue and return immediately; one writer thread drains whatever
+ * has accumulated and saves it with a single QuizResultDAO.saveAll, so a burst of submissions
+ * costs a few group commits instead of one round trip each. With Ack.SYNC the caller still
+ * waits for its row to be committed, but shares that commit with everyone who submitted at the
+ * same moment. If a batch still fails after retries, its rows are saved one at a time, so a
+ * row the database rejects fails alone instead of taking the rest of the commit with it. When
+ * the queue is full a submit waits up to RESULT_QUEUE_OFFER_TIMEOUT_MS for room and then saves
+ * directly, so results are never dropped. A shutdown hook drains the queue before the JVM exits.
+ */
+public class QuizResultWriter {
+    /** SYNC waits until the result is committed; ASYNC returns once it is queued. */
+    public enum Ack { SYNC, ASYNC }
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final QuizResultWriter SHARED = new QuizResultWriter(new QuizResultDAOImpl(), DBConfig.RESULT_QUEUE_CAPACITY);
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> SHARED.shutdown(DBConfig.RESULT_QUEUE_SHUTDOWN_TIMEOUT_MS), "elearn-result-flush"));
+    }
+
+    private final QuizResultDAO resultDAO;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong savedDirectly = new AtomicLong();
+
+    public QuizResultWriter(QuizResultDAO resultDAO, int capacity) {
+        this.resultDAO = resultDAO;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "elearn-result-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static QuizResultWriter getInstance() {
+        return SHARED;
+    }
+
+    /**
+     * Queue the result for saving. The future completes with true once it is committed (its
+     * resultId is then set) or false if it could not be saved.
+     */
+    public CompletableFuture<Boolean> submit(QuizResult result) {
+        // Record when the student submitted, not when the batch happens to be written
+        if (result.getAttemptDate() == null) result.setAttemptDate(LocalDateTime.now());
+        if (!closed) {
+            Pending pending = new Pending(result);
+            try {
+                if (queue.offer(pending, DBConfig.RESULT_QUEUE_OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return pending.done;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Queue full or shutting down: save on the caller's thread rather than lose the result
+        savedDirectly.incrementAndGet();
+        boolean ok = resultDAO.saveAll(Collections.singletonList(result));
+        if (!ok) failed.incrementAndGet();
+        return CompletableFuture.completedFuture(ok);
+    }
+
+    /**
+     * Save the result with the given acknowledgement. For ASYNC the return value only says the
+     * result was accepted; for SYNC it says it was committed.
+     */
+    public boolean save(QuizResult result, Ack ack) {
+        CompletableFuture<Boolean> done = submit(result);
+        if (ack == Ack.ASYNC) return !done.isDone() || done.join();
+        try {
+            return done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /** Wait until everything queued before this call has been written, up to timeoutMs. */
+    public boolean flush(long timeoutMs) {
+        if (closed) return queue.isEmpty();
+        Pending marker = new Pending(null);
+        try {
+            if (!queue.offer(marker, timeoutMs, TimeUnit.MILLISECONDS)) return false;
+            marker.done.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // fall through
+        }
+        return false;
+    }
+
+    /**
+     * Stop accepting queued writes, let the writer drain the queue, and wait up to timeoutMs for
+     * it. Later submits save directly.
+     */
+    public void shutdown(long timeoutMs) {
+        closed = true;
+        try {
+            writer.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive() && !queue.isEmpty()) {
+            System.err.println("Quiz result writer: " + queue.size() + " result(s) still pending at shutdown");
+        }
+    }
+
+    public int getPending() { return queue.size(); }
+    public long getWritten() { return written.get(); }
+    public long getBatches() { return batches.get(); }
+    public long getFailed() { return failed.get(); }
+    /** Results saved on the submitting thread because the queue was full or closed. */
+    public long getSavedDirectly() { return savedDirectly.get(); }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(DBConfig.BATCH_SIZE);
+        while (true) {
+            Pending first;
+            try {
+                first = queue.poll(250, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Only shutdown() should stop the writer; keep draining
+                continue;
+            }
+            if (first == null) {
+                if (closed && queue.isEmpty()) return;
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, DBConfig.BATCH_SIZE - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<QuizResult> rows = new ArrayList<>(batch.size());
+        for (Pending p : batch) {
+            if (p.result != null) rows.add(p.result);
+        }
+        boolean ok = rows.isEmpty();
+        for (int attempt = 1; !ok && attempt <= MAX_ATTEMPTS; attempt++) {
+            ok = resultDAO.saveAll(rows);
+            if (!ok && attempt < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(200L * attempt);
+                } catch (InterruptedException e) {
+                    // keep retrying; shutdown waits for the writer
+                }
+            }
+        }
+        if (!rows.isEmpty()) batches.incrementAndGet();
+        if (ok) {
+            written.addAndGet(rows.size());
+            for (Pending p : batch) p.done.complete(true);
+            return;
+        }
+        // The batch is all-or-nothing: save row by row so only the rows the database rejects fail
+        int lost = 0;
+        for (Pending p : batch) {
+            boolean saved = p.result == null || resultDAO.saveAll(Collections.singletonList(p.result));
+            if (p.result != null) {
+                if (saved) written.incrementAndGet();
+                else lost++;
+            }
+            p.done.complete(saved);
+        }
+        if (lost > 0) {
+            failed.addAndGet(lost);
+            System.err.println("Quiz result writer: could not save " + lost + " of " + rows.size() + " result(s)");
+        }
+    }
+
+    private static final class Pending {
+        final QuizResult result;
+        final CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        Pending(QuizResult result) {
+            this.result = result;
+        }
+    }
+}
@@ -1,17 +1,18 @@
 package com.elearn.service;
 
+import com.elearn.config.DBConfig;
 import com.elearn.dao.CertificateDAO;
 import com.elearn.dao.CourseDAO;
 import com.elearn.dao.EnrollmentDAO;
-import com.elearn.dao.QuizDAO;
 import com.elearn.dao.QuizResultDAO;
 import com.elearn.dao.StudentDAO;
 import com.elearn.dao.impl.CertificateDAOImpl;
-import com.elearn.dao.impl.CourseDAOImpl;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.dao.impl.EnrollmentDAOImpl;
-import com.elearn.dao.impl.QuizDAOImpl;
+import com.elearn.dao.impl.CachingQuizDAO;
 import com.elearn.dao.impl.QuizResultDAOImpl;
-import com.elearn.dao.impl.StudentDAOImpl;
+import com.elearn.dao.impl.CachingStudentDAO;
+import com.elearn.model.AnswerKey;
 import com.elearn.model.Course;
 import com.elearn.model.QuizQuestion;
 import com.elearn.model.QuizResult;
@@ -22,12 +23,13 @@ import com.elearn.util.CertificateGenerator;
 import java.io.File;
 
 public class QuizService {
-    private final QuizDAO quizDAO = new QuizDAOImpl();
+    private final CachingQuizDAO quizDAO = CachingQuizDAO.getInstance();
     private final QuizResultDAO resultDAO = new QuizResultDAOImpl();
+    private final QuizResultWriter resultWriter = QuizResultWriter.getInstance();
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
     private final CertificateDAO certificateDAO = new CertificateDAOImpl();
-    private final StudentDAO studentDAO = new StudentDAOImpl();
-    private final CourseDAO courseDAO = new CourseDAOImpl();
+    private final StudentDAO studentDAO = CachingStudentDAO.getInstance();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
     private final EnrollmentService enrollmentService = new EnrollmentService();
 
     public List<QuizQuestion> getQuestions(int courseId) {
@@ -39,35 +41,28 @@ public class QuizService {
      * @return score as percentage
      */
     public int evaluateAndPersist(int studentId, int courseId, List<Character> answers) {
-        List<QuizQuestion> questions = getQuestions(courseId);
+        // Compiled once per course and cached until the questions change
+        AnswerKey key = quizDAO.findAnswerKey(courseId);
         
         // Handle empty quiz
-        if (questions.isEmpty()) {
+        if (key.size() == 0) {
             return 0;
         }
         
-        // Calculate score
-        int correct = 0;
-        for (int i = 0; i < questions.size() && i < answers.size(); i++) {
-            String correctAnswer = questions.get(i).getCorrectOption().toUpperCase().trim();
-            String userAnswer = Character.toString(answers.get(i)).toUpperCase().trim();
-            
-            if (correctAnswer.equals(userAnswer)) {
-                correct++;
-            }
-        }
-        
-        int score = (int) Math.round((correct * 100.0) / questions.size());
+        int score = key.score(key.countCorrect(answers));
 
         // Save quiz result
         QuizResult result = new QuizResult();
         result.setStudentId(studentId);
         result.setCourseId(courseId);
         result.setScore(score);
-        resultDAO.saveResult(result);
+        // Group-committed by the write-behind queue. A passing attempt waits for its commit
+        // because course completion below reads the saved results.
+        boolean passed = score >= 60;
+        resultWriter.save(result, passed || DBConfig.RESULT_QUEUE_SYNC_ACK ? QuizResultWriter.Ack.SYNC : QuizResultWriter.Ack.ASYNC);
 
         // Check if student passed (60% or higher)
-        if (score >= 60) {
+        if (passed) {
             // Check if all materials are completed and issue certificate
             enrollmentService.checkAndCompleteCourse(studentId, courseId);
         }
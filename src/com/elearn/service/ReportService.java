@@ -0,0 +1,77 @@
+package com.elearn.service;
+
+import com.elearn.dao.ReportDAO;
+import com.elearn.dao.impl.ReportDAOImpl;
+import com.elearn.model.EnrollmentReportRow;
+import com.elearn.util.TableWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Service for admin reports that are computed in the database rather than row by row
+ */
+public class ReportService {
+    private final ReportDAO reportDAO = new ReportDAOImpl();
+
+    /**
+     * One page of the enrollment report, with completion, best quiz score and certificate count
+     * per row, in sort order following the row for enrollment afterEnrollId (0 for the first page).
+     * Pass courseId <= 0 for all courses and status "All" (or null) for every status.
+     */
+    public List<EnrollmentReportRow> getEnrollmentReportPage(int courseId, String status, ReportDAO.SortField sort,
+                                                             int afterEnrollId, int limit) {
+        String filter = "All".equals(status) ? null : status;
+        return reportDAO.findEnrollmentReportPage(courseId, filter, sort, afterEnrollId, limit);
+    }
+
+    /**
+     * Stream the enrollment report for the given filters to a CSV or XLSX file (by extension).
+     * Rows go from the database cursor straight to the file; none are kept in memory.
+     * @return number of data rows written
+     */
+    public int exportEnrollmentReport(int courseId, String status, File file) throws IOException {
+        String filter = "All".equals(status) ? null : status;
+        try (TableWriter out = TableWriter.open(file)) {
+            out.writeHeader("Student ID", "Student Name", "Course ID", "Course", "Enrollment Date",
+                    "Materials Completed", "Total Materials", "Best Quiz Score", "Completion %", "Status", "Certificates");
+            return reportDAO.streamEnrollmentReport(courseId, 0, filter, r -> out.writeRow(
+                    r.getStudentId(), r.getStudentName(), r.getCourseId(), r.getCourseTitle(), r.getEnrollDate(),
+                    r.getCompletedMaterials(), r.getTotalMaterials(), r.getBestQuizScore(),
+                    round1(r.getCompletionPercentage()), r.getStatus(), r.getCertificateCount()));
+        }
+    }
+
+    /**
+     * Per-course progress of one student (or every student when studentId <= 0).
+     * @return number of data rows written
+     */
+    public int exportProgressReport(int studentId, File file) throws IOException {
+        try (TableWriter out = TableWriter.open(file)) {
+            out.writeHeader("Student ID", "Student Name", "Course", "Enrollment Date", "Materials Progress %",
+                    "Best Quiz Score", "Overall Progress %", "Status");
+            return reportDAO.streamEnrollmentReport(0, studentId, null, r -> out.writeRow(
+                    r.getStudentId(), r.getStudentName(), r.getCourseTitle(), r.getEnrollDate(),
+                    round1(r.getMaterialCompletionPercentage()), r.getBestQuizScore(),
+                    round1(r.getCompletionPercentage()), r.getStatus()));
+        }
+    }
+
+    /**
+     * Quiz attempts, newest first, filtered by course and/or student (ids <= 0 mean all).
+     * @return number of data rows written
+     */
+    public int exportQuizResults(int courseId, int studentId, File file) throws IOException {
+        try (TableWriter out = TableWriter.open(file)) {
+            out.writeHeader("Result ID", "Student ID", "Student Name", "Course", "Attempt Date", "Score", "Result");
+            return reportDAO.streamQuizResults(courseId, studentId, r -> out.writeRow(
+                    r.getResultId(), r.getStudentId(), r.getStudentName(), r.getCourseTitle(), r.getAttemptDate(),
+                    r.getScore(), r.isPassed() ? "PASS" : "FAIL"));
+        }
+    }
+
+    private static double round1(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,201 @@
+package com.elearn.service;
+
+import com.elearn.config.DBConfig;
+import com.elearn.dao.impl.CachingStudentDAO;
+import com.elearn.model.Student;
+import com.elearn.util.CsvReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk-registers students from a registrar roster (CSV with a header row naming the columns
+ * name, email and password).
+ *
+ * The file is read one record at a time and valid rows are collected into chunks that are
+ * inserted through StudentDAO.createAll, so memory stays bounded by the chunk size however long
+ * the roster is. Emails are deduplicated in memory, both within the file and against the
+ * student directory's email index, before anything reaches the database.
+ */
+public class StudentRosterImporter {
+    private static final String[] FIELDS = {"name", "email", "password"};
+    private static final Map<String, String> ALIASES = new HashMap<>();
+    static {
+        ALIASES.put("fullname", "name");
+        ALIASES.put("studentname", "name");
+        ALIASES.put("emailaddress", "email");
+        ALIASES.put("mail", "email");
+        ALIASES.put("pass", "password");
+    }
+    // Rejected rows beyond this are only counted, so a badly wrong file can't exhaust memory
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    /** Called after each chunk is saved, e.g. to update a progress bar. */
+    public interface ProgressListener {
+        void progress(int rowsRead, int imported);
+    }
+
+    private final CachingStudentDAO studentDAO = CachingStudentDAO.getInstance();
+    private final int chunkSize;
+    private ProgressListener listener;
+
+    public StudentRosterImporter() {
+        this(DBConfig.BATCH_SIZE);
+    }
+
+    /** @param chunkSize rows collected before each insert round; the DAO batches within it */
+    public StudentRosterImporter(int chunkSize) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("chunkSize must be positive");
+        this.chunkSize = chunkSize;
+    }
+
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    /** Import a roster file, read as UTF-8. */
+    public Result importFile(File file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+
+    public Result importCsv(Reader reader) throws IOException {
+        Result result = new Result();
+        long start = System.nanoTime();
+        try {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                result.addError(0, "The file is empty");
+                return result;
+            }
+            int[] columns = new int[FIELDS.length];
+            Arrays.fill(columns, -1);
+            for (int i = 0; i < header.size(); i++) {
+                int field = fieldIndex(header.get(i));
+                if (field >= 0 && columns[field] < 0) columns[field] = i;
+            }
+            List<String> missing = new ArrayList<>();
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (columns[f] < 0) missing.add(FIELDS[f]);
+            }
+            if (!missing.isEmpty()) {
+                result.addError(0, "Header is missing column(s): " + String.join(", ", missing));
+                return result;
+            }
+
+            Set<String> seen = new HashSet<>();
+            List<Student> chunk = new ArrayList<>(chunkSize);
+            int[] chunkRows = new int[chunkSize];
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                result.rowsRead++;
+                int row = csv.getRecordLine();
+                String name = value(record, columns[0]);
+                String email = value(record, columns[1]);
+                String password = value(record, columns[2]);
+
+                String problem = validate(name, email, password);
+                if (problem == null) {
+                    String key = CachingStudentDAO.normalizeEmail(email);
+                    if (!seen.add(key)) problem = "email " + email + " appears earlier in the file";
+                    else if (studentDAO.containsEmail(key)) problem = "email " + email + " is already registered";
+                }
+                if (problem != null) {
+                    result.addError(row, problem);
+                    continue;
+                }
+
+                Student s = new Student();
+                s.setName(name);
+                s.setEmail(email);
+                s.setPassword(password);
+                chunkRows[chunk.size()] = row;
+                chunk.add(s);
+                if (chunk.size() == chunkSize) save(chunk, chunkRows, result);
+            }
+            save(chunk, chunkRows, result);
+            return result;
+        } finally {
+            result.elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    private void save(List<Student> chunk, int[] rows, Result result) {
+        if (chunk.isEmpty()) return;
+        studentDAO.createAll(chunk);
+        StudentSearchIndex index = StudentSearchIndex.getInstance();
+        for (int i = 0; i < chunk.size(); i++) {
+            Student s = chunk.get(i);
+            if (s.getStudentId() > 0) {
+                result.imported++;
+                index.onStudentRegistered(s);
+            } else {
+                result.addError(rows[i], "could not be saved (email " + s.getEmail() + " may have just been registered)");
+            }
+        }
+        chunk.clear();
+        if (listener != null) listener.progress(result.rowsRead, result.imported);
+    }
+
+    /** Same rules as the signup form. */
+    private static String validate(String name, String email, String password) {
+        List<String> problems = new ArrayList<>();
+        if (name.isEmpty()) problems.add("name is empty");
+        if (email.isEmpty()) problems.add("email is empty");
+        else if (!email.contains("@") || !email.contains(".") || email.contains(" ")) problems.add("email " + email + " is not valid");
+        if (password.length() < 3) problems.add("password must be at least 3 characters");
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private static String value(List<String> record, int column) {
+        return column < record.size() && record.get(column) != null ? record.get(column).trim() : "";
+    }
+
+    private static int fieldIndex(String name) {
+        String key = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", "");
+        key = ALIASES.getOrDefault(key, key);
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (FIELDS[f].equals(key)) return f;
+        }
+        return -1;
+    }
+
+    /** Outcome of an import: counts, rejected rows and throughput. */
+    public static class Result {
+        private int rowsRead;
+        private int imported;
+        private int rejected;
+        private long elapsedNanos;
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        void addError(int row, String message) {
+            if (row > 0) rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new ImportRowError(row, message));
+        }
+
+        public int getRowsRead() { return rowsRead; }
+        public int getImported() { return imported; }
+        /** Every rejected row, including those beyond the reported errors. */
+        public int getRejected() { return rejected; }
+        /** The first rejected rows, up to 1000. */
+        public List<ImportRowError> getErrors() { return errors; }
+        public long getElapsedMillis() { return elapsedNanos / 1_000_000; }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos > 0 ? rowsRead * 1_000_000_000.0 / elapsedNanos : 0;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.elearn.service;
+
+import com.elearn.dao.EnrollmentDAO;
+import com.elearn.dao.StudentDAO;
+import com.elearn.dao.impl.CachingStudentDAO;
+import com.elearn.dao.impl.EnrollmentDAOImpl;
+import com.elearn.model.Student;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory substring search over student names and emails, with enrollment counts attached.
+ *
+ * Every student's lower-cased "name\nemail" is broken into trigrams, each mapping to a posting
+ * list of ordinals into a dense entry table (assigned in id order). A query of three or more
+ * characters scans only the shortest posting list among its trigrams and verifies each
+ * candidate with contains(), so results match a plain substring search exactly. Shorter queries
+ * scan every entry. When a query extends the previous one (search-as-you-type), only the previous
+ * matches are re-checked.
+ *
+ * Loaded lazily from the student directory plus one grouped enrollment count, then kept current
+ * through onStudentRegistered(), onEnrolled() and onUnenrolled().
+ */
+public class StudentSearchIndex {
+    private static final int GRAM = 3;
+    private static final StudentSearchIndex SHARED =
+            new StudentSearchIndex(CachingStudentDAO.getInstance(), new EnrollmentDAOImpl());
+
+    private final StudentDAO studentDAO;
+    private final EnrollmentDAO enrollmentDAO;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Integer, Integer> ordinals = new HashMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private boolean loaded;
+    // Bumped whenever indexed text changes, so a cached previous result is never reused stale
+    private long version;
+
+    private String lastQuery;
+    private int[] lastMatches;
+    private long lastVersion;
+
+    public StudentSearchIndex(StudentDAO studentDAO, EnrollmentDAO enrollmentDAO) {
+        this.studentDAO = studentDAO;
+        this.enrollmentDAO = enrollmentDAO;
+    }
+
+    public static StudentSearchIndex getInstance() {
+        return SHARED;
+    }
+
+    /**
+     * Students whose name or email contains the query (case-insensitive), ordered by id.
+     * An empty query returns everyone.
+     */
+    public synchronized List<Entry> search(String query) {
+        ensureLoaded();
+        int[] matches = matches(normalize(query));
+        if (matches == null) {
+            return new ArrayList<>(entries);
+        }
+        List<Entry> result = new ArrayList<>(matches.length);
+        for (int ord : matches) result.add(entries.get(ord));
+        return result;
+    }
+
+    /**
+     * One keyset page of search(query): up to limit matches with an id greater than afterId.
+     * Paging through the same query reuses the previous match list.
+     */
+    public synchronized List<Entry> search(String query, int afterId, int limit) {
+        ensureLoaded();
+        int[] matches = matches(normalize(query));
+        int count = matches == null ? entries.size() : matches.length;
+
+        // Ordinals follow id order, so binary search for the first id past the cursor
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int ord = matches == null ? mid : matches[mid];
+            if (entries.get(ord).studentId <= afterId) lo = mid + 1;
+            else hi = mid;
+        }
+
+        int end = (int) Math.min(count, (long) lo + limit);
+        List<Entry> page = new ArrayList<>(end - lo);
+        for (int i = lo; i < end; i++) {
+            page.add(entries.get(matches == null ? i : matches[i]));
+        }
+        return page;
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Sorted ordinals of the entries containing q, or null when q is empty (everyone). */
+    private int[] matches(String q) {
+        if (q.isEmpty()) return null;
+        boolean reusable = lastQuery != null && lastVersion == version;
+        if (reusable && q.equals(lastQuery)) return lastMatches;
+
+        int[] candidates;
+        int candidateCount;
+        if (reusable && q.contains(lastQuery)) {
+            candidates = lastMatches;
+            candidateCount = lastMatches.length;
+        } else if (q.length() >= GRAM) {
+            IntList shortest = null;
+            for (int i = 0; i + GRAM <= q.length(); i++) {
+                IntList list = postings.get(q.substring(i, i + GRAM));
+                if (list == null) {
+                    remember(q, new int[0]);
+                    return lastMatches;
+                }
+                if (shortest == null || list.size < shortest.size) shortest = list;
+            }
+            candidates = shortest.values;
+            candidateCount = shortest.size;
+        } else {
+            candidates = null;
+            candidateCount = entries.size();
+        }
+
+        int[] matches = new int[candidateCount];
+        int n = 0;
+        if (candidates == null) {
+            for (int ord = 0; ord < candidateCount; ord++) {
+                if (entries.get(ord).text.contains(q)) matches[n++] = ord;
+            }
+        } else {
+            for (int i = 0; i < candidateCount; i++) {
+                int ord = candidates[i];
+                if (entries.get(ord).text.contains(q)) matches[n++] = ord;
+            }
+            // Re-indexed students append out of order; already-sorted input makes this cheap
+            Arrays.sort(matches, 0, n);
+        }
+        matches = Arrays.copyOf(matches, n);
+        remember(q, matches);
+        return matches;
+    }
+
+    /** Add a newly registered student; a no-op until the index is first used. */
+    public synchronized void onStudentRegistered(Student student) {
+        if (!loaded || student == null || student.getStudentId() <= 0) return;
+        Integer ord = ordinals.get(student.getStudentId());
+        put(new Entry(student, ord != null ? entries.get(ord).enrollmentCount : 0));
+    }
+
+    /** Count a new enrollment for the student; a no-op until the index is first used. */
+    public synchronized void onEnrolled(int studentId) {
+        if (!loaded) return;
+        Integer ord = ordinals.get(studentId);
+        if (ord != null) {
+            Entry e = entries.get(ord);
+            entries.set(ord, e.withEnrollmentCount(e.enrollmentCount + 1));
+            return;
+        }
+        // Registered by another process since the index was built
+        Student s = studentDAO.findById(studentId);
+        if (s != null) put(new Entry(s, 1));
+    }
+
+    /** Count a removed enrollment for the student; a no-op until the index is first used. */
+    public synchronized void onUnenrolled(int studentId) {
+        if (!loaded) return;
+        Integer ord = ordinals.get(studentId);
+        if (ord != null) {
+            Entry e = entries.get(ord);
+            entries.set(ord, e.withEnrollmentCount(Math.max(0, e.enrollmentCount - 1)));
+        }
+    }
+
+    /** Rebuild from the database on next search. */
+    public synchronized void invalidate() {
+        loaded = false;
+        entries.clear();
+        ordinals.clear();
+        postings.clear();
+        version++;
+        lastQuery = null;
+        lastMatches = null;
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return entries.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        Map<Integer, Integer> counts = enrollmentDAO.countByStudent();
+        List<Student> students = studentDAO.findAll();
+        students.sort((a, b) -> Integer.compare(a.getStudentId(), b.getStudentId()));
+        for (Student s : students) {
+            Integer count = counts.get(s.getStudentId());
+            put(new Entry(s, count != null ? count : 0));
+        }
+        for (IntList list : postings.values()) list.trim();
+        loaded = true;
+    }
+
+    private void put(Entry entry) {
+        Integer existingOrd = ordinals.get(entry.studentId);
+        int ord;
+        Entry previous = null;
+        if (existingOrd == null) {
+            ord = entries.size();
+            entries.add(entry);
+            ordinals.put(entry.studentId, ord);
+        } else {
+            ord = existingOrd;
+            previous = entries.set(ord, entry);
+            if (previous.text.equals(entry.text)) return;
+        }
+
+        // Only grams the student didn't already have, so posting lists never hold duplicates.
+        // Grams that disappeared stay behind and are filtered out by the contains() check.
+        Set<String> existing = previous != null ? grams(previous.text) : Collections.emptySet();
+        for (String gram : grams(entry.text)) {
+            if (!existing.contains(gram)) {
+                postings.computeIfAbsent(gram, g -> new IntList()).add(ord);
+            }
+        }
+        version++;
+    }
+
+    private void remember(String query, int[] matches) {
+        lastQuery = query;
+        lastMatches = matches;
+        lastVersion = version;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /** An indexed student as shown in search results. */
+    public static final class Entry {
+        private final int studentId;
+        private final String name;
+        private final String email;
+        private final LocalDateTime lastLogin;
+        private final boolean active;
+        private final int enrollmentCount;
+        private final String text;
+
+        public Entry(Student s, int enrollmentCount) {
+            this(s.getStudentId(), s.getName(), s.getEmail(), s.getLastLogin(), s.isActive(), enrollmentCount);
+        }
+
+        private Entry(int studentId, String name, String email, LocalDateTime lastLogin, boolean active, int enrollmentCount) {
+            this.studentId = studentId;
+            this.name = name != null ? name : "";
+            this.email = email != null ? email : "";
+            this.lastLogin = lastLogin;
+            this.active = active;
+            this.enrollmentCount = enrollmentCount;
+            // The separator keeps a query from matching across the end of the name and start of the email
+            this.text = this.name.toLowerCase(Locale.ROOT) + '\n' + this.email.toLowerCase(Locale.ROOT);
+        }
+
+        Entry withEnrollmentCount(int count) {
+            return new Entry(studentId, name, email, lastLogin, active, count);
+        }
+
+        public int getStudentId() { return studentId; }
+        public String getName() { return name; }
+        public String getEmail() { return email; }
+        public LocalDateTime getLastLogin() { return lastLogin; }
+        public boolean isActive() { return active; }
+        public int getEnrollmentCount() { return enrollmentCount; }
+    }
+
+    /** Growable int array; a boxed Set per trigram would cost several times the memory. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void trim() {
+            if (size < values.length) values = Arrays.copyOf(values, size);
+        }
+    }
+}
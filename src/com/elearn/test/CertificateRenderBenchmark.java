@@ -0,0 +1,154 @@
+package com.elearn.test;
+
+import com.elearn.util.CertificateGenerator;
+import com.elearn.util.CertificatePdfWriter;
+import com.elearn.util.CertificateTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Compares certificate rendering with the cached template layer against the previous
+ * draw-everything-per-certificate code, with and without PNG encoding, and times the vector PDF
+ * writer. Nothing is written to disk unless a sample PDF path is given.
+ *
+ * Usage: CertificateRenderBenchmark [certificates] [sample.pdf]
+ */
+public class CertificateRenderBenchmark {
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        String date = "2024-01-01";
+
+        BufferedImage before = renderLegacy("Ada Lovelace", "Analytical Engines", date);
+        BufferedImage after = CertificateGenerator.render(CertificateTemplate.DEFAULT, "Ada Lovelace", "Analytical Engines", date);
+        System.out.println("pixels differing from the previous renderer: " + differingPixels(before, after));
+
+        System.out.println(count + " certificates per round");
+        for (int round = 1; round <= 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) renderLegacy("Student " + i, "Course " + (i % 20), date);
+            long legacy = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < count; i++) CertificateGenerator.render(CertificateTemplate.DEFAULT, "Student " + i, "Course " + (i % 20), date);
+            long cached = System.nanoTime() - start;
+
+            System.out.printf("round %d render: previous %,.0f certs/s, template %,.0f certs/s (%.1fx)%n",
+                    round, rate(count, legacy), rate(count, cached), (double) legacy / cached);
+        }
+
+        int encodeCount = Math.max(1, count / 4);
+        for (int round = 1; round <= 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < encodeCount; i++) encode(renderLegacy("Student " + i, "Course " + (i % 20), date));
+            long legacy = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < encodeCount; i++) encode(CertificateGenerator.render(CertificateTemplate.DEFAULT, "Student " + i, "Course " + (i % 20), date));
+            long cached = System.nanoTime() - start;
+
+            System.out.printf("round %d render+png: previous %,.0f certs/s, template %,.0f certs/s (%.1fx)%n",
+                    round, rate(encodeCount, legacy), rate(encodeCount, cached), (double) legacy / cached);
+        }
+
+        byte[] pdf = CertificatePdfWriter.toBytes(CertificateTemplate.DEFAULT, "Ada Lovelace", "Analytical Engines", date);
+        System.out.println("file size: png " + encode(after) + " bytes, pdf " + pdf.length + " bytes");
+        for (int round = 1; round <= 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) CertificatePdfWriter.toBytes(CertificateTemplate.DEFAULT, "Student " + i, "Course " + (i % 20), date);
+            long vector = System.nanoTime() - start;
+            System.out.printf("round %d pdf: %,.0f certs/s%n", round, rate(count, vector));
+        }
+        if (args.length > 1) {
+            java.nio.file.Files.write(java.nio.file.Paths.get(args[1]), pdf);
+        }
+    }
+
+    /** What CertificateGenerator.generatePng drew before templates, minus the file write. */
+    private static BufferedImage renderLegacy(String studentName, String courseTitle, String date) {
+        int width = 1000;
+        int height = 700;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setPaint(new GradientPaint(0, 0, new Color(240, 248, 255), 0, height, new Color(230, 240, 250)));
+            g.fillRect(0, 0, width, height);
+            g.setColor(new Color(25, 118, 210));
+            g.setStroke(new BasicStroke(8));
+            g.drawRect(30, 30, width - 60, height - 60);
+            g.setColor(new Color(100, 181, 246));
+            g.setStroke(new BasicStroke(3));
+            g.drawRect(50, 50, width - 100, height - 100);
+            g.setColor(new Color(25, 118, 210));
+            g.setStroke(new BasicStroke(4));
+            int cornerSize = 40;
+            g.drawLine(50, 50, 50 + cornerSize, 50);
+            g.drawLine(50, 50, 50, 50 + cornerSize);
+            g.drawLine(width - 50, 50, width - 50 - cornerSize, 50);
+            g.drawLine(width - 50, 50, width - 50, 50 + cornerSize);
+            g.drawLine(50, height - 50, 50 + cornerSize, height - 50);
+            g.drawLine(50, height - 50, 50, height - 50 - cornerSize);
+            g.drawLine(width - 50, height - 50, width - 50 - cornerSize, height - 50);
+            g.drawLine(width - 50, height - 50, width - 50, height - 50 - cornerSize);
+            g.setColor(new Color(25, 118, 210));
+            g.setFont(new Font("Serif", Font.BOLD, 52));
+            drawCentered(g, "CERTIFICATE OF COMPLETION", width, 150);
+            g.setColor(new Color(66, 66, 66));
+            g.setFont(new Font("Serif", Font.PLAIN, 24));
+            drawCentered(g, "This is to certify that", width, 220);
+            g.setColor(new Color(25, 118, 210));
+            g.setFont(new Font("Serif", Font.BOLD, 44));
+            drawCentered(g, studentName, width, 280);
+            g.setStroke(new BasicStroke(2));
+            g.drawLine(width / 2 - 150, 300, width / 2 + 150, 300);
+            g.setColor(new Color(66, 66, 66));
+            g.setFont(new Font("Serif", Font.PLAIN, 26));
+            drawCentered(g, "has successfully completed the course", width, 360);
+            g.setColor(new Color(25, 118, 210));
+            g.setFont(new Font("Serif", Font.BOLD, 32));
+            drawCentered(g, '"' + courseTitle + '"', width, 420);
+            g.setColor(new Color(100, 100, 100));
+            g.setFont(new Font("Serif", Font.PLAIN, 20));
+            drawCentered(g, "Completed on: " + date, width, 480);
+            g.setColor(new Color(25, 118, 210));
+            g.setFont(new Font("Serif", Font.BOLD, 24));
+            drawCentered(g, "E-Learning Management System", width, 540);
+            g.setColor(new Color(100, 181, 246));
+            g.setStroke(new BasicStroke(2));
+            g.drawLine(width / 2 - 200, 580, width / 2 + 200, 580);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static void drawCentered(Graphics2D g, String text, int width, int y) {
+        FontMetrics fm = g.getFontMetrics();
+        g.drawString(text, (width - fm.stringWidth(text)) / 2, y);
+    }
+
+    private static int encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+        ImageIO.write(image, "png", out);
+        return out.size();
+    }
+
+    private static int differingPixels(BufferedImage a, BufferedImage b) {
+        int diff = 0;
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                if ((a.getRGB(x, y) & 0xFFFFFF) != (b.getRGB(x, y) & 0xFFFFFF)) diff++;
+            }
+        }
+        return diff;
+    }
+
+    private static double rate(int count, long nanos) {
+        return count * 1_000_000_000.0 / Math.max(1, nanos);
+    }
+}
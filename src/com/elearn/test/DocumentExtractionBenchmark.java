@@ -0,0 +1,223 @@
+package com.elearn.test;
+
+import com.elearn.util.CertificatePdfWriter;
+import com.elearn.util.CertificateTemplate;
+import com.elearn.util.DocumentTextExtractor;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates a large .docx and a large .pdf, extracts their text with DocumentTextExtractor into a
+ * sink that keeps only the first few characters, and checks the length against the text that was
+ * written. Run with a small heap (e.g. -Xmx16m) to see that memory use does not grow with the
+ * document: both files, and the XML inside the .docx, are several times larger than that. Also
+ * shows that a PDF drawn with a two-byte Identity-H font is reported as having no readable text.
+ *
+ * Usage: DocumentExtractionBenchmark [paragraphs] [pages]
+ */
+public class DocumentExtractionBenchmark {
+    public static void main(String[] args) throws IOException {
+        int paragraphs = args.length > 0 ? Integer.parseInt(args[0]) : 400_000;
+        int pages = args.length > 1 ? Integer.parseInt(args[1]) : 4_000;
+
+        File certificate = File.createTempFile("certificate", ".pdf");
+        File docx = File.createTempFile("extract", ".docx");
+        File pdf = File.createTempFile("extract", ".pdf");
+        File cid = File.createTempFile("cid", ".pdf");
+        try {
+            Files.write(certificate.toPath(), CertificatePdfWriter.toBytes(CertificateTemplate.DEFAULT,
+                    "Ada Lovelace", "Analytical Engines", "2024-01-01"));
+            System.out.println("certificate text:\n" + DocumentTextExtractor.extractTextFromFile(certificate) + "\n");
+            writeCidPdf(cid, true);
+            System.out.println("Identity-H font: " + DocumentTextExtractor.extractTextFromFile(cid));
+            writeCidPdf(cid, false);
+            System.out.println("Identity-H font in an object stream: " + DocumentTextExtractor.extractTextFromFile(cid) + "\n");
+
+            long docxChars = writeDocx(docx, paragraphs);
+            long pdfChars = writePdf(pdf, pages, 50);
+            for (int round = 1; round <= 3; round++) {
+                run("docx", docx, docxChars, round);
+                run("pdf", pdf, pdfChars, round);
+            }
+        } finally {
+            certificate.delete();
+            docx.delete();
+            pdf.delete();
+            cid.delete();
+        }
+    }
+
+    private static void run(String label, File file, long expectedChars, int round) throws IOException {
+        Counter counter = new Counter();
+        long start = System.nanoTime();
+        DocumentTextExtractor.Extraction extraction = label.equals("docx")
+                ? DocumentTextExtractor.extractTextFromDocx(file, counter, Integer.MAX_VALUE)
+                : DocumentTextExtractor.extractTextFromPdf(file, counter, Integer.MAX_VALUE);
+        long nanos = System.nanoTime() - start;
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("round %d %s: %,d bytes -> %,d chars (expected %,d%s) in %,d ms, %,.1fM chars/s, heap used %,d KB%n",
+                round, label, file.length(), extraction.getChars(), expectedChars,
+                extraction.getChars() == expectedChars ? ", ok" : ", MISMATCH",
+                nanos / 1_000_000, extraction.getChars() / 1e6 / (nanos / 1e9),
+                (runtime.totalMemory() - runtime.freeMemory()) / 1024);
+        if (round == 1) System.out.println("  starts: " + counter.head.toString().replace("\n", "\\n").replace("\t", "\\t"));
+    }
+
+    /** A .docx whose paragraphs use runs, a tab, tab stops and escaped characters; returns the text length. */
+    private static long writeDocx(File file, int paragraphs) throws IOException {
+        long chars = 0;
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+            zip.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                    + "<Override PartName=\"/word/document.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/>"
+                    + "</Types>").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("word/document.xml"));
+            Writer xml = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+            xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>");
+            for (int i = 1; i <= paragraphs; i++) {
+                xml.write("<w:p><w:pPr><w:tabs><w:tab w:val=\"left\" w:pos=\"720\"/></w:tabs></w:pPr>"
+                        + "<w:r><w:rPr><w:b/></w:rPr><w:t>Section " + i + "</w:t></w:r>"
+                        + "<w:r><w:tab/><w:t xml:space=\"preserve\">Notes &amp; exercises for caf\u00e9 </w:t></w:r>"
+                        + "<w:r><w:t>week " + (i % 12) + "</w:t></w:r></w:p>");
+                chars += ("Section " + i + "\tNotes & exercises for caf\u00e9 week " + (i % 12) + "\n").length();
+            }
+            xml.write("<w:sectPr/></w:body></w:document>");
+            xml.flush();
+            zip.closeEntry();
+        }
+        return chars;
+    }
+
+    /**
+     * A .pdf with one deflated content stream per page, using Tj, TJ with kerning, T* and escaped
+     * strings, plus an uncompressed image on every tenth page; returns the text length.
+     */
+    private static long writePdf(File file, int pages, int linesPerPage) throws IOException {
+        Random random = new Random(42);
+        byte[] image = new byte[64 * 1024];
+        long chars = 0;
+        try (CountingOutput out = new CountingOutput(new BufferedOutputStream(new FileOutputStream(file)))) {
+            List<Long> offsets = new ArrayList<>();
+            out.ascii("%PDF-1.4\n");
+            int pageObjects = 3;
+            StringBuilder kids = new StringBuilder();
+            for (int p = 0; p < pages; p++) kids.append(pageObjects + p * 3).append(" 0 R ");
+            offsets.add(out.position);
+            out.ascii("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+            offsets.add(out.position);
+            out.ascii("2 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pages + " >>\nendobj\n");
+            int font = pageObjects + pages * 3;
+            for (int p = 0; p < pages; p++) {
+                int page = pageObjects + p * 3;
+                StringBuilder ops = new StringBuilder("BT /F1 11 Tf 14 TL 72 740 Td\n");
+                for (int line = 1; line <= linesPerPage; line++) {
+                    ops.append("(Line ").append(line).append(" of page ").append(p + 1).append(" \\(sample\\)) Tj T*\n");
+                    ops.append("[(Kern) -30 (ed) -400 (words)] TJ T*\n");
+                    chars += ("Line " + line + " of page " + (p + 1) + " (sample)\nKerned words\n").length();
+                }
+                ops.append("ET\n");
+                if (p % 10 == 0) ops.append("q 100 0 0 100 72 72 cm /Im1 Do Q\n");
+                byte[] stream = deflate(ops.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+                offsets.add(out.position);
+                out.ascii(page + " 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents " + (page + 1)
+                        + " 0 R /Resources << /Font << /F1 " + font + " 0 R >> /XObject << /Im1 " + (page + 2) + " 0 R >> >> >>\nendobj\n");
+                offsets.add(out.position);
+                out.ascii((page + 1) + " 0 obj\n<< /Length " + stream.length + " /Filter /FlateDecode >>\nstream\n");
+                out.bytes(stream);
+                out.ascii("\nendstream\nendobj\n");
+                offsets.add(out.position);
+                if (p % 10 == 0) {
+                    random.nextBytes(image);
+                    out.ascii((page + 2) + " 0 obj\n<< /Type /XObject /Subtype /Image /Width 128 /Height 128"
+                            + " /ColorSpace /DeviceRGB /BitsPerComponent 8 /Length " + image.length + " >>\nstream\n");
+                    out.bytes(image);
+                    out.ascii("\nendstream\nendobj\n");
+                } else {
+                    out.ascii((page + 2) + " 0 obj\nnull\nendobj\n");
+                }
+            }
+            offsets.add(out.position);
+            out.ascii(font + " 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+            long xref = out.position;
+            out.ascii("xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+            for (long offset : offsets) out.ascii(String.format("%010d 00000 n \n", offset));
+            out.ascii("trailer\n<< /Size " + (offsets.size() + 1) + " /Root 1 0 R >>\nstartxref\n" + xref + "\n%%EOF\n");
+        }
+        // Lines are separated, not terminated
+        return chars - 1;
+    }
+
+    /**
+     * A one-page .pdf whose text is two-byte glyph ids shown in a Type0 Identity-H font. Without the
+     * font object the font is out of sight, as it is when a producer compresses it into an object stream.
+     */
+    private static void writeCidPdf(File file, boolean fontObject) throws IOException {
+        String ops = "BT /F1 11 Tf 72 740 Td <002B00480048004F0052> Tj T* <003A0052005500470056> Tj ET\n";
+        try (CountingOutput out = new CountingOutput(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.ascii("%PDF-1.4\n1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n"
+                    + "2 0 obj\n<< /Type /Pages /Kids [3 0 R] /Count 1 >>\nendobj\n"
+                    + "3 0 obj\n<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Contents 4 0 R"
+                    + " /Resources << /Font << /F1 5 0 R >> >> >>\nendobj\n"
+                    + "4 0 obj\n<< /Length " + ops.length() + " >>\nstream\n" + ops + "endstream\nendobj\n");
+            if (fontObject) {
+                out.ascii("5 0 obj\n<< /Type /Font /Subtype /Type0 /BaseFont /ABCDEF+Arial /Encoding /Identity-H"
+                        + " /DescendantFonts [6 0 R] >>\nendobj\n");
+            }
+            out.ascii("trailer\n<< /Size 7 /Root 1 0 R >>\n%%EOF\n");
+        }
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 3);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_SPEED))) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Counts extracted characters and keeps the first few. */
+    private static final class Counter implements DocumentTextExtractor.TextSink {
+        final StringBuilder head = new StringBuilder();
+
+        @Override
+        public void append(char[] chars, int offset, int length) {
+            if (head.length() < 120) head.append(chars, offset, Math.min(length, 120 - head.length()));
+        }
+    }
+
+    private static final class CountingOutput implements Closeable {
+        final OutputStream out;
+        long position;
+
+        CountingOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        void ascii(String s) throws IOException {
+            bytes(s.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        void bytes(byte[] b) throws IOException {
+            out.write(b);
+            position += b.length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
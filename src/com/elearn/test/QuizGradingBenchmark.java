@@ -0,0 +1,69 @@
+package com.elearn.test;
+
+import com.elearn.model.AnswerKey;
+import com.elearn.model.QuizQuestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares grading with a compiled AnswerKey against the previous per-answer String comparison.
+ * No database is needed; both graders see the same synthetic quiz and submissions.
+ *
+ * Usage: QuizGradingBenchmark [questions] [submissions]
+ */
+public class QuizGradingBenchmark {
+    public static void main(String[] args) {
+        int questionCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int submissionCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Random random = new Random(42);
+
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            QuizQuestion q = new QuizQuestion();
+            q.setQuizId(i + 1);
+            q.setCourseId(1);
+            q.setCorrectOption(String.valueOf((char) ('A' + random.nextInt(4))));
+            questions.add(q);
+        }
+        List<List<Character>> submissions = new ArrayList<>();
+        for (int s = 0; s < submissionCount; s++) {
+            List<Character> answers = new ArrayList<>();
+            for (int i = 0; i < questionCount; i++) answers.add((char) ('A' + random.nextInt(4)));
+            submissions.add(answers);
+        }
+        AnswerKey key = AnswerKey.compile(1, questions);
+
+        System.out.println(questionCount + " questions, " + submissionCount + " submissions per round");
+        for (int round = 1; round <= 5; round++) {
+            long checksum = 0;
+            long start = System.nanoTime();
+            for (List<Character> answers : submissions) checksum += gradeWithStrings(questions, answers);
+            long strings = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (List<Character> answers : submissions) checksum -= key.score(key.countCorrect(answers));
+            long compiled = System.nanoTime() - start;
+
+            if (checksum != 0) throw new IllegalStateException("Graders disagree");
+            System.out.printf("round %d: strings %,.0f submissions/s, answer key %,.0f submissions/s (%.1fx)%n",
+                    round, rate(submissionCount, strings), rate(submissionCount, compiled), (double) strings / compiled);
+        }
+    }
+
+    /** The grading loop QuizService used before answer keys. */
+    private static int gradeWithStrings(List<QuizQuestion> questions, List<Character> answers) {
+        int correct = 0;
+        for (int i = 0; i < questions.size() && i < answers.size(); i++) {
+            String correctAnswer = questions.get(i).getCorrectOption().toUpperCase().trim();
+            String userAnswer = Character.toString(answers.get(i)).toUpperCase().trim();
+            if (correctAnswer.equals(userAnswer)) correct++;
+        }
+        return (int) Math.round((correct * 100.0) / questions.size());
+    }
+
+    private static double rate(int count, long nanos) {
+        return count * 1_000_000_000.0 / Math.max(1, nanos);
+    }
+}
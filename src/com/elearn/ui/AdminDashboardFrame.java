@@ -3,14 +3,14 @@ package com.elearn.ui;
 import com.elearn.model.Admin;
 import com.elearn.model.Course;
 import com.elearn.dao.CourseDAO;
-import com.elearn.dao.impl.CourseDAOImpl;
+import com.elearn.dao.impl.CachingCourseDAO;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
 
 public class AdminDashboardFrame extends JFrame {
-    private final CourseDAO courseDAO = new CourseDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
     private final DefaultListModel<Course> coursesModel = new DefaultListModel<>();
 
     public AdminDashboardFrame(Admin admin) {
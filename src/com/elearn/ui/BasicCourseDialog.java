@@ -1,15 +1,11 @@
 package com.elearn.ui;
 
 import com.elearn.model.Course;
-import com.elearn.util.FileUtils;
+import com.elearn.util.CourseImageStore;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 
 public class BasicCourseDialog extends JDialog {
     private final JTextField titleField;
@@ -168,20 +164,8 @@ public class BasicCourseDialog extends JDialog {
     }
     
     private String saveImageFile(File file) throws Exception {
-        // Create course_images directory if it doesn't exist
-        Path courseImagesDir = Paths.get(System.getProperty("user.dir"), "course_images");
-        if (!Files.exists(courseImagesDir)) {
-            Files.createDirectories(courseImagesDir);
-        }
-        
-        // Generate unique filename
-        String uniqueFileName = "course_" + System.currentTimeMillis() + "." + FileUtils.getExtension(file.getName());
-        Path targetPath = courseImagesDir.resolve(uniqueFileName);
-        
-        // Copy file
-        Files.copy(file.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-        
-        return "course_images/" + uniqueFileName;
+        // Copies the original into course_images/ and writes the list/preview/detail derivatives
+        return CourseImageStore.store(file);
     }
     
     public File getSelectedImageFile() {
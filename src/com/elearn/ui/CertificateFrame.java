@@ -3,21 +3,28 @@ package com.elearn.ui;
 import com.elearn.dao.CertificateDAO;
 import com.elearn.dao.CourseDAO;
 import com.elearn.dao.impl.CertificateDAOImpl;
-import com.elearn.dao.impl.CourseDAOImpl;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.model.Certificate;
+import com.elearn.model.CertificateJob;
 import com.elearn.model.Course;
+import com.elearn.service.CertificateRenderService;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CertificateFrame extends JFrame {
     private final int studentId;
     private final CertificateDAO certificateDAO = new CertificateDAOImpl();
-    private final CourseDAO courseDAO = new CourseDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
     private final DefaultListModel<Certificate> certificatesModel = new DefaultListModel<>();
+    // Latest render job per course id, polled while any is still rendering
+    private final Map<Integer, CertificateJob> renderJobs = new HashMap<>();
+    private final Timer renderPoll = new Timer(2000, e -> pollRenderJobs());
 
     public CertificateFrame(int studentId) {
         this.studentId = studentId;
@@ -29,6 +36,12 @@ public class CertificateFrame extends JFrame {
         createUI();
         loadCertificates();
     }
+
+    @Override
+    public void dispose() {
+        renderPoll.stop();
+        super.dispose();
+    }
     
     private void createUI() {
         setLayout(new BorderLayout(10, 10));
@@ -88,10 +101,20 @@ public class CertificateFrame extends JFrame {
             if (certificates.isEmpty()) {
                 infoArea.setText("No certificates found. Complete courses with 60% or higher quiz scores to earn certificates.");
             }
+            pollRenderJobs();
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Error loading certificates: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
+
+    private void pollRenderJobs() {
+        renderJobs.clear();
+        renderJobs.putAll(CertificateRenderService.getInstance().getLatestJobs(studentId));
+        boolean active = renderJobs.values().stream().anyMatch(CertificateJob::isActive);
+        if (active && !renderPoll.isRunning()) renderPoll.start();
+        else if (!active) renderPoll.stop();
+        repaint();
+    }
     
     private void onDownloadCertificate() {
         Certificate selected = getSelectedCertificate();
@@ -108,9 +131,18 @@ public class CertificateFrame extends JFrame {
                 return;
             }
             
+            CertificateJob job = renderJobs.get(selected.getCourseId());
+            if (job != null && job.isActive()) {
+                JOptionPane.showMessageDialog(this, "The certificate image is still being generated. Please try again in a moment.", "Not Ready", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            
             // Look for certificate file
+            File certificateFile = job != null && job.getFilePath() != null ? new File(job.getFilePath()) : null;
             String fileName = "Student_" + studentId + "_" + course.getTitle().replaceAll("[^a-zA-Z0-9]", "_") + "_certificate.png";
-            File certificateFile = new File("certificates", fileName);
+            if (certificateFile == null || !certificateFile.exists()) {
+                certificateFile = new File("certificates", fileName);
+            }
             
             if (!certificateFile.exists()) {
                 // Try alternative naming pattern
@@ -156,12 +188,20 @@ public class CertificateFrame extends JFrame {
                     String courseTitle = course != null ? course.getTitle() : "Unknown Course";
                     setText("<html><b>🏆 " + courseTitle + "</b><br>" +
                            "Issued: " + certificate.getIssueDate() + "<br>" +
-                           "Status: " + certificate.getStatus() + "</html>");
+                           "Status: " + certificate.getStatus() + imageStatus(certificate.getCourseId()) + "</html>");
                 } catch (Exception e) {
                     setText("Certificate " + certificate.getCertId());
                 }
             }
             return this;
         }
+
+        private String imageStatus(int courseId) {
+            CertificateJob job = renderJobs.get(courseId);
+            if (job == null) return "";
+            if (job.isActive()) return " &middot; Image: generating…";
+            if (CertificateJob.FAILED.equals(job.getStatus())) return " &middot; Image: failed";
+            return " &middot; Image: ready";
+        }
     }
 }
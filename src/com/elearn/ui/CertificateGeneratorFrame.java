@@ -3,9 +3,9 @@ package com.elearn.ui;
 import com.elearn.dao.StudentDAO;
 import com.elearn.dao.CourseDAO;
 import com.elearn.dao.QuizDAO;
-import com.elearn.dao.impl.StudentDAOImpl;
-import com.elearn.dao.impl.CourseDAOImpl;
-import com.elearn.dao.impl.QuizDAOImpl;
+import com.elearn.dao.impl.CachingStudentDAO;
+import com.elearn.dao.impl.CachingCourseDAO;
+import com.elearn.dao.impl.CachingQuizDAO;
 import com.elearn.model.Student;
 import com.elearn.model.Course;
 import com.elearn.model.QuizResult;
@@ -28,9 +28,9 @@ public class CertificateGeneratorFrame extends JFrame implements Printable {
     private final Student student;
     private final Course course;
     private final QuizResult quizResult;
-    private final StudentDAO studentDAO = new StudentDAOImpl();
-    private final CourseDAO courseDAO = new CourseDAOImpl();
-    private final QuizDAO quizDAO = new QuizDAOImpl();
+    private final StudentDAO studentDAO = CachingStudentDAO.getInstance();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
+    private final QuizDAO quizDAO = CachingQuizDAO.getInstance();
     
     private JPanel certificatePanel;
     private Certificate certificate;
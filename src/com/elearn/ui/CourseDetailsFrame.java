@@ -4,7 +4,7 @@ import com.elearn.dao.MaterialDAO;
 import com.elearn.dao.QuizDAO;
 import com.elearn.dao.EnrollmentDAO;
 import com.elearn.dao.impl.MaterialDAOImpl;
-import com.elearn.dao.impl.QuizDAOImpl;
+import com.elearn.dao.impl.CachingQuizDAO;
 import com.elearn.dao.impl.EnrollmentDAOImpl;
 import com.elearn.model.Course;
 import com.elearn.model.Material;
@@ -23,7 +23,7 @@ public class CourseDetailsFrame extends JFrame {
     private final Course course;
     private final Student student;
     private final MaterialDAO materialDAO = new MaterialDAOImpl();
-    private final QuizDAO quizDAO = new QuizDAOImpl();
+    private final QuizDAO quizDAO = CachingQuizDAO.getInstance();
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
     private final DefaultListModel<Material> materialsModel = new DefaultListModel<>();
     private final DefaultListModel<QuizQuestion> questionsModel = new DefaultListModel<>();
@@ -5,11 +5,20 @@ import com.elearn.model.Student;
 import com.elearn.service.CourseService;
 import com.elearn.service.EnrollmentService;
 import com.elearn.service.EnrollmentService.EnrollmentProgress;
+import com.elearn.util.CourseImageStore;
+import com.elearn.util.ThumbnailCache;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Enhanced Student Dashboard with progress tracking
@@ -22,6 +31,11 @@ public class EnhancedStudentDashboardFrame extends JFrame {
     private final JList<Course> courseList = new JList<>(courseListModel);
     private final JPanel progressPanel = new JPanel();
 
+    // View-model caches read by the renderer; filled off the EDT so painting never touches the DB or disk
+    private final Map<Integer, EnrollmentProgress> progressCache = new ConcurrentHashMap<>();
+    private final Map<String, Icon> thumbnailCache = new ConcurrentHashMap<>();
+    private int refreshGeneration;
+
     public EnhancedStudentDashboardFrame(Student student) {
         this.student = student;
         setTitle("📚 Welcome, " + student.getName() + " - E-Learning Dashboard");
@@ -168,12 +182,17 @@ public class EnhancedStudentDashboardFrame extends JFrame {
             progressPanel.add(Box.createVerticalStrut(20));
             progressPanel.add(noSelectionLabel);
         } else {
+            EnrollmentProgress progress = progressCache.get(selectedCourse.getCourseId());
+            if (progress == null) {
+                JLabel loadingLabel = new JLabel("Loading progress...");
+                loadingLabel.setFont(new Font("Arial", Font.ITALIC, 13));
+                loadingLabel.setForeground(Color.GRAY);
+                progressPanel.add(loadingLabel);
+                progressPanel.revalidate();
+                progressPanel.repaint();
+                return;
+            }
             try {
-                EnrollmentProgress progress = enrollmentService.getProgress(
-                    student.getStudentId(), 
-                    selectedCourse.getCourseId()
-                );
-                
                 // Course Title
                 JLabel titleLabel = new JLabel(selectedCourse.getTitle());
                 titleLabel.setFont(new Font("Arial", Font.BOLD, 16));
@@ -285,13 +304,94 @@ public class EnhancedStudentDashboardFrame extends JFrame {
     }
 
     private void loadCourses() {
-        courseListModel.clear();
-        List<Course> courses = courseService.getAllCourses();
-        for (Course c : courses) {
-            courseListModel.addElement(c);
+        refreshGeneration++;
+        new SwingWorker<List<Course>, Void>() {
+            private Map<Integer, EnrollmentProgress> progress;
+
+            @Override
+            protected List<Course> doInBackground() {
+                List<Course> courses = courseService.getAllCourses();
+                List<Integer> ids = new ArrayList<>();
+                for (Course c : courses) {
+                    ids.add(c.getCourseId());
+                    cacheThumbnail(c.getImagePath());
+                }
+                progress = enrollmentService.getProgressBatch(student.getStudentId(), ids);
+                return courses;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    List<Course> courses = get();
+                    progressCache.clear();
+                    progressCache.putAll(progress);
+                    courseListModel.clear();
+                    for (Course c : courses) {
+                        courseListModel.addElement(c);
+                    }
+                    updateProgressPanel();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Recompute progress for the listed courses in the background, e.g. after an enrollment,
+     * a completed material or a quiz submission, then repaint from the refreshed cache.
+     */
+    private void refreshProgress() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < courseListModel.size(); i++) {
+            ids.add(courseListModel.get(i).getCourseId());
+        }
+        final int generation = ++refreshGeneration;
+        new SwingWorker<Map<Integer, EnrollmentProgress>, Void>() {
+            @Override
+            protected Map<Integer, EnrollmentProgress> doInBackground() {
+                return new HashMap<>(enrollmentService.getProgressBatch(student.getStudentId(), ids));
+            }
+
+            @Override
+            protected void done() {
+                if (generation != refreshGeneration) return; // a newer refresh is in flight
+                try {
+                    progressCache.putAll(get());
+                    courseList.repaint();
+                    updateProgressPanel();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    // Keyed by the original path so the renderer never touches the disk; loads the list derivative
+    private void cacheThumbnail(String imagePath) {
+        if (imagePath == null || imagePath.isEmpty() || thumbnailCache.containsKey(imagePath)) return;
+        try {
+            BufferedImage thumb = ThumbnailCache.getInstance().get(
+                    CourseImageStore.pathFor(imagePath, CourseImageStore.Size.LIST), 60, 40);
+            if (thumb != null) {
+                thumbnailCache.put(imagePath, new ImageIcon(thumb));
+            }
+        } catch (Exception e) {
+            // Ignore image loading errors
         }
     }
 
+    /** Refresh cached progress once a child window that can change it has closed. */
+    private void refreshProgressWhenClosed(Window window) {
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refreshProgress();
+            }
+        });
+    }
+
     private void onEnroll() {
         Course c = courseList.getSelectedValue();
         if (c == null) {
@@ -302,7 +402,7 @@ public class EnhancedStudentDashboardFrame extends JFrame {
         boolean success = enrollmentService.enrollStudent(student.getStudentId(), c.getCourseId());
         if (success) {
             JOptionPane.showMessageDialog(this, "Successfully enrolled in " + c.getTitle() + "!", "Enrollment Success", JOptionPane.INFORMATION_MESSAGE);
-            updateProgressPanel();
+            refreshProgress();
         } else {
             JOptionPane.showMessageDialog(this, "Already enrolled or enrollment failed", "Enrollment Failed", JOptionPane.WARNING_MESSAGE);
         }
@@ -325,11 +425,15 @@ public class EnhancedStudentDashboardFrame extends JFrame {
             return;
         }
         
-        new QuizFrame(student.getStudentId(), c).setVisible(true);
+        QuizFrame quizFrame = new QuizFrame(student.getStudentId(), c);
+        refreshProgressWhenClosed(quizFrame);
+        quizFrame.setVisible(true);
     }
 
     private void onMaterials() {
-        new MaterialReadingFrame(student.getStudentId()).setVisible(true);
+        MaterialReadingFrame readingFrame = new MaterialReadingFrame(student.getStudentId());
+        refreshProgressWhenClosed(readingFrame);
+        readingFrame.setVisible(true);
     }
 
     private void onCertificates() {
@@ -362,13 +466,8 @@ public class EnhancedStudentDashboardFrame extends JFrame {
             if (value instanceof Course) {
                 Course course = (Course) value;
                 
-                // Get progress
-                EnrollmentProgress progress = null;
-                try {
-                    progress = enrollmentService.getProgress(student.getStudentId(), course.getCourseId());
-                } catch (Exception e) {
-                    // Ignore
-                }
+                // Progress and thumbnail come from the caches only; no I/O while painting
+                EnrollmentProgress progress = progressCache.get(course.getCourseId());
                 
                 String status = "";
                 if (progress != null && progress.isCompleted()) {
@@ -377,20 +476,9 @@ public class EnhancedStudentDashboardFrame extends JFrame {
                     status = " 🔄 " + progress.getProgressPercentage() + "%";
                 }
                 
-                // Try to load thumbnail if image exists
-                if (course.getImagePath() != null && !course.getImagePath().isEmpty()) {
-                    try {
-                        java.io.File imageFile = new java.io.File(course.getImagePath());
-                        if (imageFile.exists()) {
-                            java.awt.image.BufferedImage img = javax.imageio.ImageIO.read(imageFile);
-                            if (img != null) {
-                                Image thumbnail = img.getScaledInstance(60, 40, Image.SCALE_SMOOTH);
-                                setIcon(new ImageIcon(thumbnail));
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Ignore image loading errors
-                    }
+                if (course.getImagePath() != null) {
+                    Icon thumbnail = thumbnailCache.get(course.getImagePath());
+                    if (thumbnail != null) setIcon(thumbnail);
                 }
                 
                 setText(String.format("<html><b>%s</b>%s<br><i>%s</i></html>", 
@@ -1,16 +1,18 @@
 package com.elearn.ui;
 
 import com.elearn.dao.CourseDAO;
-import com.elearn.dao.impl.CourseDAOImpl;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.model.Admin;
 import com.elearn.model.Course;
+import com.elearn.service.CertificateBatchIssuer;
+import com.elearn.service.CertificateRenderService;
+import com.elearn.util.CourseImageStore;
+import com.elearn.util.ThumbnailCache;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.util.List;
 
 /**
@@ -18,7 +20,7 @@ import java.util.List;
  */
 public class FullyFunctionalAdminDashboard extends JFrame {
     private final Admin admin;
-    private final CourseDAO courseDAO = new CourseDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
     private final DefaultListModel<Course> courseListModel = new DefaultListModel<>();
     private final JList<Course> courseList = new JList<>(courseListModel);
     private final JPanel courseDetailsPanel = new JPanel();
@@ -134,23 +136,26 @@ public class FullyFunctionalAdminDashboard extends JFrame {
         
         // Management Action Buttons
         JPanel actionPanel = new JPanel();
-        actionPanel.setLayout(new GridLayout(4, 1, 10, 10));
+        actionPanel.setLayout(new GridLayout(5, 1, 10, 10));
         actionPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
         
         JButton materialsBtn = createButton("📁 Material Management", new Color(33, 150, 243));
         JButton quizBtn = createButton("📝 Quiz Management", new Color(255, 152, 0));
         JButton studentsBtn = createButton("👥 View Students", new Color(156, 39, 176));
         JButton reportsBtn = createButton("📊 Reports", new Color(0, 150, 136));
+        JButton certificatesBtn = createButton("🏆 Issue Certificates", new Color(121, 85, 72));
         
         materialsBtn.addActionListener(e -> onMaterialManagement());
         quizBtn.addActionListener(e -> onQuizManagement());
         studentsBtn.addActionListener(e -> onViewStudents());
         reportsBtn.addActionListener(e -> onReports());
+        certificatesBtn.addActionListener(e -> onIssueCertificates());
         
         actionPanel.add(materialsBtn);
         actionPanel.add(quizBtn);
         actionPanel.add(studentsBtn);
         actionPanel.add(reportsBtn);
+        actionPanel.add(certificatesBtn);
         
         rightPanel.add(actionPanel, BorderLayout.SOUTH);
         
@@ -187,17 +192,14 @@ public class FullyFunctionalAdminDashboard extends JFrame {
             // Course Image
             if (selectedCourse.getImagePath() != null && !selectedCourse.getImagePath().isEmpty()) {
                 try {
-                    File imageFile = new File(selectedCourse.getImagePath());
-                    if (imageFile.exists()) {
-                        BufferedImage img = ImageIO.read(imageFile);
-                        if (img != null) {
-                            Image scaledImg = img.getScaledInstance(400, 250, Image.SCALE_SMOOTH);
-                            JLabel imageLabel = new JLabel(new ImageIcon(scaledImg));
-                            imageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-                            imageLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-                            courseDetailsPanel.add(imageLabel);
-                            courseDetailsPanel.add(Box.createVerticalStrut(15));
-                        }
+                    BufferedImage scaledImg = ThumbnailCache.getInstance().get(
+                            CourseImageStore.pathFor(selectedCourse.getImagePath(), CourseImageStore.Size.DETAIL), 400, 250);
+                    if (scaledImg != null) {
+                        JLabel imageLabel = new JLabel(new ImageIcon(scaledImg));
+                        imageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+                        imageLabel.setBorder(BorderFactory.createLineBorder(Color.GRAY));
+                        courseDetailsPanel.add(imageLabel);
+                        courseDetailsPanel.add(Box.createVerticalStrut(15));
                     }
                 } catch (Exception e) {
                     System.err.println("Error loading course image: " + e.getMessage());
@@ -355,13 +357,8 @@ public class FullyFunctionalAdminDashboard extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                // Delete course image file if exists
-                if (selected.getImagePath() != null && !selected.getImagePath().isEmpty()) {
-                    File imageFile = new File(selected.getImagePath());
-                    if (imageFile.exists()) {
-                        imageFile.delete();
-                    }
-                }
+                // Delete course image file and its derivatives if they exist
+                CourseImageStore.delete(selected.getImagePath());
                 
                 boolean success = courseDAO.delete(selected.getCourseId());
                 if (success) {
@@ -407,6 +404,78 @@ public class FullyFunctionalAdminDashboard extends JFrame {
             JOptionPane.INFORMATION_MESSAGE);
     }
 
+    private void onIssueCertificates() {
+        Course selected = courseList.getSelectedValue();
+        if (selected == null) {
+            JOptionPane.showMessageDialog(this, 
+                "Please select a course first", 
+                "No Course Selected", 
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        Object[] formats = { "PDF (vector)", "PNG (image)", "Cancel" };
+        int choice = JOptionPane.showOptionDialog(this, 
+            "Issue and render certificates for every student who has completed '" + selected.getTitle() + "'?", 
+            "Issue Certificates", 
+            JOptionPane.DEFAULT_OPTION, 
+            JOptionPane.QUESTION_MESSAGE, 
+            null, formats, formats[0]);
+        if (choice != 0 && choice != 1) return;
+        final CertificateBatchIssuer.Format format = choice == 0 
+            ? CertificateBatchIssuer.Format.PDF : CertificateBatchIssuer.Format.PNG;
+        
+        final String title = getTitle();
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<CertificateBatchIssuer.Result, String>() {
+            @Override
+            protected CertificateBatchIssuer.Result doInBackground() {
+                CertificateBatchIssuer issuer = new CertificateBatchIssuer();
+                issuer.setFormat(format);
+                issuer.setProgressListener((done, total) -> publish(done + "/" + total));
+                return issuer.issueForCourse(selected.getCourseId(), CertificateRenderService.OUTPUT_DIR);
+            }
+            
+            @Override
+            protected void process(List<String> chunks) {
+                setTitle(title + " - rendering certificates (" + chunks.get(chunks.size() - 1) + ")");
+            }
+            
+            @Override
+            protected void done() {
+                setTitle(title);
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    CertificateBatchIssuer.Result result = get();
+                    StringBuilder message = new StringBuilder();
+                    message.append("Eligible students: ").append(result.getEligible()).append("\n");
+                    message.append("Newly issued: ").append(result.getIssued()).append("\n");
+                    message.append("Rendered: ").append(result.getRendered());
+                    message.append(String.format(" in %.1fs (%.1f certificates/s)", 
+                        result.getElapsedMillis() / 1000.0, result.getCertificatesPerSecond()));
+                    if (result.getPngFallbacks() > 0) {
+                        message.append("\nRendered as PNG (name or title not printable in PDF): ").append(result.getPngFallbacks());
+                    }
+                    if (result.getFailed() > 0) {
+                        message.append("\nFailed: ").append(result.getFailed());
+                        for (String error : result.getErrors().subList(0, Math.min(5, result.getErrors().size()))) {
+                            message.append("\n  ").append(error);
+                        }
+                    }
+                    JOptionPane.showMessageDialog(FullyFunctionalAdminDashboard.this, 
+                        message.toString(), 
+                        "Certificates", 
+                        result.getFailed() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(FullyFunctionalAdminDashboard.this, 
+                        "Error issuing certificates: " + e.getMessage(), 
+                        "Error", 
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     private void onLogout() {
         int confirm = JOptionPane.showConfirmDialog(this, 
             "Are you sure you want to logout?", 
@@ -1,18 +1,15 @@
 package com.elearn.ui;
 
 import com.elearn.model.Course;
+import com.elearn.util.CourseImageStore;
+import com.elearn.util.ThumbnailCache;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 
 /**
  * Fully functional course creation/editing dialog with image upload
@@ -43,7 +40,7 @@ public class FunctionalCourseDialog extends JDialog {
             
             // Load existing image if available
             if (existingImagePath != null && !existingImagePath.isEmpty()) {
-                loadImagePreview(new File(existingImagePath));
+                loadImagePreview(new File(CourseImageStore.pathFor(existingCourse.getImagePath(), CourseImageStore.Size.PREVIEW)));
             }
         }
         
@@ -189,10 +186,9 @@ public class FunctionalCourseDialog extends JDialog {
 
     private void loadImagePreview(File imageFile) {
         try {
-            BufferedImage img = ImageIO.read(imageFile);
-            if (img != null) {
-                // Scale image to fit preview
-                Image scaledImg = img.getScaledInstance(200, 150, Image.SCALE_SMOOTH);
+            // Scale image to fit preview
+            BufferedImage scaledImg = ThumbnailCache.getInstance().get(imageFile, 200, 150);
+            if (scaledImg != null) {
                 imagePreviewLabel.setIcon(new ImageIcon(scaledImg));
                 imagePreviewLabel.setText("");
             }
@@ -248,21 +244,8 @@ public class FunctionalCourseDialog extends JDialog {
         // Handle image file
         if (selectedImageFile != null) {
             try {
-                // Create course_images directory if it doesn't exist
-                Path imagesDir = Paths.get("course_images");
-                if (!Files.exists(imagesDir)) {
-                    Files.createDirectories(imagesDir);
-                }
-
-                // Generate unique filename
-                String extension = getFileExtension(selectedImageFile.getName());
-                String filename = "course_" + System.currentTimeMillis() + extension;
-                Path destination = imagesDir.resolve(filename);
-
-                // Copy image file
-                Files.copy(selectedImageFile.toPath(), destination, StandardCopyOption.REPLACE_EXISTING);
-                course.setImagePath(destination.toString());
-                
+                // Copy the original and write the list/preview/detail derivatives
+                course.setImagePath(CourseImageStore.store(selectedImageFile));
             } catch (IOException e) {
                 JOptionPane.showMessageDialog(this, 
                     "Failed to save image: " + e.getMessage(), 
@@ -284,14 +267,6 @@ public class FunctionalCourseDialog extends JDialog {
         dispose();
     }
 
-    private String getFileExtension(String filename) {
-        int lastDot = filename.lastIndexOf('.');
-        if (lastDot > 0 && lastDot < filename.length() - 1) {
-            return filename.substring(lastDot);
-        }
-        return ".jpg";
-    }
-
     public boolean isOkPressed() {
         return okPressed;
     }
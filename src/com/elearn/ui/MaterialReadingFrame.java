@@ -4,12 +4,13 @@ import com.elearn.dao.CourseDAO;
 import com.elearn.dao.MaterialDAO;
 import com.elearn.dao.MaterialCompletionDAO;
 import com.elearn.dao.EnrollmentDAO;
-import com.elearn.dao.impl.CourseDAOImpl;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.dao.impl.MaterialDAOImpl;
-import com.elearn.dao.impl.MaterialCompletionDAOImpl;
+import com.elearn.dao.impl.CoalescingCompletionDAO;
 import com.elearn.dao.impl.EnrollmentDAOImpl;
 import com.elearn.model.Course;
 import com.elearn.model.Material;
+import com.elearn.service.CompletionIndex;
 
 import javax.swing.*;
 import java.awt.*;
@@ -18,9 +19,9 @@ import java.util.List;
 
 public class MaterialReadingFrame extends JFrame {
     private final int studentId;
-    private final CourseDAO courseDAO = new CourseDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
     private final MaterialDAO materialDAO = new MaterialDAOImpl();
-    private final MaterialCompletionDAO completionDAO = new MaterialCompletionDAOImpl();
+    private final MaterialCompletionDAO completionDAO = CoalescingCompletionDAO.getInstance();
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
     private final DefaultListModel<Course> coursesModel = new DefaultListModel<>();
     private final DefaultListModel<Material> materialsModel = new DefaultListModel<>();
@@ -197,19 +198,11 @@ public class MaterialReadingFrame extends JFrame {
                 return;
             }
             
-            boolean allCompleted = true;
-            int totalMaterials = materials.size();
-            int completedCount = 0;
+            CompletionIndex completionIndex = CompletionIndex.getInstance();
+            int totalMaterials = completionIndex.materialCount(selectedCourse.getCourseId());
+            int completedCount = completionIndex.completedCount(studentId, selectedCourse.getCourseId());
             
-            for (Material material : materials) {
-                if (completionDAO.isCompleted(studentId, material.getMaterialId())) {
-                    completedCount++;
-                } else {
-                    allCompleted = false;
-                }
-            }
-            
-            if (!allCompleted) {
+            if (completedCount < totalMaterials) {
                 JOptionPane.showMessageDialog(this, 
                     String.format("You must complete all materials before taking the quiz.\n\nProgress: %d/%d materials completed", 
                     completedCount, totalMaterials), 
@@ -249,7 +242,7 @@ public class MaterialReadingFrame extends JFrame {
                 Material material = (Material) value;
                 boolean isCompleted = false;
                 try {
-                    isCompleted = completionDAO.isCompleted(studentId, material.getMaterialId());
+                    isCompleted = CompletionIndex.getInstance().isCompleted(studentId, material.getCourseId(), material.getMaterialId());
                 } catch (Exception e) {
                     // Ignore error
                 }
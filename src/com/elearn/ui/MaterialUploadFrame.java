@@ -1,23 +1,21 @@
 package com.elearn.ui;
 
 import com.elearn.dao.CourseDAO;
-import com.elearn.dao.MaterialDAO;
-import com.elearn.dao.impl.CourseDAOImpl;
-import com.elearn.dao.impl.MaterialDAOImpl;
+import com.elearn.dao.impl.BlobStoreMaterialDAO;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.model.Course;
 import com.elearn.model.Material;
 import com.elearn.util.DocumentTextExtractor;
+import com.elearn.util.MaterialBlobStore;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 
 public class MaterialUploadFrame extends JFrame {
-    private final CourseDAO courseDAO = new CourseDAOImpl();
-    private final MaterialDAO materialDAO = new MaterialDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
+    private final BlobStoreMaterialDAO materialDAO = BlobStoreMaterialDAO.getInstance();
     private final DefaultListModel<Course> coursesModel = new DefaultListModel<>();
     private final DefaultListModel<Material> materialsModel = new DefaultListModel<>();
     private File selectedFile;
@@ -168,23 +166,11 @@ public class MaterialUploadFrame extends JFrame {
         }
         
         try {
-            // Create materials directory if it doesn't exist
-            File materialsDir = new File("materials");
-            if (!materialsDir.exists()) {
-                materialsDir.mkdirs();
-            }
-            
-            // Generate unique filename to avoid conflicts
-            String originalName = selectedFile.getName();
-            String uniqueFileName = System.currentTimeMillis() + "_" + originalName;
-            File destFile = new File(materialsDir, uniqueFileName);
-            Files.copy(selectedFile.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            
             // Create material record
+            String originalName = selectedFile.getName();
             Material material = new Material();
             material.setCourseId(selectedCourse.getCourseId());
             material.setFileName(originalName); // Store original name for display
-            material.setFilePath("materials/" + uniqueFileName);
             material.setType("file");
             
             // Try to extract text content if it's a document
@@ -193,9 +179,13 @@ public class MaterialUploadFrame extends JFrame {
                 material.setContent(content);
             }
             
-            boolean saved = materialDAO.create(material);
-            if (saved) {
-                JOptionPane.showMessageDialog(this, "Material uploaded successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            // Stored once per distinct content; the material points at the shared copy
+            MaterialBlobStore.Blob blob = materialDAO.create(material, selectedFile);
+            if (blob != null) {
+                String message = blob.isExisting()
+                        ? "Material uploaded successfully!\nAn identical file was already stored, so it is shared."
+                        : "Material uploaded successfully!";
+                JOptionPane.showMessageDialog(this, message, "Success", JOptionPane.INFORMATION_MESSAGE);
                 loadMaterials(selectedCourse.getCourseId());
                 selectedFile = null;
                 updateFileLabel();
@@ -300,13 +290,7 @@ public class MaterialUploadFrame extends JFrame {
         
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                // Delete file from filesystem
-                File file = new File(selected.getFilePath());
-                if (file.exists()) {
-                    file.delete();
-                }
-                
-                // Delete record from database
+                // Delete the record; its file goes once no other material shares it
                 boolean deleted = materialDAO.delete(selected.getMaterialId());
                 if (deleted) {
                     JOptionPane.showMessageDialog(this, "Material deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
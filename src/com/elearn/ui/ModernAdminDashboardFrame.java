@@ -3,7 +3,7 @@ package com.elearn.ui;
 import com.elearn.model.Admin;
 import com.elearn.model.Course;
 import com.elearn.dao.CourseDAO;
-import com.elearn.dao.impl.CourseDAOImpl;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.util.ModernTheme;
 
 import javax.swing.*;
@@ -13,7 +13,7 @@ import java.util.List;
 
 public class ModernAdminDashboardFrame extends JFrame {
     private final Admin admin;
-    private final CourseDAO courseDAO = new CourseDAOImpl();
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
     private final DefaultListModel<Course> coursesModel = new DefaultListModel<>();
     private JList<Course> coursesList;
 
@@ -2,13 +2,13 @@ package com.elearn.ui;
 
 import com.elearn.model.Course;
 import com.elearn.util.ModernTheme;
+import com.elearn.util.ThumbnailCache;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import javax.imageio.ImageIO;
 
 public class ModernCourseDialog extends JDialog {
     private final JTextField titleField;
@@ -209,10 +209,9 @@ public class ModernCourseDialog extends JDialog {
     private void updateImagePreview() {
         if (selectedImageFile != null) {
             try {
-                BufferedImage image = ImageIO.read(selectedImageFile);
-                if (image != null) {
-                    // Scale image to fit preview
-                    Image scaledImage = image.getScaledInstance(200, 150, Image.SCALE_SMOOTH);
+                // Scale image to fit preview
+                BufferedImage scaledImage = ThumbnailCache.getInstance().get(selectedImageFile, 200, 150);
+                if (scaledImage != null) {
                     imagePreviewLabel.setIcon(new ImageIcon(scaledImage));
                     imagePreviewLabel.setText("");
                 }
@@ -0,0 +1,189 @@
+package com.elearn.ui;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableColumnModel;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Table model that pulls rows a page at a time from a keyset-paged source.
+ *
+ * Only the first page is fetched up front; further pages are loaded in the background when
+ * the attached scroll pane nears the last loaded row. Each fetch continues after the id of the
+ * last row received, as keyset-paged sources such as ReportDAO.findEnrollmentReportPage and
+ * StudentDAO.findPage expect. With sortOnHeaderClick(), clicking a column header re-sources the
+ * model in that column's order, so sorting happens in the source rather than over loaded rows.
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+    /** Fetches up to limit items following the item with id afterId (0 for the first page). */
+    public interface PageSource<T> {
+        List<T> fetch(int afterId, int limit) throws Exception;
+    }
+
+    private static final int PREFETCH_ROWS = 50;
+
+    private final String[] columns;
+    private final Function<T, Object[]> rowMapper;
+    private final ToIntFunction<T> idOf;
+    private final int pageSize;
+
+    private final List<T> items = new ArrayList<>();
+    private final List<Object[]> rows = new ArrayList<>();
+    private PageSource<T> source;
+    private JScrollPane scrollPane;
+    private int lastId;
+    private boolean exhausted = true;
+    private boolean loading;
+    private int sortColumn = -1;
+    // Bumped by setSource(), so a page still in flight for the previous source is dropped
+    private int generation;
+
+    public PagedTableModel(String[] columns, int pageSize, ToIntFunction<T> idOf, Function<T, Object[]> rowMapper) {
+        this.columns = columns;
+        this.pageSize = pageSize;
+        this.idOf = idOf;
+        this.rowMapper = rowMapper;
+    }
+
+    /** Replace the source (e.g. a new search or sort), clear the rows and load the first page. */
+    public void setSource(PageSource<T> source) {
+        generation++;
+        this.source = source;
+        items.clear();
+        rows.clear();
+        lastId = 0;
+        exhausted = false;
+        loading = false;
+        fireTableDataChanged();
+        loadNextPage();
+    }
+
+    /** Load further pages as the user scrolls toward the end of this scroll pane. */
+    public void attachTo(JScrollPane scrollPane) {
+        this.scrollPane = scrollPane;
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            if (!e.getValueIsAdjusting()) loadIfNearEnd();
+        });
+    }
+
+    /**
+     * Sort by a column when its header is clicked: columns accepted by sortable become the sort
+     * column, marked in the header, and refresh is run to setSource() with rows in that order.
+     */
+    public void sortOnHeaderClick(JTable table, int initialColumn, IntPredicate sortable, Runnable refresh) {
+        sortColumn = initialColumn;
+        markSortColumn(table);
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int view = table.columnAtPoint(e.getPoint());
+                if (view < 0) return;
+                int column = table.convertColumnIndexToModel(view);
+                if (column == sortColumn || !sortable.test(column)) return;
+                sortColumn = column;
+                markSortColumn(table);
+                refresh.run();
+            }
+        });
+    }
+
+    /** The model column rows are sorted by, or -1 for the source's own order. */
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    private void markSortColumn(JTable table) {
+        TableColumnModel columnModel = table.getColumnModel();
+        for (int i = 0; i < columnModel.getColumnCount(); i++) {
+            int column = columnModel.getColumn(i).getModelIndex();
+            columnModel.getColumn(i).setHeaderValue(columns[column] + (column == sortColumn ? " \u25B2" : ""));
+        }
+        table.getTableHeader().repaint();
+    }
+
+    public T getItem(int row) {
+        return items.get(row);
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    private void loadIfNearEnd() {
+        if (exhausted || loading) return;
+        if (scrollPane == null) return;
+        JScrollBar bar = scrollPane.getVerticalScrollBar();
+        JViewport viewport = scrollPane.getViewport();
+        int rowHeight = viewport.getView() instanceof JTable ? ((JTable) viewport.getView()).getRowHeight() : 16;
+        int remaining = bar.getMaximum() - (bar.getValue() + bar.getVisibleAmount());
+        // Also covers a first page too short to fill the viewport, where there is no scrolling
+        if (remaining <= PREFETCH_ROWS * rowHeight) loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (exhausted || loading || source == null) return;
+        loading = true;
+        final int requestGeneration = generation;
+        final int afterId = lastId;
+        final PageSource<T> pageSource = source;
+
+        new SwingWorker<List<T>, Void>() {
+            @Override
+            protected List<T> doInBackground() throws Exception {
+                return pageSource.fetch(afterId, pageSize);
+            }
+
+            @Override
+            protected void done() {
+                if (requestGeneration != generation) return;
+                loading = false;
+                List<T> page;
+                try {
+                    page = get();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    exhausted = true;
+                    return;
+                }
+                if (page.size() < pageSize) exhausted = true;
+                if (page.isEmpty()) return;
+
+                int first = rows.size();
+                for (T item : page) {
+                    items.add(item);
+                    rows.add(rowMapper.apply(item));
+                }
+                lastId = idOf.applyAsInt(page.get(page.size() - 1));
+                fireTableRowsInserted(first, rows.size() - 1);
+                // Layout has to catch up with the new rows before the scroll bar reflects them
+                SwingUtilities.invokeLater(() -> loadIfNearEnd());
+            }
+        }.execute();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return rows.get(rowIndex)[columnIndex];
+    }
+}
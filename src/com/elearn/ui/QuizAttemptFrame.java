@@ -1,7 +1,7 @@
 package com.elearn.ui;
 
 import com.elearn.dao.QuizDAO;
-import com.elearn.dao.impl.QuizDAOImpl;
+import com.elearn.dao.impl.CachingQuizDAO;
 import com.elearn.model.Course;
 import com.elearn.model.Quiz;
 import com.elearn.model.Question;
@@ -20,7 +20,7 @@ import java.util.Map;
 public class QuizAttemptFrame extends JFrame {
     private final Student student;
     private final Course course;
-    private final QuizDAO quizDAO = new QuizDAOImpl();
+    private final QuizDAO quizDAO = CachingQuizDAO.getInstance();
     private Quiz quiz;
     private List<Question> questions;
     private Map<Integer, String> userAnswers = new HashMap<>();
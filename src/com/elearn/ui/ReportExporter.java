@@ -0,0 +1,66 @@
+package com.elearn.ui;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Asks for a CSV or XLSX destination and runs a report export off the event thread.
+ */
+final class ReportExporter {
+    /** Writes the report to the chosen file and returns the number of rows written. */
+    interface ExportTask {
+        int export(File file) throws IOException;
+    }
+
+    private ReportExporter() {}
+
+    static void export(Component parent, String defaultName, ExportTask task) {
+        FileNameExtensionFilter xlsx = new FileNameExtensionFilter("Excel Workbook (*.xlsx)", "xlsx");
+        FileNameExtensionFilter csv = new FileNameExtensionFilter("CSV (*.csv)", "csv");
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Report");
+        chooser.addChoosableFileFilter(xlsx);
+        chooser.addChoosableFileFilter(csv);
+        chooser.setFileFilter(xlsx);
+        chooser.setSelectedFile(new File(defaultName + ".xlsx"));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+
+        File chosen = chooser.getSelectedFile();
+        String name = chosen.getName().toLowerCase();
+        if (!name.endsWith(".xlsx") && !name.endsWith(".csv")) {
+            String ext = chooser.getFileFilter() == csv ? ".csv" : ".xlsx";
+            chosen = new File(chosen.getParentFile(), chosen.getName() + ext);
+        }
+        if (chosen.exists() && JOptionPane.showConfirmDialog(parent, chosen.getName() + " already exists. Replace it?",
+                "Export Report", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        final File file = chosen;
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return task.export(file);
+            }
+
+            @Override
+            protected void done() {
+                parent.setCursor(Cursor.getDefaultCursor());
+                try {
+                    int rows = get();
+                    JOptionPane.showMessageDialog(parent, "Exported " + rows + " rows to " + file.getAbsolutePath(),
+                            "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(parent, "Error exporting report: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    cause.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+}
@@ -1,34 +1,25 @@
 package com.elearn.ui;
 
-import com.elearn.dao.EnrollmentDAO;
 import com.elearn.dao.CourseDAO;
-import com.elearn.dao.StudentDAO;
-import com.elearn.dao.impl.EnrollmentDAOImpl;
-import com.elearn.dao.impl.CourseDAOImpl;
-import com.elearn.dao.impl.StudentDAOImpl;
+import com.elearn.dao.ReportDAO;
+import com.elearn.dao.impl.CachingCourseDAO;
 import com.elearn.model.Course;
-import com.elearn.model.Student;
-import com.elearn.model.Enrollment;
-import com.elearn.model.Certificate;
-import com.elearn.service.CourseService;
+import com.elearn.model.EnrollmentReportRow;
+import com.elearn.service.ReportService;
 import com.elearn.util.ModernTheme;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 
 public class ReportsFrame extends JFrame {
-    private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
-    private final CourseDAO courseDAO = new CourseDAOImpl();
-    private final StudentDAO studentDAO = new StudentDAOImpl();
-    private final CourseService courseService = new CourseService();
-    private final com.elearn.dao.CertificateDAO certificateDAO = new com.elearn.dao.impl.CertificateDAOImpl();
+    private static final int PAGE_SIZE = 200;
+
+    private final CourseDAO courseDAO = CachingCourseDAO.getInstance();
+    private final ReportService reportService = new ReportService();
     
     private JTable enrollmentTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<EnrollmentReportRow> tableModel;
     private JComboBox<Course> courseFilter;
     private JComboBox<String> statusFilter;
     private final DefaultComboBoxModel<Course> courseModel = new DefaultComboBoxModel<>();
@@ -69,24 +60,41 @@ public class ReportsFrame extends JFrame {
         headerPanel.add(statusLabel);
         headerPanel.add(statusFilter);
 
+        // Exports stream from the database with the current filters, not from the table
+        JButton exportEnrollmentsBtn = ModernTheme.createSecondaryButton("📤 Export Enrollments");
+        JButton exportQuizBtn = ModernTheme.createSecondaryButton("📤 Export Quiz Results");
+        exportEnrollmentsBtn.addActionListener(e -> exportEnrollments());
+        exportQuizBtn.addActionListener(e -> exportQuizResults());
+        headerPanel.add(Box.createHorizontalStrut(20));
+        headerPanel.add(exportEnrollmentsBtn);
+        headerPanel.add(exportQuizBtn);
+
         // Table
         String[] columns = {
             "Student ID", "Student Name", "Course", "Enrollment Date", 
             "Materials Completed", "Quiz Score", "Status", "Certificates"
         };
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Rows are fetched a page at a time as the table scrolls
+        tableModel = new PagedTableModel<>(columns, PAGE_SIZE, EnrollmentReportRow::getEnrollId, r -> new Object[]{
+            r.getStudentId(),
+            r.getStudentName(),
+            r.getCourseTitle(),
+            r.getEnrollDate(),
+            String.format("%.1f%%", r.getCompletionPercentage()),
+            r.getBestQuizScore() != null ? r.getBestQuizScore() + "%" : "N/A",
+            r.getStatus(),
+            r.getCertificateCount()
+        });
 
         enrollmentTable = new JTable(tableModel);
         enrollmentTable.setRowHeight(30);
         enrollmentTable.getTableHeader().setReorderingAllowed(false);
+        // Sorted in the query; the computed columns have no index to seek on
+        tableModel.sortOnHeaderClick(enrollmentTable, 2, column -> sortFor(column) != null, this::refreshTable);
         
         JScrollPane scrollPane = new JScrollPane(enrollmentTable);
         scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        tableModel.attachTo(scrollPane);
 
         // Summary Panel
         JPanel summaryPanel = new JPanel(new GridLayout(1, 4, 10, 10));
@@ -118,65 +126,43 @@ public class ReportsFrame extends JFrame {
     }
 
     private void refreshTable() {
-        tableModel.setRowCount(0);
-        try {
-            Course selectedCourse = (Course) courseFilter.getSelectedItem();
-            String selectedStatus = (String) statusFilter.getSelectedItem();
-
-            List<Enrollment> enrollments;
-            if (selectedCourse != null && selectedCourse.getCourseId() != -1) {
-                enrollments = enrollmentDAO.findByCourseId(selectedCourse.getCourseId());
-            } else {
-                enrollments = enrollmentDAO.findAll();
-            }
+        Course selectedCourse = (Course) courseFilter.getSelectedItem();
+        String selectedStatus = (String) statusFilter.getSelectedItem();
 
-            for (Enrollment enrollment : enrollments) {
-                Student student = studentDAO.findById(enrollment.getStudentId());
-                Course course = courseDAO.findById(enrollment.getCourseId());
-                
-                if (student == null || course == null) continue;
-
-                // Calculate completion percentage
-                double completionPercentage = courseService.getCompletionPercentage(
-                    enrollment.getStudentId(), 
-                    enrollment.getCourseId()
-                );
-
-                String status = completionPercentage >= 100 ? "Completed" : "In Progress";
-                
-                // Apply status filter
-                if (!"All".equals(selectedStatus) && !selectedStatus.equals(status)) {
-                    continue;
-                }
-
-                // Fetch certificates for student
-                List<Certificate> certs = certificateDAO.findByStudentId(student.getStudentId());
-                int certCount = certs != null ? certs.size() : 0;
-
-                Object[] row = {
-                    student.getStudentId(),
-                    student.getName(),
-                    course.getTitle(),
-                    enrollment.getEnrollDate(),
-                    String.format("%.1f%%", completionPercentage),
-                    // Quiz score: Enrollment does not always track quiz score here, show N/A
-                    "N/A",
-                    status,
-                    certCount
-                };
-                
-                tableModel.addRow(row);
-            }
+        int courseId = selectedCourse != null ? selectedCourse.getCourseId() : -1;
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error refreshing data: " + e.getMessage(), 
-                "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+        // Joined and aggregated server-side, one keyset page per query
+        ReportDAO.SortField sort = sortFor(tableModel.getSortColumn());
+        tableModel.setSource((afterId, limit) ->
+                reportService.getEnrollmentReportPage(courseId, selectedStatus, sort, afterId, limit));
+    }
+
+    private static ReportDAO.SortField sortFor(int column) {
+        switch (column) {
+            case 0: return ReportDAO.SortField.STUDENT_ID;
+            case 1: return ReportDAO.SortField.STUDENT_NAME;
+            case 2: return ReportDAO.SortField.COURSE;
+            case 3: return ReportDAO.SortField.ENROLL_DATE;
+            default: return null;
         }
     }
 
     private void filterData() {
         refreshTable();
     }
+
+    private void exportEnrollments() {
+        Course selectedCourse = (Course) courseFilter.getSelectedItem();
+        String selectedStatus = (String) statusFilter.getSelectedItem();
+        int courseId = selectedCourse != null ? selectedCourse.getCourseId() : -1;
+        ReportExporter.export(this, "enrollment_report",
+                file -> reportService.exportEnrollmentReport(courseId, selectedStatus, file));
+    }
+
+    private void exportQuizResults() {
+        Course selectedCourse = (Course) courseFilter.getSelectedItem();
+        int courseId = selectedCourse != null ? selectedCourse.getCourseId() : -1;
+        ReportExporter.export(this, "quiz_results",
+                file -> reportService.exportQuizResults(courseId, 0, file));
+    }
 }
\ No newline at end of file
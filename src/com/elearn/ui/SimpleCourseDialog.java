@@ -1,12 +1,12 @@
 package com.elearn.ui;
 
 import com.elearn.model.Course;
+import com.elearn.util.ThumbnailCache;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import javax.imageio.ImageIO;
 
 public class SimpleCourseDialog extends JDialog {
     private final JTextField titleField;
@@ -168,10 +168,9 @@ public class SimpleCourseDialog extends JDialog {
     private void updateImagePreview() {
         if (selectedImageFile != null) {
             try {
-                BufferedImage image = ImageIO.read(selectedImageFile);
-                if (image != null) {
-                    // Scale image to fit preview
-                    Image scaledImage = image.getScaledInstance(200, 150, Image.SCALE_SMOOTH);
+                // Scale image to fit preview
+                BufferedImage scaledImage = ThumbnailCache.getInstance().get(selectedImageFile, 200, 150);
+                if (scaledImage != null) {
                     imagePreviewLabel.setIcon(new ImageIcon(scaledImage));
                     imagePreviewLabel.setText("");
                 }
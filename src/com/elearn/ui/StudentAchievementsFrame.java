@@ -3,7 +3,7 @@ package com.elearn.ui;
 import com.elearn.dao.CertificateDAO;
 import com.elearn.dao.QuizDAO;
 import com.elearn.dao.impl.CertificateDAOImpl;
-import com.elearn.dao.impl.QuizDAOImpl;
+import com.elearn.dao.impl.CachingQuizDAO;
 import com.elearn.model.Certificate;
 import com.elearn.model.QuizResult;
 import com.elearn.model.Student;
@@ -17,7 +17,7 @@ import java.util.List;
 
 public class StudentAchievementsFrame extends JFrame {
     private final Student student;
-    private final QuizDAO quizDAO = new QuizDAOImpl();
+    private final QuizDAO quizDAO = CachingQuizDAO.getInstance();
     private final CertificateDAO certificateDAO = new CertificateDAOImpl();
     
     public StudentAchievementsFrame(Student student) {
@@ -2,25 +2,40 @@ package com.elearn.ui;
 
 import com.elearn.dao.StudentDAO;
 import com.elearn.dao.EnrollmentDAO;
-import com.elearn.dao.impl.StudentDAOImpl;
+import com.elearn.dao.impl.CachingStudentDAO;
 import com.elearn.dao.impl.EnrollmentDAOImpl;
 import com.elearn.model.Student;
 import com.elearn.model.Enrollment;
 import com.elearn.model.Course;
+import com.elearn.service.CohortEnrollmentService;
 import com.elearn.service.CourseService;
+import com.elearn.service.ImportRowError;
+import com.elearn.service.StudentRosterImporter;
+import com.elearn.service.StudentSearchIndex;
 import com.elearn.util.ModernTheme;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class StudentManagementFrame extends JFrame {
-    private final StudentDAO studentDAO = new StudentDAOImpl();
+    private final StudentDAO studentDAO = CachingStudentDAO.getInstance();
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
     private final CourseService courseService = new CourseService();
+    private final StudentSearchIndex searchIndex = StudentSearchIndex.getInstance();
+    private static final String[] COLUMNS = {"ID", "Name", "Email", "Courses Enrolled", "Last Login", "Status"};
+    private static final int PAGE_SIZE = 200;
+    // Coalesces keystrokes so the table is refilled once per pause in typing
+    private final Timer searchTimer = new Timer(150, e -> searchStudents());
     private JTable studentsTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<StudentSearchIndex.Entry> tableModel;
     private JTextField searchField;
     private JComboBox<String> filterComboBox;
     private JCheckBox onlyEnrolledCheckBox;
@@ -80,6 +95,15 @@ public class StudentManagementFrame extends JFrame {
 
     searchButton.addActionListener(e -> searchStudents());
     onlyEnrolledCheckBox.addActionListener(e -> searchStudents());
+    filterComboBox.addActionListener(e -> searchStudents());
+
+    // Search as you type
+    searchTimer.setRepeats(false);
+    searchField.getDocument().addDocumentListener(new DocumentListener() {
+        public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
+        public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
+        public void changedUpdate(DocumentEvent e) { searchTimer.restart(); }
+    });
 
     searchPanel.add(new JLabel("Filter:"));
     searchPanel.add(filterComboBox);
@@ -97,19 +121,23 @@ public class StudentManagementFrame extends JFrame {
         JPanel panel = ModernTheme.createCardPanel();
         
         // Create table model with columns
-        String[] columns = {"ID", "Name", "Email", "Courses Enrolled", "Last Login", "Status"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new PagedTableModel<>(COLUMNS, PAGE_SIZE, StudentSearchIndex.Entry::getStudentId, student -> new Object[]{
+            student.getStudentId(),
+            student.getName(),
+            student.getEmail(),
+            student.getEnrollmentCount(),
+            student.getLastLogin() != null ? student.getLastLogin() : "Never",
+            student.isActive() ? "Active" : "Inactive"
+        });
         
         studentsTable = new JTable(tableModel);
         studentsTable.setRowHeight(30);
-        studentsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        studentsTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        
+        tableModel.sortOnHeaderClick(studentsTable, 0, column -> sortFor(column) != null, this::searchStudents);
         
         JScrollPane scrollPane = new JScrollPane(studentsTable);
+        tableModel.attachTo(scrollPane);
         panel.add(scrollPane, BorderLayout.CENTER);
         
         return panel;
@@ -122,98 +150,86 @@ public class StudentManagementFrame extends JFrame {
         JButton viewDetailsBtn = ModernTheme.createModernButton("👁️ View Details");
         JButton viewProgressBtn = ModernTheme.createSecondaryButton("📊 View Progress");
         JButton exportBtn = ModernTheme.createSecondaryButton("📤 Export Data");
+        JButton importBtn = ModernTheme.createSecondaryButton("📥 Import Roster");
+        JButton enrollBtn = ModernTheme.createSecondaryButton("🎓 Enroll Selected");
         JButton closeBtn = ModernTheme.createSecondaryButton("❌ Close");
         
         viewDetailsBtn.addActionListener(e -> viewStudentDetails());
         viewProgressBtn.addActionListener(e -> viewStudentProgress());
         exportBtn.addActionListener(e -> exportStudentData());
+        importBtn.addActionListener(e -> importRoster());
+        enrollBtn.addActionListener(e -> enrollSelected());
         closeBtn.addActionListener(e -> dispose());
         
         panel.add(viewDetailsBtn);
         panel.add(viewProgressBtn);
         panel.add(exportBtn);
+        panel.add(importBtn);
+        panel.add(enrollBtn);
         panel.add(closeBtn);
         
         return panel;
     }
     
     private void loadStudents() {
-        tableModel.setRowCount(0);
-        
-        try {
-            List<Student> students = studentDAO.findAll();
-            
-            for (Student student : students) {
-                int coursesEnrolled = enrollmentDAO.findByStudentId(student.getStudentId()).size();
-
-                // If 'Only Enrolled' is checked, skip students with zero enrollments
-                if (onlyEnrolledCheckBox != null && onlyEnrolledCheckBox.isSelected() && coursesEnrolled == 0) {
-                    continue;
-                }
-                
-                Object[] row = {
-                    student.getStudentId(),
-                    student.getName(),
-                    student.getEmail(),
-                    coursesEnrolled,
-                    student.getLastLogin() != null ? student.getLastLogin() : "Never",
-                    student.isActive() ? "Active" : "Inactive"
-                };
-                
-                tableModel.addRow(row);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading students: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        searchStudents();
     }
     
     private void searchStudents() {
-        String searchTerm = searchField.getText().trim().toLowerCase();
-        String filter = (String) filterComboBox.getSelectedItem();
-        
-        tableModel.setRowCount(0);
+        searchTimer.stop();
+        final String query = searchField.getText();
+        final String filter = (String) filterComboBox.getSelectedItem();
+        final boolean onlyEnrolled = onlyEnrolledCheckBox != null && onlyEnrolledCheckBox.isSelected();
+        final StudentDAO.SortField sort = sortFor(tableModel.getSortColumn());
+        // The trigram index answers id-ordered searches; listings and other orders are paged by the DAO
+        final boolean useIndex = sort == StudentDAO.SortField.ID && !query.trim().isEmpty();
         
-        try {
-            List<Student> students = studentDAO.findAll();
-            
-            for (Student student : students) {
-                // Apply filters
-                if (!searchTerm.isEmpty() && 
-                    !student.getName().toLowerCase().contains(searchTerm) && 
-                    !student.getEmail().toLowerCase().contains(searchTerm)) {
-                    continue;
-                }
-                
-                if ("Active Students".equals(filter) && !student.isActive()) {
-                    continue;
-                }
-                
-                if ("Inactive Students".equals(filter) && student.isActive()) {
-                    continue;
+        // Rows are fetched a page at a time as the table scrolls
+        tableModel.setSource((afterId, limit) -> {
+            List<StudentSearchIndex.Entry> page = new ArrayList<>(limit);
+            int cursor = afterId;
+            while (page.size() < limit) {
+                List<StudentSearchIndex.Entry> chunk = useIndex
+                        ? searchIndex.search(query, cursor, limit)
+                        : studentPage(cursor, limit, sort, query);
+                if (chunk.isEmpty()) break;
+                for (StudentSearchIndex.Entry student : chunk) {
+                    cursor = student.getStudentId();
+                    if ("Active Students".equals(filter) && !student.isActive()) {
+                        continue;
+                    }
+                    if ("Inactive Students".equals(filter) && student.isActive()) {
+                        continue;
+                    }
+                    // Apply "Only Enrolled" filter
+                    if (onlyEnrolled && student.getEnrollmentCount() == 0) {
+                        continue;
+                    }
+                    page.add(student);
+                    if (page.size() == limit) break;
                 }
-                
-                int coursesEnrolled = enrollmentDAO.findByStudentId(student.getStudentId()).size();
-
-                // Apply "Only Enrolled" filter
-                if (onlyEnrolledCheckBox != null && onlyEnrolledCheckBox.isSelected() && coursesEnrolled == 0) {
-                    continue;
-                }
-                
-                Object[] row = {
-                    student.getStudentId(),
-                    student.getName(),
-                    student.getEmail(),
-                    coursesEnrolled,
-                    student.getLastLogin() != null ? student.getLastLogin() : "Never",
-                    student.isActive() ? "Active" : "Inactive"
-                };
-                
-                tableModel.addRow(row);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error searching students: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            return page;
+        });
+    }
+    
+    /** A keyset page of students from the DAO in the given order, with their enrollment counts. */
+    private List<StudentSearchIndex.Entry> studentPage(int afterId, int limit, StudentDAO.SortField sort, String query) {
+        List<Student> students = studentDAO.findPage(afterId, limit, sort, query);
+        List<Integer> ids = new ArrayList<>(students.size());
+        for (Student s : students) ids.add(s.getStudentId());
+        Map<Integer, Integer> counts = enrollmentDAO.countByStudentIds(ids);
+        List<StudentSearchIndex.Entry> page = new ArrayList<>(students.size());
+        for (Student s : students) page.add(new StudentSearchIndex.Entry(s, counts.getOrDefault(s.getStudentId(), 0)));
+        return page;
+    }
+    
+    private static StudentDAO.SortField sortFor(int column) {
+        switch (column) {
+            case 0: return StudentDAO.SortField.ID;
+            case 1: return StudentDAO.SortField.NAME;
+            case 2: return StudentDAO.SortField.EMAIL;
+            default: return null;
         }
     }
     
@@ -310,6 +326,126 @@ public class StudentManagementFrame extends JFrame {
         }
     }
     
+    private void enrollSelected() {
+        int[] rows = studentsTable.getSelectedRows();
+        if (rows.length == 0) {
+            JOptionPane.showMessageDialog(this, "Please select one or more students first.", "No Selection", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        final List<Integer> studentIds = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            studentIds.add((Integer) tableModel.getValueAt(row, 0));
+        }
+        
+        JList<Course> coursesList = new JList<>(courseService.getAllCourses().toArray(new Course[0]));
+        coursesList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        coursesList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                Course course = (Course) value;
+                return super.getListCellRendererComponent(list, course.getTitle(), index, isSelected, cellHasFocus);
+            }
+        });
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.add(new JLabel("Enroll " + studentIds.size() + " student(s) in:"), BorderLayout.NORTH);
+        JScrollPane coursesScroll = new JScrollPane(coursesList);
+        coursesScroll.setPreferredSize(new Dimension(350, 250));
+        panel.add(coursesScroll, BorderLayout.CENTER);
+        if (JOptionPane.showConfirmDialog(this, panel, "Enroll Students", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        final List<Integer> courseIds = new ArrayList<>();
+        for (Course course : coursesList.getSelectedValuesList()) {
+            courseIds.add(course.getCourseId());
+        }
+        if (courseIds.isEmpty()) return;
+        
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<CohortEnrollmentService.CohortResult, Void>() {
+            @Override
+            protected CohortEnrollmentService.CohortResult doInBackground() {
+                return new CohortEnrollmentService().enrollCohort(studentIds, courseIds);
+            }
+            
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    CohortEnrollmentService.CohortResult result = get();
+                    String message = "Enrolled: " + result.count(EnrollmentDAO.Outcome.ENROLLED)
+                            + "\nAlready enrolled: " + result.count(EnrollmentDAO.Outcome.ALREADY_ENROLLED)
+                            + "\nFailed: " + result.count(EnrollmentDAO.Outcome.FAILED);
+                    int type = result.count(EnrollmentDAO.Outcome.FAILED) > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE;
+                    JOptionPane.showMessageDialog(StudentManagementFrame.this, message, "Enrollment Complete", type);
+                    loadStudents();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(StudentManagementFrame.this, "Error enrolling students: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    private void importRoster() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Student Roster");
+        chooser.setFileFilter(new FileNameExtensionFilter("Roster CSV (*.csv)", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        final File file = chooser.getSelectedFile();
+        final String title = getTitle();
+        
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<StudentRosterImporter.Result, Integer>() {
+            @Override
+            protected StudentRosterImporter.Result doInBackground() throws Exception {
+                StudentRosterImporter importer = new StudentRosterImporter();
+                importer.setProgressListener((rowsRead, imported) -> publish(imported));
+                return importer.importFile(file);
+            }
+            
+            @Override
+            protected void process(List<Integer> chunks) {
+                setTitle(title + " - importing (" + chunks.get(chunks.size() - 1) + " added)");
+            }
+            
+            @Override
+            protected void done() {
+                setTitle(title);
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    showRosterResult(get());
+                    loadStudents();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(StudentManagementFrame.this, "Error importing roster: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    private void showRosterResult(StudentRosterImporter.Result result) {
+        String summary = String.format("Added %d of %d students in %.1f s (%.0f rows/s).",
+                result.getImported(), result.getRowsRead(), result.getElapsedMillis() / 1000.0, result.getRowsPerSecond());
+        if (result.getErrors().isEmpty()) {
+            JOptionPane.showMessageDialog(this, summary, "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        StringBuilder details = new StringBuilder();
+        for (ImportRowError error : result.getErrors()) {
+            details.append(error).append('\n');
+        }
+        if (result.getRejected() > result.getErrors().size()) {
+            details.append("... and ").append(result.getRejected() - result.getErrors().size()).append(" more\n");
+        }
+        JTextArea errorsArea = new JTextArea(details.toString(), 12, 60);
+        errorsArea.setEditable(false);
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.add(new JLabel(summary + " Rejected rows:"), BorderLayout.NORTH);
+        panel.add(new JScrollPane(errorsArea), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, panel, "Import Finished with Errors", JOptionPane.WARNING_MESSAGE);
+    }
+    
     private void exportStudentData() {
         JOptionPane.showMessageDialog(this, "Export functionality would be implemented here", "Export", JOptionPane.INFORMATION_MESSAGE);
     }
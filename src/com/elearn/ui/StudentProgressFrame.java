@@ -4,28 +4,32 @@ import com.elearn.dao.StudentDAO;
 import com.elearn.dao.EnrollmentDAO;
 import com.elearn.dao.QuizDAO;
 import com.elearn.dao.MaterialDAO;
-import com.elearn.dao.impl.StudentDAOImpl;
+import com.elearn.dao.impl.CachingStudentDAO;
 import com.elearn.dao.impl.EnrollmentDAOImpl;
-import com.elearn.dao.impl.QuizDAOImpl;
+import com.elearn.dao.impl.CachingQuizDAO;
 import com.elearn.dao.impl.MaterialDAOImpl;
 import com.elearn.model.Student;
 import com.elearn.model.Enrollment;
 import com.elearn.model.Course;
 import com.elearn.model.QuizResult;
 import com.elearn.model.MaterialCompletion;
+import com.elearn.service.ReportService;
 import com.elearn.util.ModernTheme;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.print.PrinterException;
+import java.text.MessageFormat;
 import java.util.List;
 
 public class StudentProgressFrame extends JFrame {
     private int studentId; // Changed from final to allow admin view
-    private final StudentDAO studentDAO = new StudentDAOImpl();
+    private final StudentDAO studentDAO = CachingStudentDAO.getInstance();
     private final EnrollmentDAO enrollmentDAO = new EnrollmentDAOImpl();
-    private final QuizDAO quizDAO = new QuizDAOImpl();
+    private final QuizDAO quizDAO = CachingQuizDAO.getInstance();
     private final MaterialDAO materialDAO = new MaterialDAOImpl();
+    private final ReportService reportService = new ReportService();
     
     private JTable coursesTable;
     private DefaultTableModel coursesTableModel;
@@ -35,6 +39,7 @@ public class StudentProgressFrame extends JFrame {
     private JLabel studentNameLabel;
     private boolean isAdminView = false;
     private JComboBox<Student> studentSelector;
+    private JTabbedPane tabbedPane;
 
     // Constructor for admin view - shows all students
     public StudentProgressFrame() {
@@ -95,7 +100,7 @@ public class StudentProgressFrame extends JFrame {
         }
         
         // Main content panel with tabs
-        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane = new JTabbedPane();
         
         // Courses tab
         JPanel coursesPanel = createCoursesPanel();
@@ -410,10 +415,36 @@ public class StudentProgressFrame extends JFrame {
     }
     
     private void generateReport() {
-        JOptionPane.showMessageDialog(this, "Report generation functionality would be implemented here", "Generate Report", JOptionPane.INFORMATION_MESSAGE);
+        if (studentId <= 0) {
+            JOptionPane.showMessageDialog(this, "Please select a student", "No Selection", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String[] options = {"Course Progress", "Quiz Results", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(this, "Which report would you like to export?", "Generate Report",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        final int id = studentId;
+        if (choice == 0) {
+            ReportExporter.export(this, "progress_student_" + id, file -> reportService.exportProgressReport(id, file));
+        } else if (choice == 1) {
+            ReportExporter.export(this, "quiz_results_student_" + id, file -> reportService.exportQuizResults(0, id, file));
+        }
     }
     
     private void printReport() {
-        JOptionPane.showMessageDialog(this, "Print functionality would be implemented here", "Print", JOptionPane.INFORMATION_MESSAGE);
+        // Print whichever table tab is showing
+        JTable table = tabbedPane.getSelectedIndex() == 1 ? quizTable : coursesTable;
+        try {
+            table.print(JTable.PrintMode.FIT_WIDTH,
+                    new MessageFormat(quote(studentNameLabel.getText() + " - " + tabbedPane.getTitleAt(tabbedPane.getSelectedIndex()))),
+                    new MessageFormat("Page {0}"));
+        } catch (PrinterException e) {
+            JOptionPane.showMessageDialog(this, "Error printing report: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            e.printStackTrace();
+        }
+    }
+    
+    // The header is a MessageFormat pattern; quote the text so braces and apostrophes in a name print as-is
+    private static String quote(String text) {
+        return "'" + text.replace("'", "''") + "'";
     }
 }
\ No newline at end of file
@@ -3,109 +3,130 @@ package com.elearn.util;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Renders certificates from a CertificateTemplate, as PNG or (through CertificatePdfWriter) PDF.
+ *
+ * The static layer of each template (background, outlines, rules and fixed text) is drawn once
+ * into an opaque raster and cached; each certificate copies that raster and draws only its
+ * variable text. Font metrics are pooled per font. Rendering uses only per-call images and
+ * graphics, so it may run on several threads at once.
+ */
 public class CertificateGenerator {
-    public static File generatePng(String studentName, String courseTitle, String outputDir) throws IOException {
-        int width = 1000;
-        int height = 700;
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g = image.createGraphics();
-        try {
-            // Enable anti-aliasing for better quality
-            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-            
-            // Background gradient
-            GradientPaint gradient = new GradientPaint(0, 0, new Color(240, 248, 255), 0, height, new Color(230, 240, 250));
-            g.setPaint(gradient);
-            g.fillRect(0, 0, width, height);
+    private static final Map<CertificateTemplate, BufferedImage> STATIC_LAYERS = new ConcurrentHashMap<>();
+    private static final Map<Font, FontMetrics> METRICS = new ConcurrentHashMap<>();
 
-            // Decorative border
-            g.setColor(new Color(25, 118, 210));
-            g.setStroke(new BasicStroke(8));
-            g.drawRect(30, 30, width - 60, height - 60);
-            
-            // Inner border
-            g.setColor(new Color(100, 181, 246));
-            g.setStroke(new BasicStroke(3));
-            g.drawRect(50, 50, width - 100, height - 100);
+    public static File generatePng(String studentName, String courseTitle, String outputDir) throws IOException {
+        return generatePng(CertificateTemplate.DEFAULT, studentName, courseTitle, outputDir);
+    }
 
-            // Decorative corner elements
-            g.setColor(new Color(25, 118, 210));
-            g.setStroke(new BasicStroke(4));
-            int cornerSize = 40;
-            g.drawLine(50, 50, 50 + cornerSize, 50);
-            g.drawLine(50, 50, 50, 50 + cornerSize);
-            g.drawLine(width - 50, 50, width - 50 - cornerSize, 50);
-            g.drawLine(width - 50, 50, width - 50, 50 + cornerSize);
-            g.drawLine(50, height - 50, 50 + cornerSize, height - 50);
-            g.drawLine(50, height - 50, 50, height - 50 - cornerSize);
-            g.drawLine(width - 50, height - 50, width - 50 - cornerSize, height - 50);
-            g.drawLine(width - 50, height - 50, width - 50, height - 50 - cornerSize);
+    public static File generatePng(CertificateTemplate template, String studentName, String courseTitle, String outputDir) throws IOException {
+        BufferedImage image = render(template, studentName, courseTitle, LocalDate.now().toString());
+        File dir = new File(outputDir);
+        if (!dir.exists()) dir.mkdirs();
+        File out = new File(dir, fileName(studentName, courseTitle, "png"));
+        ImageIO.write(image, "png", out);
+        return out;
+    }
 
-            // Main title
-            g.setColor(new Color(25, 118, 210));
-            g.setFont(new Font("Serif", Font.BOLD, 52));
-            String title = "CERTIFICATE OF COMPLETION";
-            drawCentered(g, title, width, 150);
+    /** The certificate as a vector PDF, a few KB instead of a raster. */
+    public static File generatePdf(CertificateTemplate template, String studentName, String courseTitle, String outputDir) throws IOException {
+        File dir = new File(outputDir);
+        if (!dir.exists()) dir.mkdirs();
+        File out = new File(dir, fileName(studentName, courseTitle, "pdf"));
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(out))) {
+            CertificatePdfWriter.write(template, studentName, courseTitle, LocalDate.now().toString(), stream);
+        }
+        return out;
+    }
 
-            // Subtitle
-            g.setColor(new Color(66, 66, 66));
-            g.setFont(new Font("Serif", Font.PLAIN, 24));
-            drawCentered(g, "This is to certify that", width, 220);
+    /** The certificate as an opaque image; the caller owns it. */
+    public static BufferedImage render(CertificateTemplate template, String studentName, String courseTitle, String date) {
+        return render(template, studentName, courseTitle, date, null);
+    }
 
-            // Student name with decorative underline
-            g.setColor(new Color(25, 118, 210));
-            g.setFont(new Font("Serif", Font.BOLD, 44));
-            drawCentered(g, studentName, width, 280);
-            
-            // Decorative line under name
-            g.setStroke(new BasicStroke(2));
-            g.drawLine(width/2 - 150, 300, width/2 + 150, 300);
+    /**
+     * Render into target, overwriting it, when it is an RGB image of the template's size;
+     * otherwise into a new image. Lets a thread reuse one buffer for many certificates.
+     */
+    public static BufferedImage render(CertificateTemplate template, String studentName, String courseTitle, String date,
+                                       BufferedImage target) {
+        BufferedImage staticLayer = STATIC_LAYERS.computeIfAbsent(template, CertificateGenerator::renderStaticLayer);
+        BufferedImage image = target != null && target.getType() == BufferedImage.TYPE_INT_RGB
+                && target.getWidth() == template.getWidth() && target.getHeight() == template.getHeight()
+                ? target : new BufferedImage(template.getWidth(), template.getHeight(), BufferedImage.TYPE_INT_RGB);
+        staticLayer.copyData(image.getRaster());
+        Graphics2D g = image.createGraphics();
+        try {
+            applyHints(g);
+            for (CertificateTemplate.Text text : template.getTexts()) {
+                if (text.isVariable()) drawText(g, text, text.resolve(studentName, courseTitle, date), template.getWidth());
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
 
-            // Course completion text
-            g.setColor(new Color(66, 66, 66));
-            g.setFont(new Font("Serif", Font.PLAIN, 26));
-            drawCentered(g, "has successfully completed the course", width, 360);
+    /** File name for a certificate, shared by every output format. */
+    public static String fileName(String studentName, String courseTitle, String extension) {
+        return studentName.replaceAll("[^a-zA-Z0-9]", "_") + "_" + courseTitle.replaceAll("[^a-zA-Z0-9]", "_") + "_certificate." + extension;
+    }
 
-            // Course title
-            g.setColor(new Color(25, 118, 210));
-            g.setFont(new Font("Serif", Font.BOLD, 32));
-            drawCentered(g, '"' + courseTitle + '"', width, 420);
+    /** Drop cached static layers, e.g. after fonts are installed. */
+    public static void clearCache() {
+        STATIC_LAYERS.clear();
+        METRICS.clear();
+    }
 
-            // Date
-            g.setColor(new Color(100, 100, 100));
-            g.setFont(new Font("Serif", Font.PLAIN, 20));
-            drawCentered(g, "Completed on: " + LocalDate.now(), width, 480);
+    private static BufferedImage renderStaticLayer(CertificateTemplate template) {
+        int width = template.getWidth();
+        int height = template.getHeight();
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            applyHints(g);
 
-            // Institution name
-            g.setColor(new Color(25, 118, 210));
-            g.setFont(new Font("Serif", Font.BOLD, 24));
-            drawCentered(g, "E-Learning Management System", width, 540);
+            // Background gradient
+            g.setPaint(new GradientPaint(0, 0, template.getBackgroundTop(), 0, height, template.getBackgroundBottom()));
+            g.fillRect(0, 0, width, height);
 
-            // Bottom decorative line
-            g.setColor(new Color(100, 181, 246));
-            g.setStroke(new BasicStroke(2));
-            g.drawLine(width/2 - 200, 580, width/2 + 200, 580);
-            
+            for (CertificateTemplate.Box box : template.getBoxes()) {
+                g.setColor(box.color);
+                g.setStroke(new BasicStroke(box.strokeWidth));
+                g.drawRect(box.x, box.y, box.width, box.height);
+            }
+            for (CertificateTemplate.Line line : template.getLines()) {
+                g.setColor(line.color);
+                g.setStroke(new BasicStroke(line.strokeWidth));
+                g.drawLine(line.x1, line.y1, line.x2, line.y2);
+            }
+            for (CertificateTemplate.Text text : template.getTexts()) {
+                if (!text.isVariable()) drawText(g, text, text.text, width);
+            }
         } finally {
             g.dispose();
         }
-        File dir = new File(outputDir);
-        if (!dir.exists()) dir.mkdirs();
-        File out = new File(dir, studentName.replaceAll("[^a-zA-Z0-9]", "_") + "_" + courseTitle.replaceAll("[^a-zA-Z0-9]", "_") + "_certificate.png");
-        ImageIO.write(image, "png", out);
-        return out;
+        return image;
     }
 
-    private static void drawCentered(Graphics2D g, String text, int width, int y) {
-        FontMetrics fm = g.getFontMetrics();
-        int x = (width - fm.stringWidth(text)) / 2;
-        g.drawString(text, x, y);
+    private static void applyHints(Graphics2D g) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
     }
-}
-
 
+    private static void drawText(Graphics2D g, CertificateTemplate.Text text, String value, int width) {
+        g.setColor(text.color);
+        g.setFont(text.font);
+        FontMetrics fm = METRICS.computeIfAbsent(text.font, g::getFontMetrics);
+        g.drawString(value, (width - fm.stringWidth(value)) / 2, text.baseline);
+    }
+}
@@ -0,0 +1,239 @@
+package com.elearn.util;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a certificate as a one-page vector PDF, with no external library.
+ *
+ * The page is the template's size in points. The background is an axial shading, outlines and
+ * rules are stroked paths, and text uses the standard Times, Helvetica and Courier fonts (which
+ * every viewer has, so nothing is embedded); text is centered with the fonts' built-in widths.
+ * As with the PNG renderer, the drawing operators for a template's static layer are built once
+ * and cached; each certificate adds only its variable text. Output is a few KB.
+ */
+public final class CertificatePdfWriter {
+    private static final Map<CertificateTemplate, StaticLayer> STATIC_LAYERS = new ConcurrentHashMap<>();
+
+    private CertificatePdfWriter() {
+    }
+
+    public static byte[] toBytes(CertificateTemplate template, String studentName, String courseTitle, String date) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        try {
+            write(template, studentName, courseTitle, date, out);
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static void write(CertificateTemplate template, String studentName, String courseTitle, String date,
+                             OutputStream out) throws IOException {
+        StaticLayer layer = STATIC_LAYERS.computeIfAbsent(template, StaticLayer::new);
+
+        StringBuilder content = new StringBuilder(layer.content.length() + 512).append(layer.content);
+        for (CertificateTemplate.Text text : template.getTexts()) {
+            if (text.isVariable()) {
+                appendText(content, text, text.resolve(studentName, courseTitle, date), template, layer.fontNames);
+            }
+        }
+        byte[] stream = deflate(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+
+        List<String> objects = new ArrayList<>(layer.objects);
+        objects.set(3, "<< /Length " + stream.length + " /Filter /FlateDecode >>\nstream\n");
+
+        PdfOutput pdf = new PdfOutput(out);
+        pdf.ascii("%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n");
+        long[] offsets = new long[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            offsets[i] = pdf.position;
+            pdf.ascii((i + 1) + " 0 obj\n" + objects.get(i));
+            if (i == 3) {
+                pdf.bytes(stream);
+                pdf.ascii("\nendstream");
+            }
+            pdf.ascii("\nendobj\n");
+        }
+        long xref = pdf.position;
+        StringBuilder trailer = new StringBuilder("xref\n0 ").append(objects.size() + 1).append("\n0000000000 65535 f \n");
+        for (long offset : offsets) trailer.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        trailer.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                .append(xref).append("\n%%EOF\n");
+        pdf.ascii(trailer.toString());
+        out.flush();
+    }
+
+    /** Template-constant parts of the file: every object but the content stream, and the static operators. */
+    private static final class StaticLayer {
+        final List<String> objects = new ArrayList<>();
+        final Map<String, String> fontNames = new LinkedHashMap<>();
+        final String content;
+
+        StaticLayer(CertificateTemplate template) {
+            int width = template.getWidth();
+            int height = template.getHeight();
+            for (CertificateTemplate.Text text : template.getTexts()) {
+                fontNames.computeIfAbsent(baseFont(text.font), base -> "F" + (fontNames.size() + 1));
+            }
+
+            StringBuilder ops = new StringBuilder(2048);
+            // Background gradient, clipped to the page; Java's default square caps and miter joins
+            ops.append("q 0 0 ").append(width).append(' ').append(height).append(" re W n /Sh1 sh Q\n2 J 0 j\n");
+            String pen = null;
+            for (CertificateTemplate.Box box : template.getBoxes()) {
+                pen = stroke(ops, pen, box.color, box.strokeWidth);
+                ops.append(box.x).append(' ').append(height - box.y - box.height).append(' ')
+                        .append(box.width).append(' ').append(box.height).append(" re S\n");
+            }
+            for (CertificateTemplate.Line line : template.getLines()) {
+                pen = stroke(ops, pen, line.color, line.strokeWidth);
+                ops.append(line.x1).append(' ').append(height - line.y1).append(" m ")
+                        .append(line.x2).append(' ').append(height - line.y2).append(" l S\n");
+            }
+            for (CertificateTemplate.Text text : template.getTexts()) {
+                if (!text.isVariable()) appendText(ops, text, text.text, template, fontNames);
+            }
+            content = ops.toString();
+
+            StringBuilder fontRefs = new StringBuilder();
+            int fontObject = 6;
+            for (String name : fontNames.values()) fontRefs.append('/').append(name).append(' ').append(fontObject++).append(" 0 R ");
+            objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+            objects.add("<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+            objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 " + width + " " + height + "]"
+                    + " /Resources << /Font << " + fontRefs + ">> /Shading << /Sh1 5 0 R >> >> /Contents 4 0 R >>");
+            objects.add(null); // content stream, per certificate
+            objects.add("<< /ShadingType 2 /ColorSpace /DeviceRGB /Coords [0 " + height + " 0 0]"
+                    + " /Function << /FunctionType 2 /Domain [0 1] /C0 [" + rgb(template.getBackgroundTop()) + "]"
+                    + " /C1 [" + rgb(template.getBackgroundBottom()) + "] /N 1 >> /Extend [true true] >>");
+            for (String base : fontNames.keySet()) {
+                objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /" + base + " /Encoding /WinAnsiEncoding >>");
+            }
+        }
+    }
+
+    /** Set the stroke color and width unless they are already current; returns the new state. */
+    private static String stroke(StringBuilder ops, String current, Color color, float width) {
+        String pen = rgb(color) + " RG " + num(width) + " w\n";
+        if (!pen.equals(current)) ops.append(pen);
+        return pen;
+    }
+
+    private static void appendText(StringBuilder ops, CertificateTemplate.Text text, String value,
+                                   CertificateTemplate template, Map<String, String> fontNames) {
+        String base = baseFont(text.font);
+        byte[] encoded = winAnsi(value);
+        double x = (template.getWidth() - StandardFontWidths.width(base, encoded) * text.font.getSize2D() / 1000.0) / 2;
+        ops.append("BT ").append(rgb(text.color)).append(" rg /").append(fontNames.get(base)).append(' ')
+                .append(num(text.font.getSize2D())).append(" Tf ").append(num(x)).append(' ')
+                .append(template.getHeight() - text.baseline).append(" Td (");
+        for (byte b : encoded) {
+            int c = b & 0xFF;
+            if (c == '(' || c == ')' || c == '\\') ops.append('\\').append((char) c);
+            else if (c < 32 || c > 126) ops.append('\\').append(String.format(Locale.ROOT, "%03o", c));
+            else ops.append((char) c);
+        }
+        ops.append(") Tj ET\n");
+    }
+
+    /** One of the standard 14 fonts for a Java font, by family and style. */
+    static String baseFont(Font font) {
+        String family = font.getFamily(Locale.ROOT).toLowerCase(Locale.ROOT);
+        String logical = font.getName().toLowerCase(Locale.ROOT);
+        boolean bold = font.isBold();
+        boolean italic = font.isItalic();
+        if (logical.startsWith("serif") || family.contains("times") || family.contains("serif") && !family.contains("sans")) {
+            return bold ? (italic ? "Times-BoldItalic" : "Times-Bold") : (italic ? "Times-Italic" : "Times-Roman");
+        }
+        if (logical.startsWith("monospaced") || family.contains("courier") || family.contains("mono")) {
+            return "Courier" + (bold ? (italic ? "-BoldOblique" : "-Bold") : (italic ? "-Oblique" : ""));
+        }
+        return "Helvetica" + (bold ? (italic ? "-BoldOblique" : "-Bold") : (italic ? "-Oblique" : ""));
+    }
+
+    /**
+     * Whether the standard fonts can show every character of value. Text that fails this prints
+     * with '?' in its place, so callers should render such certificates another way.
+     */
+    public static boolean canEncode(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!encodable(value.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean encodable(char c) {
+        return c >= 32 && c <= 126 || c >= 160 && c <= 255;
+    }
+
+    /** Latin-1 is WinAnsi apart from 0x80-0x9F; anything else becomes '?'. */
+    private static byte[] winAnsi(String value) {
+        byte[] bytes = new byte[value.length()];
+        int n = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()) i++;
+            bytes[n++] = (byte) (encodable(c) ? c : '?');
+        }
+        return n == bytes.length ? bytes : Arrays.copyOf(bytes, n);
+    }
+
+    private static String rgb(Color color) {
+        return num(color.getRed() / 255.0) + " " + num(color.getGreen() / 255.0) + " " + num(color.getBlue() / 255.0);
+    }
+
+    private static String num(double value) {
+        if (value == Math.rint(value)) return Long.toString((long) value);
+        String s = String.format(Locale.ROOT, "%.3f", value);
+        int end = s.length();
+        while (s.charAt(end - 1) == '0') end--;
+        return s.substring(0, end);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) out.write(buffer, 0, deflater.deflate(buffer));
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Counts bytes so the xref table can record object offsets. */
+    private static final class PdfOutput {
+        final OutputStream out;
+        long position;
+
+        PdfOutput(OutputStream out) {
+            this.out = out;
+        }
+
+        void ascii(String s) throws IOException {
+            bytes(s.getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        void bytes(byte[] b) throws IOException {
+            out.write(b);
+            position += b.length;
+        }
+    }
+}
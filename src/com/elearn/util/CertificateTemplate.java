@@ -0,0 +1,173 @@
+package com.elearn.util;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Layout of a certificate: page size, background gradient, outlines, rules and text lines.
+ *
+ * Text may contain the placeholders STUDENT, COURSE and DATE. Everything else (the background,
+ * the shapes and text without placeholders) is the static layer, which renderers draw once per
+ * template and reuse, so build a template completely before rendering with it. A built template
+ * is only read and can be shared between threads.
+ */
+public final class CertificateTemplate {
+    public static final String STUDENT = "{student}";
+    public static final String COURSE = "{course}";
+    public static final String DATE = "{date}";
+
+    private static final Color PRIMARY = new Color(25, 118, 210);
+    private static final Color ACCENT = new Color(100, 181, 246);
+    private static final Color BODY = new Color(66, 66, 66);
+
+    /** The layout CertificateGenerator has always produced. */
+    public static final CertificateTemplate DEFAULT = createDefault();
+
+    private final String name;
+    private final int width;
+    private final int height;
+    private Color backgroundTop = Color.WHITE;
+    private Color backgroundBottom = Color.WHITE;
+    private final List<Line> lines = new ArrayList<>();
+    private final List<Box> boxes = new ArrayList<>();
+    private final List<Text> texts = new ArrayList<>();
+
+    public CertificateTemplate(String name, int width, int height) {
+        this.name = name;
+        this.width = width;
+        this.height = height;
+    }
+
+    private static CertificateTemplate createDefault() {
+        int w = 1000, h = 700, corner = 40;
+        CertificateTemplate t = new CertificateTemplate("default", w, h)
+                .background(new Color(240, 248, 255), new Color(230, 240, 250))
+                .box(PRIMARY, 8, 30, 30, w - 60, h - 60)
+                .box(ACCENT, 3, 50, 50, w - 100, h - 100);
+        // Corner ornaments
+        t.line(PRIMARY, 4, 50, 50, 50 + corner, 50).line(PRIMARY, 4, 50, 50, 50, 50 + corner)
+         .line(PRIMARY, 4, w - 50, 50, w - 50 - corner, 50).line(PRIMARY, 4, w - 50, 50, w - 50, 50 + corner)
+         .line(PRIMARY, 4, 50, h - 50, 50 + corner, h - 50).line(PRIMARY, 4, 50, h - 50, 50, h - 50 - corner)
+         .line(PRIMARY, 4, w - 50, h - 50, w - 50 - corner, h - 50).line(PRIMARY, 4, w - 50, h - 50, w - 50, h - 50 - corner);
+        return t.text(PRIMARY, new Font("Serif", Font.BOLD, 52), 150, "CERTIFICATE OF COMPLETION")
+                .text(BODY, new Font("Serif", Font.PLAIN, 24), 220, "This is to certify that")
+                .text(PRIMARY, new Font("Serif", Font.BOLD, 44), 280, STUDENT)
+                .line(PRIMARY, 2, w / 2 - 150, 300, w / 2 + 150, 300)
+                .text(BODY, new Font("Serif", Font.PLAIN, 26), 360, "has successfully completed the course")
+                .text(PRIMARY, new Font("Serif", Font.BOLD, 32), 420, "\"" + COURSE + "\"")
+                .text(new Color(100, 100, 100), new Font("Serif", Font.PLAIN, 20), 480, "Completed on: " + DATE)
+                .text(PRIMARY, new Font("Serif", Font.BOLD, 24), 540, "E-Learning Management System")
+                .line(ACCENT, 2, w / 2 - 200, 580, w / 2 + 200, 580);
+    }
+
+    /** Vertical gradient from top to bottom. */
+    public CertificateTemplate background(Color top, Color bottom) {
+        this.backgroundTop = top;
+        this.backgroundBottom = bottom;
+        return this;
+    }
+
+    /** Rectangle outline. */
+    public CertificateTemplate box(Color color, float strokeWidth, int x, int y, int w, int h) {
+        boxes.add(new Box(color, strokeWidth, x, y, w, h));
+        return this;
+    }
+
+    public CertificateTemplate line(Color color, float strokeWidth, int x1, int y1, int x2, int y2) {
+        lines.add(new Line(color, strokeWidth, x1, y1, x2, y2));
+        return this;
+    }
+
+    /** Text centered horizontally on the page with its baseline at y. */
+    public CertificateTemplate text(Color color, Font font, int baseline, String text) {
+        texts.add(new Text(color, font, baseline, text));
+        return this;
+    }
+
+    public String getName() { return name; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public Color getBackgroundTop() { return backgroundTop; }
+    public Color getBackgroundBottom() { return backgroundBottom; }
+    public List<Box> getBoxes() { return Collections.unmodifiableList(boxes); }
+    public List<Line> getLines() { return Collections.unmodifiableList(lines); }
+    public List<Text> getTexts() { return Collections.unmodifiableList(texts); }
+
+    public static final class Box {
+        public final Color color;
+        public final float strokeWidth;
+        public final int x, y, width, height;
+
+        Box(Color color, float strokeWidth, int x, int y, int width, int height) {
+            this.color = color;
+            this.strokeWidth = strokeWidth;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public static final class Line {
+        public final Color color;
+        public final float strokeWidth;
+        public final int x1, y1, x2, y2;
+
+        Line(Color color, float strokeWidth, int x1, int y1, int x2, int y2) {
+            this.color = color;
+            this.strokeWidth = strokeWidth;
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+        }
+    }
+
+    public static final class Text {
+        public final Color color;
+        public final Font font;
+        public final int baseline;
+        public final String text;
+        private final boolean variable;
+
+        Text(Color color, Font font, int baseline, String text) {
+            this.color = color;
+            this.font = font;
+            this.baseline = baseline;
+            this.text = text;
+            this.variable = text.contains(STUDENT) || text.contains(COURSE) || text.contains(DATE);
+        }
+
+        /** True if the text has a placeholder and so differs per certificate. */
+        public boolean isVariable() { return variable; }
+
+        /** Fill in the placeholders in one pass, so a value that itself contains one is left as typed. */
+        public String resolve(String studentName, String courseTitle, String date) {
+            if (!variable) return text;
+            StringBuilder out = new StringBuilder(text.length() + studentName.length() + courseTitle.length());
+            int from = 0;
+            for (int at = text.indexOf('{'); at >= 0; at = text.indexOf('{', at + 1)) {
+                String placeholder;
+                String value;
+                if (text.startsWith(STUDENT, at)) {
+                    placeholder = STUDENT;
+                    value = studentName;
+                } else if (text.startsWith(COURSE, at)) {
+                    placeholder = COURSE;
+                    value = courseTitle;
+                } else if (text.startsWith(DATE, at)) {
+                    placeholder = DATE;
+                    value = date;
+                } else {
+                    continue;
+                }
+                out.append(text, from, at).append(value);
+                from = at + placeholder.length();
+            }
+            return out.append(text, from, text.length()).toString();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.elearn.util;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores uploaded course images together with fixed-size derivatives, so views can load
+ * a small pre-scaled file instead of decoding the full-resolution original.
+ */
+public class CourseImageStore {
+    public static final String IMAGES_DIR = "course_images";
+
+    public enum Size {
+        LIST(60, 40, "list"),
+        PREVIEW(200, 150, "preview"),
+        DETAIL(400, 250, "detail");
+
+        private final int width;
+        private final int height;
+        private final String suffix;
+
+        Size(int width, int height, String suffix) {
+            this.width = width;
+            this.height = height;
+            this.suffix = suffix;
+        }
+
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+    }
+
+    /**
+     * Copy the image into course_images/ and write every derivative next to it.
+     * @return the relative path of the stored original, as saved on the course
+     */
+    public static String store(File source) throws IOException {
+        Path imagesDir = Paths.get(IMAGES_DIR);
+        if (!Files.exists(imagesDir)) {
+            Files.createDirectories(imagesDir);
+        }
+
+        String extension = FileUtils.getExtension(source.getName());
+        String fileName = "course_" + System.currentTimeMillis() + "." + (extension.isEmpty() ? "jpg" : extension);
+        Path destination = imagesDir.resolve(fileName);
+        Files.copy(source.toPath(), destination, StandardCopyOption.REPLACE_EXISTING);
+
+        String storedPath = IMAGES_DIR + "/" + fileName;
+        writeDerivatives(storedPath);
+        return storedPath;
+    }
+
+    /**
+     * Decode the original once and write each derivative as PNG. Failures are not fatal:
+     * views fall back to the original when a derivative is missing.
+     */
+    public static void writeDerivatives(String originalPath) {
+        try {
+            BufferedImage original = ImageIO.read(new File(originalPath));
+            if (original == null) return;
+            for (Size size : Size.values()) {
+                BufferedImage scaled = ThumbnailCache.scale(original, size.width, size.height);
+                ImageIO.write(scaled, "png", new File(derivativeName(originalPath, size)));
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing image derivatives for " + originalPath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Path best suited for displaying the image at the given size: the derivative if it
+     * exists, otherwise the original (for images uploaded before derivatives existed). Checks the
+     * disk, so call it where the image is loaded rather than from a renderer or model getter.
+     */
+    public static String pathFor(String originalPath, Size size) {
+        if (originalPath == null || originalPath.isEmpty()) return originalPath;
+        String derivative = derivativeName(originalPath, size);
+        return new File(derivative).isFile() ? derivative : originalPath;
+    }
+
+    /** Delete the original and all of its derivatives. */
+    public static void delete(String originalPath) {
+        if (originalPath == null || originalPath.isEmpty()) return;
+        new File(originalPath).delete();
+        for (Size size : Size.values()) {
+            new File(derivativeName(originalPath, size)).delete();
+        }
+    }
+
+    private static String derivativeName(String originalPath, Size size) {
+        int dot = originalPath.lastIndexOf('.');
+        int slash = Math.max(originalPath.lastIndexOf('/'), originalPath.lastIndexOf('\\'));
+        String base = dot > slash ? originalPath.substring(0, dot) : originalPath;
+        return base + "_" + size.suffix + ".png";
+    }
+}
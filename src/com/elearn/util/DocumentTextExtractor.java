@@ -1,9 +1,56 @@
 package com.elearn.util;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.*;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 public class DocumentTextExtractor {
+    /** Most characters extracted from one document; the rest is dropped. */
+    public static final int MAX_CHARS = Integer.getInteger("elearn.extract.maxChars", 1_000_000);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    /** Receives extracted text a chunk at a time. The array is reused once the call returns. */
+    public interface TextSink {
+        void append(char[] chars, int offset, int length) throws IOException;
+    }
+    
+    /**
+     * How much text an extraction produced, whether it reached the size limit (and dropped the rest),
+     * and whether the text was drawn in fonts it could not decode, in which case what reached the
+     * sink is garbled and should be discarded.
+     */
+    public static final class Extraction {
+        private final long chars;
+        private final boolean truncated;
+        private final boolean undecodable;
+        
+        Extraction(long chars, boolean truncated) {
+            this(chars, truncated, false);
+        }
+        
+        Extraction(long chars, boolean truncated, boolean undecodable) {
+            this.chars = chars;
+            this.truncated = truncated;
+            this.undecodable = undecodable;
+        }
+        
+        public long getChars() { return chars; }
+        public boolean isTruncated() { return truncated; }
+        public boolean isUndecodable() { return undecodable; }
+    }
     
     public static String extractTextFromFile(File file) {
         String fileName = file.getName().toLowerCase();
@@ -20,75 +67,325 @@ public class DocumentTextExtractor {
     }
     
     private static String extractTextFromTxt(File file) {
+        StringBuilder text = new StringBuilder((int) Math.min(file.length(), MAX_CHARS));
         try {
-            return new String(Files.readAllBytes(file.toPath()));
+            Extraction extraction = extractTextFromTxt(file, null, text::append, MAX_CHARS);
+            if (extraction.isTruncated()) text.append(truncationNote(extraction));
+            return text.toString();
         } catch (IOException e) {
             return "Error reading text file: " + e.getMessage();
         }
     }
     
+    /**
+     * Decode a text file into the sink through a reused byte and char buffer.
+     * @param charset the file's encoding, or null to use its byte order mark and otherwise UTF-8;
+     *                malformed input is replaced rather than failing the extraction
+     */
+    public static Extraction extractTextFromTxt(File file, Charset charset, TextSink sink, int maxChars) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+            boolean eof = channel.read(bytes) == -1;
+            bytes.flip();
+            if (charset == null) charset = detectCharset(bytes);
+            
+            CharsetDecoder decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            Emitter out = new Emitter(sink, maxChars);
+            CharBuffer chars = CharBuffer.wrap(out.buffer);
+            while (true) {
+                chars.clear().limit(Math.min(chars.capacity(), out.remaining()));
+                CoderResult result = decoder.decode(bytes, chars, eof);
+                out.emit(chars.position());
+                if (out.isFull()) break;
+                if (result.isOverflow()) {
+                    // No room left for even one more character before the limit
+                    if (chars.position() == 0) break;
+                    continue;
+                }
+                if (eof) {
+                    chars.clear().limit(Math.min(chars.capacity(), out.remaining()));
+                    decoder.flush(chars);
+                    out.emit(chars.position());
+                    break;
+                }
+                bytes.compact();
+                eof = channel.read(bytes) == -1;
+                bytes.flip();
+            }
+            return out.finish();
+        }
+    }
+    
+    /** Skip a UTF-8/UTF-16 byte order mark at the start of the buffer and return the charset it names. */
+    private static Charset detectCharset(ByteBuffer bytes) {
+        int n = bytes.remaining();
+        int b0 = n > 0 ? bytes.get(0) & 0xFF : -1;
+        int b1 = n > 1 ? bytes.get(1) & 0xFF : -1;
+        int b2 = n > 2 ? bytes.get(2) & 0xFF : -1;
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) {
+            bytes.position(3);
+            return StandardCharsets.UTF_8;
+        }
+        if (b0 == 0xFF && b1 == 0xFE) {
+            bytes.position(2);
+            return StandardCharsets.UTF_16LE;
+        }
+        if (b0 == 0xFE && b1 == 0xFF) {
+            bytes.position(2);
+            return StandardCharsets.UTF_16BE;
+        }
+        return StandardCharsets.UTF_8;
+    }
+    
     private static String extractTextFromWord(File file) {
-        // For now, return a placeholder message
-        // In a real implementation, you would use Apache POI library
-        return "Word document detected. Text extraction from Word documents requires Apache POI library.\n" +
-               "File: " + file.getName() + "\n" +
-               "Please install Apache POI dependency to enable Word document text extraction.\n\n" +
-               "To add Apache POI to your project:\n" +
-               "1. Download poi-bin-5.2.3.zip from https://poi.apache.org/download.html\n" +
-               "2. Extract and add poi-5.2.3.jar, poi-ooxml-5.2.3.jar, and poi-ooxml-schemas-5.2.3.jar to your lib folder\n" +
-               "3. Update your classpath to include these JAR files";
+        StringBuilder text = new StringBuilder();
+        try {
+            if (!isZip(file)) {
+                // Not Office Open XML: an older binary .doc, read with the byte heuristic
+                return extractTextFromWordBasic(file);
+            }
+            Extraction extraction = extractTextFromDocx(file, text::append, MAX_CHARS);
+            if (extraction.getChars() == 0) {
+                return "No text found in the Word document.";
+            }
+            if (extraction.isTruncated()) text.append(truncationNote(extraction));
+            return text.toString();
+        } catch (IOException e) {
+            return "Error reading Word document: " + e.getMessage();
+        }
     }
     
     private static String extractTextFromPdf(File file) {
-        // For now, return a placeholder message
-        // In a real implementation, you would use Apache PDFBox library
-        return "PDF document detected. Text extraction from PDF documents requires Apache PDFBox library.\n" +
-               "File: " + file.getName() + "\n" +
-               "Please install Apache PDFBox dependency to enable PDF text extraction.\n\n" +
-               "To add Apache PDFBox to your project:\n" +
-               "1. Download pdfbox-app-2.0.28.jar from https://pdfbox.apache.org/download.html\n" +
-               "2. Add the JAR file to your lib folder\n" +
-               "3. Update your classpath to include this JAR file";
+        StringBuilder text = new StringBuilder();
+        try {
+            Extraction extraction = extractTextFromPdf(file, text::append, MAX_CHARS);
+            if (extraction.getChars() == 0) {
+                return "No text found in the PDF document. It may contain only scanned images.";
+            }
+            if (extraction.isUndecodable()) {
+                return "No text found in the PDF document. Its fonts use an encoding that cannot be read.";
+            }
+            if (extraction.isTruncated()) text.append(truncationNote(extraction));
+            return text.toString();
+        } catch (IOException e) {
+            return "Error reading PDF document: " + e.getMessage();
+        }
+    }
+    
+    private static final String WORDPROCESSING_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final XMLInputFactory XML_INPUT = XMLInputFactory.newInstance();
+    static {
+        XML_INPUT.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XML_INPUT.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+    
+    /**
+     * Stream the body text of a .docx into the sink: word/document.xml is read straight out of the
+     * zip with a StAX cursor, so only the parser's buffers are held however large the document is.
+     * Runs of w:t text are kept, w:tab and w:br become tab and newline, and each paragraph ends a line.
+     */
+    public static Extraction extractTextFromDocx(File file, TextSink sink, int maxChars) throws IOException {
+        try (ZipFile zip = new ZipFile(file)) {
+            ZipEntry entry = zip.getEntry("word/document.xml");
+            if (entry == null) throw new IOException("word/document.xml is missing");
+            Emitter out = new Emitter(sink, maxChars);
+            XMLStreamReader xml = null;
+            try (InputStream in = zip.getInputStream(entry)) {
+                xml = XML_INPUT.createXMLStreamReader(in);
+                boolean inText = false;
+                int tabStops = 0;
+                while (xml.hasNext() && !out.isFull()) {
+                    switch (xml.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            if (!WORDPROCESSING_NS.equals(xml.getNamespaceURI())) break;
+                            switch (xml.getLocalName()) {
+                                case "t": inText = true; break;
+                                // w:tabs holds paragraph tab stops, not tab characters
+                                case "tabs": tabStops++; break;
+                                case "tab": if (tabStops == 0) out.put('\t'); break;
+                                case "br": case "cr": out.put('\n'); break;
+                                default: break;
+                            }
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            if (!WORDPROCESSING_NS.equals(xml.getNamespaceURI())) break;
+                            switch (xml.getLocalName()) {
+                                case "t": inText = false; break;
+                                case "tabs": tabStops--; break;
+                                case "p": out.put('\n'); break;
+                                default: break;
+                            }
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                            if (inText) out.put(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException("Malformed word/document.xml: " + e.getMessage(), e);
+            } finally {
+                if (xml != null) {
+                    try {
+                        xml.close();
+                    } catch (XMLStreamException e) {
+                        // nothing left to read
+                    }
+                }
+            }
+            return out.finish();
+        }
+    }
+    
+    /**
+     * Stream the text drawn by a PDF's content streams into the sink; see PdfTextScanner. The result
+     * is undecodable if the text uses composite, Type3 or custom-encoded fonts.
+     */
+    public static Extraction extractTextFromPdf(File file, TextSink sink, int maxChars) throws IOException {
+        Emitter out = new Emitter(sink, maxChars);
+        PdfTextScanner scanner;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            scanner = new PdfTextScanner(channel, out, BUFFER_SIZE);
+            scanner.scan();
+        }
+        Extraction extraction = out.finish();
+        if (!scanner.isUndecodable()) return extraction;
+        return new Extraction(extraction.getChars(), extraction.isTruncated(), true);
+    }
+    
+    /** True if the file starts with a zip local header, as .docx files do. */
+    private static boolean isZip(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] magic = new byte[4];
+            return in.readNBytes(magic, 0, 4) == 4
+                    && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4;
+        }
     }
     
     // Simple implementation for basic text extraction from Word documents
     // This is a basic implementation that works for simple .doc files
     public static String extractTextFromWordBasic(File file) {
-        try (FileInputStream fis = new FileInputStream(file)) {
-            StringBuilder content = new StringBuilder();
-            int data;
-            boolean inText = false;
-            StringBuilder currentWord = new StringBuilder();
-            
-            while ((data = fis.read()) != -1) {
-                char c = (char) data;
-                
-                // Simple heuristic to extract readable text
-                if (Character.isLetterOrDigit(c) || Character.isWhitespace(c) || c == '.' || c == ',' || c == '!' || c == '?') {
-                    if (Character.isLetterOrDigit(c)) {
-                        currentWord.append(c);
-                    } else {
-                        if (currentWord.length() > 0) {
-                            content.append(currentWord.toString());
-                            currentWord.setLength(0);
+        StringBuilder content = new StringBuilder();
+        try {
+            Extraction extraction = extractTextFromWordBasic(file, content::append, MAX_CHARS);
+            if (extraction.getChars() <= 100) {
+                return "Could not extract meaningful text from the document. The file might be corrupted or in an unsupported format.";
+            }
+            if (extraction.isTruncated()) content.append(truncationNote(extraction));
+            return content.toString();
+        } catch (IOException e) {
+            return "Error reading Word document: " + e.getMessage();
+        }
+    }
+    
+    // Bytes kept by the .doc heuristic: letters, digits, whitespace and . , ! ?
+    private static final boolean[] WORD_TEXT = new boolean[256];
+    static {
+        for (int b = 0; b < 256; b++) {
+            char c = (char) b;
+            WORD_TEXT[b] = Character.isLetterOrDigit(c) || Character.isWhitespace(c)
+                    || c == '.' || c == ',' || c == '!' || c == '?';
+        }
+    }
+    
+    /**
+     * Stream the readable characters of a binary Word file into the sink: every byte that is a
+     * letter, digit, whitespace or . , ! ? (read as Latin-1) is kept in order, the rest dropped.
+     */
+    public static Extraction extractTextFromWordBasic(File file, TextSink sink, int maxChars) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] array = bytes.array();
+            Emitter out = new Emitter(sink, maxChars);
+            char[] chars = out.buffer;
+            int pending = 0;
+            int n;
+            while (!out.isFull() && (n = channel.read(bytes)) != -1) {
+                for (int i = 0; i < n; i++) {
+                    int b = array[i] & 0xFF;
+                    if (WORD_TEXT[b]) {
+                        chars[pending++] = (char) b;
+                        if (pending == chars.length || pending == out.remaining()) {
+                            out.emit(pending);
+                            pending = 0;
+                            if (out.isFull()) break;
                         }
-                        content.append(c);
                     }
-                } else if (currentWord.length() > 0) {
-                    content.append(currentWord.toString());
-                    currentWord.setLength(0);
                 }
+                bytes.clear();
             }
-            
-            if (currentWord.length() > 0) {
-                content.append(currentWord.toString());
+            out.emit(pending);
+            return out.finish();
+        }
+    }
+    
+    private static String truncationNote(Extraction extraction) {
+        return "\n\n[Text truncated after " + extraction.getChars() + " characters]";
+    }
+    
+    /** A reusable char buffer in front of a sink, enforcing the character limit. */
+    static final class Emitter {
+        final char[] buffer = new char[BUFFER_SIZE / 2];
+        private final TextSink sink;
+        private final long maxChars;
+        private long written;
+        private int pending;
+        private boolean truncated;
+        
+        Emitter(TextSink sink, long maxChars) {
+            this.sink = sink;
+            this.maxChars = maxChars;
+        }
+        
+        int remaining() {
+            return (int) Math.min(Integer.MAX_VALUE, maxChars - written);
+        }
+        
+        boolean isFull() {
+            return written >= maxChars;
+        }
+        
+        /** Pass buffer[0, length) to the sink. */
+        void emit(int length) throws IOException {
+            if (length <= 0) return;
+            sink.append(buffer, 0, length);
+            written += length;
+            if (written >= maxChars) truncated = true;
+        }
+        
+        /** Buffer one character, passing the buffer on when it fills or reaches the limit. */
+        void put(char c) throws IOException {
+            if (isFull()) return;
+            buffer[pending++] = c;
+            if (pending == buffer.length || pending >= remaining()) flush();
+        }
+        
+        void put(char[] chars, int offset, int length) throws IOException {
+            while (length > 0 && !isFull()) {
+                int n = Math.min(length, Math.min(buffer.length - pending, remaining() - pending));
+                System.arraycopy(chars, offset, buffer, pending, n);
+                pending += n;
+                offset += n;
+                length -= n;
+                if (pending == buffer.length || pending >= remaining()) flush();
             }
-            
-            String result = content.toString();
-            return result.length() > 100 ? result : "Could not extract meaningful text from the document. The file might be corrupted or in an unsupported format.";
-            
-        } catch (IOException e) {
-            return "Error reading Word document: " + e.getMessage();
+        }
+        
+        /** Pass the characters buffered by put() to the sink. */
+        void flush() throws IOException {
+            int length = pending;
+            pending = 0;
+            emit(length);
+        }
+        
+        Extraction finish() throws IOException {
+            flush();
+            return new Extraction(written, truncated);
         }
     }
 }
@@ -0,0 +1,159 @@
+package com.elearn.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * Content-addressed store for uploaded material files.
+ *
+ * Each distinct file is kept once, named by the SHA-256 of its bytes and sharded by the first two
+ * byte pairs of the hash: materials/blobs/ab/cd/abcd…ef.pdf (the extension is kept so the file
+ * still opens in the right application). The hash is computed while the upload is copied into a
+ * temporary file, in one pass; if a blob with that hash already exists the copy is discarded, so
+ * disk use grows only with unique content. Blobs are never overwritten.
+ *
+ * The store does not count references itself: a blob's references are the material rows whose
+ * file_path points at it, and BlobStoreMaterialDAO releases a blob when the last one is deleted.
+ */
+public class MaterialBlobStore {
+    public static final String DEFAULT_ROOT = "materials/blobs";
+    private static final MaterialBlobStore SHARED = new MaterialBlobStore(Paths.get(DEFAULT_ROOT));
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public MaterialBlobStore(Path root) {
+        this.root = root;
+    }
+
+    public static MaterialBlobStore getInstance() {
+        return SHARED;
+    }
+
+    /** A stored blob: its hash, its path relative to the working directory, and whether it was already present. */
+    public static final class Blob {
+        private final String hash;
+        private final String path;
+        private final long size;
+        private final boolean existed;
+
+        Blob(String hash, String path, long size, boolean existed) {
+            this.hash = hash;
+            this.path = path;
+            this.size = size;
+            this.existed = existed;
+        }
+
+        public String getHash() { return hash; }
+        public String getPath() { return path; }
+        public long getSize() { return size; }
+        /** True if identical content was already stored and this upload was deduplicated. */
+        public boolean isExisting() { return existed; }
+    }
+
+    public Blob store(File source) throws IOException {
+        try (InputStream in = Files.newInputStream(source.toPath())) {
+            return store(in, FileUtils.getExtension(source.getName()));
+        }
+    }
+
+    /** Copy the stream into the store, hashing it on the way. The stream is not closed. */
+    public Blob store(InputStream source, String extension) throws IOException {
+        Path tmpDir = root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+        Path tmp = Files.createTempFile(tmpDir, "upload", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (InputStream in = new DigestInputStream(source, digest) {
+                    @Override
+                    public void close() {
+                        // the caller owns the source
+                    }
+                 };
+                 OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                    size += n;
+                }
+            }
+            String hash = hex(digest.digest());
+            Path target = pathFor(hash, extension);
+            if (Files.exists(target)) {
+                return new Blob(hash, relative(target), size, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                // Without REPLACE_EXISTING, so a blob is never overwritten
+                Files.move(tmp, target);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently by someone else; same bytes
+                return new Blob(hash, relative(target), size, true);
+            }
+            return new Blob(hash, relative(target), size, false);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** True if the path points inside this store (as opposed to a pre-store upload). */
+    public boolean contains(String path) {
+        if (path == null || path.isEmpty()) return false;
+        Path p = Paths.get(path).toAbsolutePath().normalize();
+        return p.startsWith(root.toAbsolutePath().normalize());
+    }
+
+    /** Delete the blob file. Call only once nothing references it. */
+    public boolean release(String path) {
+        if (!contains(path)) return false;
+        try {
+            return Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            System.err.println("Could not delete material blob " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private Path pathFor(String hash, String extension) {
+        String name = extension == null || extension.isEmpty() ? hash : hash + "." + extension.toLowerCase(Locale.ROOT);
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(name);
+    }
+
+    private static String relative(Path target) {
+        Path cwd = Paths.get("").toAbsolutePath();
+        Path abs = target.toAbsolutePath().normalize();
+        Path rel = abs.startsWith(cwd) ? cwd.relativize(abs) : abs;
+        return rel.toString().replace(File.separatorChar, '/');
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] digits = "0123456789abcdef".toCharArray();
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            out[i * 2] = digits[(bytes[i] >> 4) & 0xF];
+            out[i * 2 + 1] = digits[bytes[i] & 0xF];
+        }
+        return new String(out);
+    }
+}
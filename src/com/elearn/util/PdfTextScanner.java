@@ -0,0 +1,549 @@
+package com.elearn.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Pulls the text out of a PDF in one forward pass, for DocumentTextExtractor.
+ *
+ * The file is read through one fixed buffer. Each stream's dictionary is looked at as it goes by:
+ * page and form content streams (unfiltered or FlateDecode) are inflated through a fixed output
+ * buffer and tokenized as they inflate; everything else (images, fonts, xref and object streams)
+ * is skipped without being read into memory. Strings shown by Tj, TJ, ' and " are emitted, with a
+ * line break where the text moves to a new line and a space for wide TJ gaps, so memory use does
+ * not depend on the size of the file or of any one stream.
+ *
+ * Streams are visited in file order, which is page order for most producers. Strings are decoded
+ * as WinAnsi, which is right for the standard fonts and most simple fonts. Text in composite
+ * (Type0, e.g. Identity-H), Type3 or /Differences-encoded fonts would need the font's ToUnicode
+ * map, so the scan stops at the first such font dictionary and reports the file as undecodable;
+ * so does a run of shown strings that is largely control codes, which is how two-byte CID codes
+ * and subset fonts with their own encoding look when the fonts are out of sight in object streams.
+ */
+final class PdfTextScanner {
+    private static final Pattern LENGTH = Pattern.compile("/Length\\s+(\\d+)(\\s+\\d+\\s+R)?");
+    private static final Pattern TYPE = Pattern.compile("/Type\\s*/(\\w+)");
+    private static final Pattern SUBTYPE = Pattern.compile("/Subtype\\s*/(\\w+)");
+    private static final Pattern NAME = Pattern.compile("/(\\w+)");
+    // Keys that only appear on font programs, images, ICC profiles, functions and predictor-encoded data
+    private static final String[] NOT_CONTENT = {
+            "/Length1", "/Length2", "/Length3", "/Width", "/Alternate", "/FunctionType", "/DecodeParms", "/DP " };
+    private static final byte[] ENDSTREAM = "endstream".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_DICTIONARY = 4096;
+    // TJ adjustments wider than this (thousandths of an em) are taken as a word space
+    private static final int TJ_WORD_GAP = 180;
+    // Font dictionary entries for encodings that WinAnsi does not describe
+    private static final String[] UNKNOWN_ENCODING = { "/Type0", "/Identity-H", "/Identity-V", "/Type3", "/Differences" };
+    // WinAnsiEncoding 0x80-0x9F; the rest of the byte range is Latin-1
+    private static final String WIN_ANSI_80 =
+            "\u20ac\0\u201a\u0192\u201e\u2026\u2020\u2021\u02c6\u2030\u0160\u2039\u0152\0\u017d\0"
+            + "\0\u2018\u2019\u201c\u201d\u2022\u2013\u2014\u02dc\u2122\u0161\u203a\u0153\0\u017e\u0178";
+
+    private final FileChannel channel;
+    private final ByteBuffer in;
+    private final DocumentTextExtractor.Emitter out;
+    private final Inflater inflater = new Inflater();
+    private final byte[] inflated;
+    private final Content content = new Content();
+    private final StringBuilder dictionary = new StringBuilder(256);
+    private char lastEmitted = '\n';
+    private boolean unknownFont;
+    private long shownBytes;
+    private long controlBytes;
+
+    PdfTextScanner(FileChannel channel, DocumentTextExtractor.Emitter out, int bufferSize) {
+        this.channel = channel;
+        this.in = ByteBuffer.allocate(bufferSize);
+        this.in.limit(0);
+        this.out = out;
+        this.inflated = new byte[bufferSize];
+    }
+
+    void scan() throws IOException {
+        try {
+            scanObjects();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /** True if the text is in fonts this scanner cannot decode, so what it emitted is garbled. */
+    boolean isUndecodable() {
+        return unknownFont || controlBytes * 4 > shownBytes;
+    }
+
+    /** Walk the file tracking << >> nesting; a "stream" keyword right after a dictionary starts its data. */
+    private void scanObjects() throws IOException {
+        int depth = 0;
+        boolean afterDictionary = false;
+        int carry = -1;
+        while (!out.isFull() && !unknownFont) {
+            int b = carry >= 0 ? carry : read();
+            carry = -1;
+            if (b == -1) break;
+            if (depth > 0 && dictionary.length() < MAX_DICTIONARY) dictionary.append((char) b);
+            if (b == '<') {
+                int c = read();
+                if (c == '<') {
+                    if (depth++ == 0) dictionary.setLength(0);
+                    dictionary.append(depth == 1 ? "<<" : "<");
+                } else {
+                    carry = c;
+                }
+                afterDictionary = false;
+            } else if (b == '>' && depth > 0) {
+                int c = read();
+                if (c == '>') {
+                    if (dictionary.length() < MAX_DICTIONARY) dictionary.append('>');
+                    if (--depth == 0) {
+                        afterDictionary = true;
+                        unknownFont = hasUnknownEncoding(dictionary);
+                    }
+                } else {
+                    carry = c;
+                }
+            } else if (b == 's' && afterDictionary && depth == 0) {
+                afterDictionary = false;
+                carry = matchRest("tream");
+                if (carry == -2) {
+                    carry = -1;
+                    skipEndOfLine();
+                    stream(dictionary.toString());
+                }
+            } else if (!isWhitespace(b)) {
+                afterDictionary = false;
+            }
+        }
+    }
+
+    /** Read the given characters; returns -2 if they all matched, otherwise the first byte that did not. */
+    private int matchRest(String expected) throws IOException {
+        for (int i = 0; i < expected.length(); i++) {
+            int c = read();
+            if (c != expected.charAt(i)) return c;
+        }
+        return -2;
+    }
+
+    private void skipEndOfLine() throws IOException {
+        int c = read();
+        if (c == '\r') c = read();
+        if (c != '\n' && c != -1) unread();
+    }
+
+    private void stream(String dict) throws IOException {
+        Matcher length = LENGTH.matcher(dict);
+        // An indirect length is in an object we have not reached, so the data is delimited by endstream
+        long size = length.find() && length.group(2) == null ? Long.parseLong(length.group(1)) : -1;
+        List<String> filters = filters(dict);
+        boolean flate = filters.size() == 1 && (filters.get(0).equals("FlateDecode") || filters.get(0).equals("Fl"));
+        if (!isContent(dict) || !(filters.isEmpty() || flate)) {
+            if (size >= 0) skip(size);
+            else skipPastEndstream();
+            return;
+        }
+        content.begin(size < 0 && !flate);
+        if (flate) inflate(size);
+        else copy(size);
+        content.end();
+    }
+
+    private static boolean hasUnknownEncoding(StringBuilder dict) {
+        for (String key : UNKNOWN_ENCODING) {
+            if (dict.indexOf(key) >= 0) return true;
+        }
+        return false;
+    }
+
+    private static boolean isContent(String dict) {
+        Matcher type = TYPE.matcher(dict);
+        if (type.find() && !type.group(1).equals("XObject")) return false;
+        Matcher subtype = SUBTYPE.matcher(dict);
+        if (subtype.find() && !subtype.group(1).equals("Form")) return false;
+        for (String key : NOT_CONTENT) {
+            if (dict.contains(key)) return false;
+        }
+        return true;
+    }
+
+    private static List<String> filters(String dict) {
+        List<String> names = new ArrayList<>(1);
+        int at = dict.indexOf("/Filter");
+        if (at < 0) return names;
+        int start = at + "/Filter".length();
+        while (start < dict.length() && isWhitespace(dict.charAt(start))) start++;
+        int end;
+        if (start < dict.length() && dict.charAt(start) == '[') {
+            end = dict.indexOf(']', start);
+            if (end < 0) end = dict.length();
+        } else {
+            // a single name: up to the next key or the end of the dictionary
+            end = start + 1;
+            while (end < dict.length() && "/>[ \t\r\n".indexOf(dict.charAt(end)) < 0) end++;
+        }
+        Matcher name = NAME.matcher(dict.substring(start, end));
+        while (name.find()) names.add(name.group(1));
+        return names;
+    }
+
+    /** Feed raw stream bytes to the tokenizer. */
+    private void copy(long size) throws IOException {
+        long left = size >= 0 ? size : Long.MAX_VALUE;
+        while (left > 0 && !out.isFull()) {
+            if (!in.hasRemaining() && !fill()) return;
+            int n = (int) Math.min(in.remaining(), left);
+            int used = content.feed(in.array(), in.position(), n);
+            in.position(in.position() + used);
+            left -= used;
+            if (content.ended) return;
+        }
+    }
+
+    /** Inflate the stream a buffer at a time, tokenizing each piece as it comes out. */
+    private void inflate(long size) throws IOException {
+        inflater.reset();
+        long left = size >= 0 ? size : Long.MAX_VALUE;
+        try {
+            while (!inflater.finished() && !out.isFull()) {
+                if (inflater.needsInput()) {
+                    if (left == 0 || !in.hasRemaining() && !fill()) break;
+                    int n = (int) Math.min(in.remaining(), left);
+                    inflater.setInput(in.array(), in.position(), n);
+                    in.position(in.position() + n);
+                    left -= n;
+                }
+                int n = inflater.inflate(inflated);
+                if (n > 0) content.feed(inflated, 0, n);
+                else if (inflater.needsDictionary()) break;
+            }
+        } catch (DataFormatException e) {
+            // Corrupt data: keep what was decoded and carry on with the next object
+        }
+        // Give back input past the end of the compressed data; it is all still in the buffer
+        in.position(in.position() - inflater.getRemaining());
+    }
+
+    private void skipPastEndstream() throws IOException {
+        int matched = 0;
+        int b;
+        while (matched < ENDSTREAM.length && (b = read()) != -1) {
+            if (b == ENDSTREAM[matched]) matched++;
+            else matched = b == ENDSTREAM[0] ? 1 : 0;
+        }
+    }
+
+    private int read() throws IOException {
+        if (!in.hasRemaining() && !fill()) return -1;
+        return in.get() & 0xFF;
+    }
+
+    /** Step back over the byte just read; only valid directly after a successful read(). */
+    private void unread() {
+        in.position(in.position() - 1);
+    }
+
+    private boolean fill() throws IOException {
+        in.clear();
+        int n;
+        do {
+            n = channel.read(in);
+        } while (n == 0);
+        in.flip();
+        return n > 0;
+    }
+
+    private void skip(long n) throws IOException {
+        int buffered = (int) Math.min(n, in.remaining());
+        in.position(in.position() + buffered);
+        if (n > buffered) {
+            channel.position(Math.min(channel.size(), channel.position() + n - buffered));
+            in.position(0).limit(0);
+        }
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0;
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == '(' || c == ')' || c == '<' || c == '>' || c == '[' || c == ']'
+                || c == '{' || c == '}' || c == '/' || c == '%';
+    }
+
+    /** Content stream tokenizer; keeps its state across feed() calls, so tokens may span buffers. */
+    private final class Content {
+        private static final int NORMAL = 0, STRING = 1, HEX = 2, COMMENT = 3, INLINE_IMAGE = 4;
+
+        private final byte[] token = new byte[32];
+        private int tokenLength;
+        // Strings since the last operator; shown if the operator is Tj, TJ, ' or "
+        private final char[] text = new char[4096];
+        private int textLength;
+        private int mode;
+        private int stringDepth;
+        private int escape;
+        private int octal;
+        private int hexHigh;
+        private boolean hexStarted;
+        private int imageEnd;
+        private int arrayDepth;
+        private double lastNumber;
+        private double previousNumber;
+        private double lineY;
+        private char separator;
+        private boolean stopAtEndstream;
+        boolean ended;
+
+        void begin(boolean stopAtEndstream) {
+            this.stopAtEndstream = stopAtEndstream;
+            ended = false;
+            mode = NORMAL;
+            tokenLength = 0;
+            textLength = 0;
+            arrayDepth = 0;
+            lineY = Double.NaN;
+            separate('\n');
+        }
+
+        void end() throws IOException {
+            if (mode == NORMAL) endToken();
+        }
+
+        /** Tokenize bytes; returns how many were used, fewer than length only if endstream was reached. */
+        int feed(byte[] bytes, int offset, int length) throws IOException {
+            for (int i = offset; i < offset + length; i++) {
+                int c = bytes[i] & 0xFF;
+                switch (mode) {
+                    case STRING: string(c); break;
+                    case HEX: hex(c); break;
+                    case COMMENT: if (c == '\r' || c == '\n') mode = NORMAL; break;
+                    case INLINE_IMAGE: inlineImage(c); break;
+                    default: normal(c); break;
+                }
+                if (ended || out.isFull()) return i + 1 - offset;
+            }
+            return length;
+        }
+
+        private void normal(int c) throws IOException {
+            if (!isWhitespace(c) && !isDelimiter(c)) {
+                if (tokenLength < token.length) token[tokenLength] = (byte) c;
+                tokenLength++;
+                return;
+            }
+            endToken();
+            if (ended || mode == INLINE_IMAGE) return;
+            switch (c) {
+                case '(': mode = STRING; stringDepth = 1; escape = 0; break;
+                case '<': mode = HEX; hexHigh = -1; hexStarted = false; break;
+                case '[': arrayDepth++; break;
+                case ']': if (arrayDepth > 0) arrayDepth--; break;
+                case '%': mode = COMMENT; break;
+                case '/': token[0] = '/'; tokenLength = 1; break;
+                default: break;
+            }
+        }
+
+        private void endToken() throws IOException {
+            int n = tokenLength;
+            tokenLength = 0;
+            if (n == 0 || token[0] == '/') return;
+            if (n > token.length) {
+                clearOperands();
+                return;
+            }
+            double value = number(token, n);
+            if (!Double.isNaN(value)) {
+                previousNumber = lastNumber;
+                lastNumber = value;
+                if (arrayDepth > 0 && value < -TJ_WORD_GAP) addText(' ');
+                return;
+            }
+            operator(n);
+        }
+
+        private void operator(int n) throws IOException {
+            if (is("Tj", n) || is("TJ", n)) {
+                show();
+            } else if (is("'", n) || is("\"", n) || is("T*", n)) {
+                separate('\n');
+                show();
+            } else if (is("Td", n) || is("TD", n)) {
+                if (lastNumber != 0) separate('\n');
+                else if (previousNumber != 0) separate(' ');
+            } else if (is("Tm", n)) {
+                separate(Double.isNaN(lineY) || lastNumber != lineY ? '\n' : ' ');
+                lineY = lastNumber;
+            } else if (is("ET", n)) {
+                separate(' ');
+            } else if (is("ID", n)) {
+                mode = INLINE_IMAGE;
+                imageEnd = 1;
+            } else if (stopAtEndstream && is("endstream", n)) {
+                ended = true;
+            }
+            clearOperands();
+        }
+
+        private void clearOperands() {
+            textLength = 0;
+            lastNumber = 0;
+            previousNumber = 0;
+        }
+
+        private boolean is(String operator, int n) {
+            if (operator.length() != n) return false;
+            for (int i = 0; i < n; i++) {
+                if (token[i] != operator.charAt(i)) return false;
+            }
+            return true;
+        }
+
+        private void string(int c) throws IOException {
+            if (escape == 1) {
+                escape = 0;
+                switch (c) {
+                    case 'n': case 'r': case 't': case 'b': case 'f': case '\r': case '\n': break;
+                    case '0': case '1': case '2': case '3': case '4': case '5': case '6': case '7':
+                        octal = c - '0';
+                        escape = 2;
+                        break;
+                    default: addByte(c); break;
+                }
+                return;
+            }
+            if (escape >= 2) {
+                // up to three octal digits; escape - 1 of them read so far
+                if (c >= '0' && c <= '7' && escape < 4) {
+                    octal = octal * 8 + c - '0';
+                    if (++escape == 4) {
+                        addByte(octal & 0xFF);
+                        escape = 0;
+                    }
+                    return;
+                }
+                addByte(octal & 0xFF);
+                escape = 0;
+            }
+            if (c == '\\') {
+                escape = 1;
+            } else if (c == '(') {
+                stringDepth++;
+                addByte(c);
+            } else if (c == ')') {
+                if (--stringDepth == 0) mode = NORMAL;
+                else addByte(c);
+            } else {
+                addByte(c);
+            }
+        }
+
+        private void hex(int c) throws IOException {
+            if (c == '<' && !hexStarted) {
+                // "<<" opens a dictionary, not a string
+                mode = NORMAL;
+                return;
+            }
+            if (c == '>') {
+                if (hexHigh >= 0) addByte(hexHigh << 4);
+                mode = NORMAL;
+                return;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0) return;
+            hexStarted = true;
+            if (hexHigh < 0) {
+                hexHigh = digit;
+            } else {
+                addByte(hexHigh << 4 | digit);
+                hexHigh = -1;
+            }
+        }
+
+        /** Skip inline image data up to an EI operator (whitespace, "EI", whitespace). */
+        private void inlineImage(int c) {
+            switch (imageEnd) {
+                case 1: imageEnd = c == 'E' ? 2 : isWhitespace(c) ? 1 : 0; break;
+                case 2: imageEnd = c == 'I' ? 3 : isWhitespace(c) ? 1 : 0; break;
+                case 3:
+                    if (isWhitespace(c) || isDelimiter(c)) mode = NORMAL;
+                    imageEnd = isWhitespace(c) ? 1 : 0;
+                    break;
+                default: imageEnd = isWhitespace(c) ? 1 : 0; break;
+            }
+        }
+
+        private void addByte(int b) throws IOException {
+            shownBytes++;
+            if (b < ' ' && b != '\t' && b != '\n' && b != '\r') controlBytes++;
+            char c = b >= 0x80 && b < 0xA0 ? WIN_ANSI_80.charAt(b - 0x80) : (char) b;
+            if (c == 0xA0) c = ' ';
+            if (c >= ' ' && c != 0x7F) addText(c);
+        }
+
+        private void addText(char c) throws IOException {
+            if (textLength == text.length) {
+                // An implausibly long run of operands; show it rather than hold more
+                show();
+            }
+            text[textLength++] = c;
+        }
+
+        private void separate(char c) {
+            if (c == '\n' || separator == 0) separator = c;
+        }
+
+        private void show() throws IOException {
+            if (textLength == 0) return;
+            if (separator == '\n' && lastEmitted != '\n') {
+                out.put('\n');
+            } else if (separator == ' ' && lastEmitted != ' ' && lastEmitted != '\n' && text[0] != ' ') {
+                out.put(' ');
+            }
+            separator = 0;
+            out.put(text, 0, textLength);
+            lastEmitted = text[textLength - 1];
+            textLength = 0;
+        }
+    }
+
+    /** Parse a PDF number (optional sign, digits, optional fraction); NaN if the token is not one. */
+    private static double number(byte[] token, int n) {
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i = 1;
+        }
+        if (i == n) return Double.NaN;
+        double value = 0;
+        double scale = 0;
+        boolean digits = false;
+        for (; i < n; i++) {
+            int c = token[i];
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                if (scale == 0) {
+                    value = value * 10 + (c - '0');
+                } else {
+                    value += (c - '0') * scale;
+                    scale /= 10;
+                }
+            } else if (c == '.' && scale == 0) {
+                scale = 0.1;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!digits) return Double.NaN;
+        return negative ? -value : value;
+    }
+}
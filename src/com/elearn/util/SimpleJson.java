@@ -0,0 +1,164 @@
+package com.elearn.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small JSON parser for import files. Objects become LinkedHashMap, arrays ArrayList, numbers
+ * Long or Double, and true/false/null their Java equivalents.
+ */
+public final class SimpleJson {
+    private final Reader in;
+    private int line = 1;
+    private int pushedBack = -2;
+
+    private SimpleJson(Reader reader) {
+        this.in = reader instanceof BufferedReader ? reader : new BufferedReader(reader, 64 * 1024);
+    }
+
+    /**
+     * Parse exactly one JSON value from the reader.
+     * @throws IOException on read errors or malformed JSON (the message includes the line)
+     */
+    public static Object parse(Reader reader) throws IOException {
+        SimpleJson parser = new SimpleJson(reader);
+        int c = parser.skipWhitespace();
+        if (c == '\uFEFF') c = parser.skipWhitespace();
+        Object value = parser.readValue(c);
+        if (parser.skipWhitespace() != -1) throw parser.error("Unexpected content after JSON value");
+        return value;
+    }
+
+    private Object readValue(int c) throws IOException {
+        switch (c) {
+            case '{': return readObject();
+            case '[': return readArray();
+            case '"': return readString();
+            case 't': expectWord("rue"); return Boolean.TRUE;
+            case 'f': expectWord("alse"); return Boolean.FALSE;
+            case 'n': expectWord("ull"); return null;
+            case -1: throw error("Unexpected end of input");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return readNumber(c);
+                throw error("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        int c = skipWhitespace();
+        if (c == '}') return map;
+        while (true) {
+            if (c != '"') throw error("Expected a field name");
+            String key = readString();
+            if (skipWhitespace() != ':') throw error("Expected ':' after \"" + key + "\"");
+            map.put(key, readValue(skipWhitespace()));
+            c = skipWhitespace();
+            if (c == '}') return map;
+            if (c != ',') throw error("Expected ',' or '}'");
+            c = skipWhitespace();
+        }
+    }
+
+    private List<Object> readArray() throws IOException {
+        List<Object> list = new ArrayList<>();
+        int c = skipWhitespace();
+        if (c == ']') return list;
+        while (true) {
+            list.add(readValue(c));
+            c = skipWhitespace();
+            if (c == ']') return list;
+            if (c != ',') throw error("Expected ',' or ']'");
+            c = skipWhitespace();
+        }
+    }
+
+    private String readString() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == -1 || c == '\n') throw error("Unterminated string");
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append((char) c);
+                continue;
+            }
+            c = read();
+            switch (c) {
+                case '"': sb.append('"'); break;
+                case '\\': sb.append('\\'); break;
+                case '/': sb.append('/'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) throw error("Invalid \\u escape");
+                        code = code * 16 + digit;
+                    }
+                    sb.append((char) code);
+                    break;
+                default:
+                    throw error("Invalid escape sequence");
+            }
+        }
+    }
+
+    private Object readNumber(int first) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c = first;
+        boolean decimal = false;
+        while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+            if (c == '.' || c == 'e' || c == 'E') decimal = true;
+            sb.append((char) c);
+            c = read();
+        }
+        unread(c);
+        try {
+            return decimal ? (Object) Double.parseDouble(sb.toString()) : (Object) Long.parseLong(sb.toString());
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + sb + "'");
+        }
+    }
+
+    private void expectWord(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) throw error("Invalid literal");
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = read();
+        while (c == ' ' || c == '\t' || c == '\r' || c == '\n') c = read();
+        return c;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = in.read();
+            if (c == '\n') line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " on line " + line);
+    }
+}
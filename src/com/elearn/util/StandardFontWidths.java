@@ -0,0 +1,57 @@
+package com.elearn.util;
+
+/**
+ * Advance widths (1/1000 em) of printable ASCII in the standard PDF fonts, from their AFM
+ * metrics, for centering text without embedding a font. Italic faces use the upright widths of
+ * the same weight, and Latin-1 letters above ASCII an average width; both are close enough to
+ * center a line.
+ */
+final class StandardFontWidths {
+    // Characters 32..126 in WinAnsiEncoding order
+    private static final int[] TIMES_ROMAN = {
+            250, 333, 408, 500, 500, 833, 778, 180, 333, 333, 500, 564, 250, 333, 250, 278,
+            500, 500, 500, 500, 500, 500, 500, 500, 500, 500, 278, 278, 564, 564, 564, 444,
+            921, 722, 667, 667, 722, 611, 556, 722, 722, 333, 389, 722, 611, 889, 722, 722,
+            556, 722, 667, 556, 611, 722, 722, 944, 722, 722, 611, 333, 278, 333, 469, 500,
+            333, 444, 500, 444, 500, 444, 333, 500, 500, 278, 278, 500, 278, 778, 500, 500,
+            500, 500, 333, 389, 278, 500, 500, 722, 500, 500, 444, 480, 200, 480, 541 };
+    private static final int[] TIMES_BOLD = {
+            250, 333, 555, 500, 500, 1000, 833, 278, 333, 333, 500, 570, 250, 333, 250, 278,
+            500, 500, 500, 500, 500, 500, 500, 500, 500, 500, 333, 333, 570, 570, 570, 500,
+            930, 722, 667, 722, 722, 667, 611, 778, 778, 389, 500, 778, 667, 944, 722, 778,
+            611, 778, 722, 556, 667, 722, 722, 1000, 722, 722, 667, 333, 278, 333, 581, 500,
+            333, 500, 556, 444, 556, 444, 333, 500, 556, 278, 333, 556, 278, 833, 556, 500,
+            556, 556, 444, 389, 333, 556, 500, 722, 500, 500, 444, 394, 220, 394, 520 };
+    private static final int[] HELVETICA = {
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584 };
+    private static final int[] HELVETICA_BOLD = {
+            278, 333, 474, 556, 556, 889, 722, 238, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 333, 333, 584, 584, 584, 611,
+            975, 722, 722, 722, 722, 667, 611, 778, 722, 278, 556, 722, 611, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 333, 278, 333, 584, 556,
+            333, 556, 611, 556, 611, 556, 333, 611, 611, 278, 278, 556, 278, 889, 611, 611,
+            611, 611, 389, 556, 333, 611, 556, 778, 556, 556, 500, 389, 280, 389, 584 };
+
+    private StandardFontWidths() {
+    }
+
+    /** Width of the WinAnsi-encoded text in 1/1000 em. */
+    static int width(String baseFont, byte[] text) {
+        if (baseFont.startsWith("Courier")) return 600 * text.length;
+        boolean bold = baseFont.contains("Bold");
+        int[] widths = baseFont.startsWith("Times") ? (bold ? TIMES_BOLD : TIMES_ROMAN)
+                : (bold ? HELVETICA_BOLD : HELVETICA);
+        int fallback = widths['n' - 32];
+        int total = 0;
+        for (byte b : text) {
+            int c = b & 0xFF;
+            total += c >= 32 && c <= 126 ? widths[c - 32] : fallback;
+        }
+        return total;
+    }
+}
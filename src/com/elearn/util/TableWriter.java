@@ -0,0 +1,36 @@
+package com.elearn.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Row-at-a-time tabular output for report exports. Implementations stream each row to the
+ * file as it is written, so memory use does not grow with the number of rows.
+ */
+public interface TableWriter extends Closeable {
+    DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    void writeHeader(String... columns) throws IOException;
+
+    /** Numbers are written as numbers, dates as yyyy-MM-dd HH:mm, null as an empty cell. */
+    void writeRow(Object... values) throws IOException;
+
+    /** CSV or XLSX writer chosen by the file extension (CSV unless it ends in .xlsx). */
+    static TableWriter open(File file) throws IOException {
+        if (file.getName().toLowerCase().endsWith(".xlsx")) {
+            return new XlsxTableWriter(file);
+        }
+        return new CsvTableWriter(file);
+    }
+
+    static String format(Object value) {
+        if (value == null) return "";
+        if (value instanceof LocalDateTime) return ((LocalDateTime) value).format(DATE_TIME);
+        if (value instanceof LocalDate) return value.toString();
+        return value.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package com.elearn.util;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared cache of decoded and scaled course images.
+ *
+ * Entries are keyed by (path, lastModified, width, height), so replacing an image file on
+ * disk naturally misses. The strong tier is an LRU bounded by pixel bytes; entries it evicts
+ * drop to a soft-reference tier the GC may reclaim under memory pressure.
+ */
+public class ThumbnailCache {
+    private static final long DEFAULT_MAX_BYTES = Long.getLong("elearn.thumbnailCache.maxBytes", 32L * 1024 * 1024);
+    private static final ThumbnailCache INSTANCE = new ThumbnailCache(DEFAULT_MAX_BYTES);
+
+    private final long maxBytes;
+    private long currentBytes;
+    private final LinkedHashMap<Key, BufferedImage> strong = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Key, SoftEntry> soft = new HashMap<>();
+    private final ReferenceQueue<BufferedImage> collected = new ReferenceQueue<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong softHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ThumbnailCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static ThumbnailCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the image scaled to exactly width x height, decoding it only on a cache miss.
+     * @return the scaled image, or null if the file does not exist or is not a readable image
+     */
+    public BufferedImage get(File file, int width, int height) throws IOException {
+        if (file == null || !file.isFile()) return null;
+        Key key = new Key(file.getAbsolutePath(), file.lastModified(), width, height);
+
+        BufferedImage cached = lookup(key);
+        if (cached != null) return cached;
+
+        misses.incrementAndGet();
+        BufferedImage source = ImageIO.read(file);
+        if (source == null) return null;
+        BufferedImage scaled = scale(source, width, height);
+        store(key, scaled);
+        return scaled;
+    }
+
+    public BufferedImage get(String path, int width, int height) throws IOException {
+        if (path == null || path.isEmpty()) return null;
+        return get(new File(path), width, height);
+    }
+
+    private synchronized BufferedImage lookup(Key key) {
+        BufferedImage image = strong.get(key);
+        if (image != null) {
+            hits.incrementAndGet();
+            return image;
+        }
+        SoftEntry ref = soft.remove(key);
+        if (ref != null) {
+            image = ref.get();
+            if (image != null) {
+                softHits.incrementAndGet();
+                putStrong(key, image);
+                return image;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void store(Key key, BufferedImage image) {
+        soft.remove(key);
+        BufferedImage previous = strong.remove(key);
+        if (previous != null) currentBytes -= weigh(previous);
+        putStrong(key, image);
+    }
+
+    private void putStrong(Key key, BufferedImage image) {
+        drainCollected();
+        strong.put(key, image);
+        currentBytes += weigh(image);
+        Iterator<Map.Entry<Key, BufferedImage>> it = strong.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) break; // never evict the entry just added
+            it.remove();
+            currentBytes -= weigh(eldest.getValue());
+            soft.put(eldest.getKey(), new SoftEntry(eldest.getKey(), eldest.getValue(), collected));
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void drainCollected() {
+        SoftEntry ref;
+        while ((ref = (SoftEntry) collected.poll()) != null) {
+            if (soft.get(ref.key) == ref) soft.remove(ref.key);
+        }
+    }
+
+    private static long weigh(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Downscale in successive halving steps with bilinear filtering, then one final step to
+     * the target size. Much faster than SCALE_SMOOTH with comparable quality for thumbnails.
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        int type = source.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            if (w > width) w = Math.max(width, w / 2);
+            else w = width;
+            if (h > height) h = Math.max(height, h / 2);
+            else h = height;
+
+            BufferedImage step = new BufferedImage(w, h, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    public synchronized void clear() {
+        strong.clear();
+        soft.clear();
+        currentBytes = 0;
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getSoftHits() { return softHits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public synchronized long getCurrentBytes() { return currentBytes; }
+    public synchronized int getSize() { return strong.size(); }
+
+    @Override
+    public String toString() {
+        return String.format("ThumbnailCache[entries=%d, bytes=%d/%d, hits=%d, softHits=%d, misses=%d, evictions=%d]",
+                getSize(), getCurrentBytes(), maxBytes, getHits(), getSoftHits(), getMisses(), getEvictions());
+    }
+
+    private static final class Key {
+        private final String path;
+        private final long lastModified;
+        private final int width;
+        private final int height;
+
+        Key(String path, long lastModified, int width, int height) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return lastModified == k.lastModified && width == k.width && height == k.height && path.equals(k.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, lastModified, width, height);
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<BufferedImage> {
+        private final Key key;
+
+        SoftEntry(Key key, BufferedImage image, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+        }
+    }
+}
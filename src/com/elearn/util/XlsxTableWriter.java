@@ -0,0 +1,200 @@
+package com.elearn.util;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Minimal streaming XLSX (SpreadsheetML) writer.
+ *
+ * Rows go straight into the worksheet entry of the zip as they are written, using inline
+ * strings so no shared-string table has to be held in memory. The workbook parts that list
+ * the sheets are written at close(), once the sheet count is known. A sheet that reaches
+ * Excel's row limit continues on a new sheet with the header repeated.
+ */
+public class XlsxTableWriter implements TableWriter {
+    private static final int MAX_ROWS_PER_SHEET = 1_048_576;
+    private static final String NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final ZipOutputStream zip;
+    private final Writer out;
+    private String[] header;
+    private int sheetCount;
+    private int rowInSheet;
+    private boolean sheetOpen;
+
+    public XlsxTableWriter(File file) throws IOException {
+        this.zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        this.out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void writeHeader(String... columns) throws IOException {
+        header = columns.clone();
+        if (!sheetOpen) startSheet();
+        writeCells(header, true);
+    }
+
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        if (!sheetOpen) startSheet();
+        if (rowInSheet == MAX_ROWS_PER_SHEET) {
+            endSheet();
+            startSheet();
+            if (header != null) writeCells(header, true);
+        }
+        writeCells(values, false);
+    }
+
+    private void writeCells(Object[] values, boolean bold) throws IOException {
+        int row = ++rowInSheet;
+        out.write("<row r=\"");
+        out.write(Integer.toString(row));
+        out.write("\">");
+        for (int col = 0; col < values.length; col++) {
+            Object value = values[col];
+            if (value == null) continue;
+            out.write("<c r=\"");
+            writeColumnName(col);
+            out.write(Integer.toString(row));
+            out.write('"');
+            if (bold) out.write(" s=\"1\"");
+
+            String number = numberText(value);
+            if (number != null) {
+                out.write("><v>");
+                out.write(number);
+                out.write("</v></c>");
+            } else {
+                out.write(" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(TableWriter.format(value));
+                out.write("</t></is></c>");
+            }
+        }
+        out.write("</row>");
+    }
+
+    private static String numberText(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return value.toString();
+        }
+        if (value instanceof BigDecimal) return ((BigDecimal) value).toPlainString();
+        if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            return Double.isFinite(d) ? Double.toString(d) : null;
+        }
+        return null;
+    }
+
+    private void writeColumnName(int col) throws IOException {
+        // A, B, ..., Z, AA, AB, ...
+        if (col >= 26) writeColumnName(col / 26 - 1);
+        out.write('A' + col % 26);
+    }
+
+    private void writeEscaped(String s) throws IOException {
+        // Excel rejects cells longer than 32767 characters
+        int len = Math.min(s.length(), 32_767);
+        for (int i = 0; i < len; i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '<': out.write("&lt;"); break;
+                case '>': out.write("&gt;"); break;
+                case '&': out.write("&amp;"); break;
+                case '"': out.write("&quot;"); break;
+                default:
+                    // Control characters other than tab/newline are not allowed in XML 1.0
+                    if (ch < 0x20 && ch != '\t' && ch != '\n' && ch != '\r') continue;
+                    out.write(ch);
+            }
+        }
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        rowInSheet = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<worksheet xmlns=\"" + NS + "\"><sheetData>");
+        sheetOpen = true;
+    }
+
+    private void endSheet() throws IOException {
+        out.write("</sheetData></worksheet>");
+        out.flush();
+        zip.closeEntry();
+        sheetOpen = false;
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        out.write(content);
+        out.flush();
+        zip.closeEntry();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (sheetOpen) endSheet();
+            else if (sheetCount == 0) {
+                startSheet();
+                endSheet();
+            }
+
+            StringBuilder sheets = new StringBuilder();
+            StringBuilder sheetRels = new StringBuilder();
+            StringBuilder sheetTypes = new StringBuilder();
+            for (int i = 1; i <= sheetCount; i++) {
+                sheets.append("<sheet name=\"Sheet").append(i).append("\" sheetId=\"").append(i)
+                      .append("\" r:id=\"rId").append(i).append("\"/>");
+                sheetRels.append("<Relationship Id=\"rId").append(i)
+                         .append("\" Type=\"" + REL_NS + "/worksheet\" Target=\"worksheets/sheet").append(i).append(".xml\"/>");
+                sheetTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(i)
+                          .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            }
+            String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+            writeEntry("xl/workbook.xml", xml +
+                    "<workbook xmlns=\"" + NS + "\" xmlns:r=\"" + REL_NS + "\"><sheets>" + sheets + "</sheets></workbook>");
+            writeEntry("xl/_rels/workbook.xml.rels", xml +
+                    "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" + sheetRels +
+                    "<Relationship Id=\"rId" + (sheetCount + 1) + "\" Type=\"" + REL_NS + "/styles\" Target=\"styles.xml\"/>" +
+                    "</Relationships>");
+            // Style 0 is the default, style 1 is bold for the header row
+            writeEntry("xl/styles.xml", xml +
+                    "<styleSheet xmlns=\"" + NS + "\">" +
+                    "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>" +
+                    "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>" +
+                    "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>" +
+                    "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>" +
+                    "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>" +
+                    "<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>" +
+                    "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>" +
+                    "</styleSheet>");
+            writeEntry("_rels/.rels", xml +
+                    "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+                    "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>" +
+                    "</Relationships>");
+            writeEntry("[Content_Types].xml", xml +
+                    "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">" +
+                    "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>" +
+                    "<Default Extension=\"xml\" ContentType=\"application/xml\"/>" +
+                    "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>" +
+                    "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>" +
+                    sheetTypes +
+                    "</Types>");
+        } finally {
+            out.close();
+        }
+    }
+}